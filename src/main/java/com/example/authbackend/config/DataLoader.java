@@ -3,6 +3,7 @@ package com.example.authbackend.config;
 import com.example.authbackend.entity.Role;
 import com.example.authbackend.entity.RoleName;
 import com.example.authbackend.repository.RoleRepository;
+import com.example.authbackend.security.RoleRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -19,9 +20,13 @@ public class DataLoader implements CommandLineRunner {
     @Autowired
     private RoleRepository roleRepository;
     
+    @Autowired
+    private RoleRegistry roleRegistry;
+    
     @Override
     public void run(String... args) throws Exception {
         loadRoles();
+        roleRegistry.refresh();
     }
     
     private void loadRoles() {
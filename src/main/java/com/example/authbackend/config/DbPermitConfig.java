@@ -0,0 +1,48 @@
+package com.example.authbackend.config;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Wraps the application DataSource in a {@link DbPermitDataSource} when
+ * {@code app.datasource.permits.max-concurrent} is above zero (the virtual-threads profile sets it
+ * to the pool size).
+ */
+@Configuration
+public class DbPermitConfig {
+    
+    // Static so the post-processor does not force this configuration to be created early
+    @Bean
+    public static BeanPostProcessor dbPermitDataSourcePostProcessor(Environment environment) {
+        Binder binder = Binder.get(environment);
+        int maxConcurrent = binder.bind("app.datasource.permits.max-concurrent", Integer.class).orElse(0);
+        Duration acquireTimeout = binder.bind("app.datasource.permits.acquire-timeout", Duration.class)
+                .orElse(Duration.ofSeconds(5));
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (maxConcurrent > 0 && bean instanceof DataSource dataSource && !(bean instanceof DbPermitDataSource)) {
+                    return new DbPermitDataSource(dataSource, maxConcurrent, acquireTimeout);
+                }
+                return bean;
+            }
+        };
+    }
+    
+    @Bean
+    public MeterBinder dbPermitMetrics(ObjectProvider<DataSource> dataSource) {
+        return registry -> dataSource.ifAvailable(candidate -> {
+            if (candidate instanceof DbPermitDataSource permitDataSource) {
+                permitDataSource.bindTo(registry);
+            }
+        });
+    }
+}
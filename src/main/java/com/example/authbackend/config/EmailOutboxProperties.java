@@ -0,0 +1,84 @@
+package com.example.authbackend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * How the email outbox is drained: batch size and the retry schedule. Parallelism comes from
+ * the mail executor ({@code app.executors.mail}).
+ */
+@ConfigurationProperties(prefix = "app.email.outbox")
+public class EmailOutboxProperties {
+    
+    // Off on nodes that should only enqueue
+    private boolean dispatcherEnabled = true;
+    
+    private int batchSize = 50;
+    
+    // A claimed row becomes due again after this long, so a node dying mid-send cannot lose it
+    private Duration lease = Duration.ofMinutes(5);
+    
+    private int maxAttempts = 8;
+    private Duration initialBackoff = Duration.ofSeconds(30);
+    private Duration maxBackoff = Duration.ofHours(1);
+    
+    // Sent and failed rows are deleted after this long
+    private Duration retention = Duration.ofDays(7);
+    
+    public boolean isDispatcherEnabled() {
+        return dispatcherEnabled;
+    }
+    
+    public void setDispatcherEnabled(boolean dispatcherEnabled) {
+        this.dispatcherEnabled = dispatcherEnabled;
+    }
+    
+    public int getBatchSize() {
+        return batchSize;
+    }
+    
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+    
+    public Duration getLease() {
+        return lease;
+    }
+    
+    public void setLease(Duration lease) {
+        this.lease = lease;
+    }
+    
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+    
+    public void setMaxAttempts(int maxAttempts) {
+        this.maxAttempts = maxAttempts;
+    }
+    
+    public Duration getInitialBackoff() {
+        return initialBackoff;
+    }
+    
+    public void setInitialBackoff(Duration initialBackoff) {
+        this.initialBackoff = initialBackoff;
+    }
+    
+    public Duration getMaxBackoff() {
+        return maxBackoff;
+    }
+    
+    public void setMaxBackoff(Duration maxBackoff) {
+        this.maxBackoff = maxBackoff;
+    }
+    
+    public Duration getRetention() {
+        return retention;
+    }
+    
+    public void setRetention(Duration retention) {
+        this.retention = retention;
+    }
+}
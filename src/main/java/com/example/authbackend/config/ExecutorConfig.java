@@ -0,0 +1,155 @@
+package com.example.authbackend.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.SimpleAsyncTaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Named, bounded executors for background work. Pool-backed executors get executor.* metrics
+ * (active, queued, pool size) from Spring Boot under their bean name; rejections are counted here
+ * as executor.rejected for the executors and for the pool-backed scheduler. The virtual-thread
+ * scheduler starts a thread per run and never rejects, so it has no such counter.
+ */
+@Configuration
+public class ExecutorConfig {
+    
+    public static final String MAIL_EXECUTOR = "mailExecutor";
+    public static final String MAINTENANCE_SCHEDULER = "maintenanceScheduler";
+    
+    private final ExecutorProperties properties;
+    private final MeterRegistry registry;
+    
+    public ExecutorConfig(ExecutorProperties properties, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.properties = properties;
+        this.registry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+    }
+    
+    @Bean(name = MAIL_EXECUTOR)
+    public AsyncTaskExecutor mailExecutor() {
+        return createExecutor(MAIL_EXECUTOR, "mail-", properties.getMail(), registry);
+    }
+    
+    // Also registered as taskScheduler so @Scheduled jobs run here rather than on a default scheduler
+    @Bean(name = {MAINTENANCE_SCHEDULER, "taskScheduler"})
+    public TaskScheduler maintenanceScheduler() {
+        ExecutorProperties.Pool pool = properties.getMaintenance();
+        if (pool.isVirtualThreads()) {
+            requireVirtualThreads(MAINTENANCE_SCHEDULER);
+            SimpleAsyncTaskScheduler scheduler = new SimpleAsyncTaskScheduler();
+            scheduler.setThreadNamePrefix("maintenance-");
+            scheduler.setVirtualThreads(true);
+            return scheduler;
+        }
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(Math.max(1, pool.getCoreSize()));
+        scheduler.setThreadNamePrefix("maintenance-");
+        scheduler.setRejectedExecutionHandler(countingHandler(pool.getRejectionPolicy(),
+                rejectedCounter(MAINTENANCE_SCHEDULER, registry)));
+        scheduler.setWaitForTasksToCompleteOnShutdown(true);
+        scheduler.setAwaitTerminationSeconds(30);
+        return scheduler;
+    }
+    
+    /**
+     * A ThreadPoolTaskExecutor with a bounded queue, or in virtual-thread mode a thread per task
+     * capped at max-size concurrent tasks. Pool-backed executors are initialized by the container.
+     */
+    static AsyncTaskExecutor createExecutor(String name, String threadNamePrefix,
+                                            ExecutorProperties.Pool pool, MeterRegistry registry) {
+        Counter rejected = rejectedCounter(name, registry);
+        int coreSize = Math.max(1, pool.getCoreSize());
+        int maxSize = Math.max(coreSize, pool.getMaxSize());
+        
+        if (pool.isVirtualThreads()) {
+            requireVirtualThreads(name);
+            return virtualThreadExecutor(name, threadNamePrefix, maxSize, pool.getRejectionPolicy(), rejected, registry);
+        }
+        
+        // The pool only grows past core-size once the queue is full
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(coreSize);
+        executor.setMaxPoolSize(maxSize);
+        executor.setQueueCapacity(Math.max(0, pool.getQueueCapacity()));
+        executor.setKeepAliveSeconds((int) pool.getKeepAlive().toSeconds());
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.setRejectedExecutionHandler(countingHandler(pool.getRejectionPolicy(), rejected));
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+    
+    // Caller-runs blocks the submitter until a slot frees up, the closest match without a queue
+    private static AsyncTaskExecutor virtualThreadExecutor(String name, String threadNamePrefix, int maxSize,
+                                                           ExecutorProperties.RejectionPolicy policy,
+                                                           Counter rejected, MeterRegistry registry) {
+        AtomicInteger active = new AtomicInteger();
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix) {
+            @Override
+            @SuppressWarnings("deprecation")
+            public void execute(Runnable task, long startTimeout) {
+                try {
+                    super.execute(task, startTimeout);
+                } catch (TaskRejectedException ex) {
+                    rejected.increment();
+                    throw ex;
+                }
+            }
+        };
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(maxSize);
+        executor.setRejectTasksWhenLimitReached(policy == ExecutorProperties.RejectionPolicy.ABORT);
+        executor.setTaskTerminationTimeout(30_000);
+        executor.setTaskDecorator(task -> () -> {
+            active.incrementAndGet();
+            try {
+                task.run();
+            } finally {
+                active.decrementAndGet();
+            }
+        });
+        Gauge.builder("executor.active", active, AtomicInteger::get)
+                .description("Tasks currently running")
+                .tag("name", name)
+                .register(registry);
+        return executor;
+    }
+    
+    private static RejectedExecutionHandler countingHandler(ExecutorProperties.RejectionPolicy policy, Counter rejected) {
+        RejectedExecutionHandler delegate = policy == ExecutorProperties.RejectionPolicy.CALLER_RUNS
+                ? new ThreadPoolExecutor.CallerRunsPolicy()
+                : new ThreadPoolExecutor.AbortPolicy();
+        return (task, executor) -> {
+            rejected.increment();
+            delegate.rejectedExecution(task, executor);
+        };
+    }
+    
+    private static Counter rejectedCounter(String name, MeterRegistry registry) {
+        return Counter.builder("executor.rejected")
+                .description("Tasks refused because the executor was saturated")
+                .tag("name", name)
+                .register(registry);
+    }
+    
+    private static void requireVirtualThreads(String name) {
+        if (Runtime.version().feature() < 21) {
+            throw new IllegalStateException("Virtual threads for " + name + " need Java 21 or later, running on "
+                    + Runtime.version());
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.authbackend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Sizing of the named background executors. Each workload gets its own bounded pool so a slow
+ * SMTP server cannot starve maintenance jobs or grow an unbounded queue.
+ */
+@ConfigurationProperties(prefix = "app.executors")
+public class ExecutorProperties {
+    
+    // Sends claimed outbox rows; rejected sends stay in the outbox
+    private final Pool mail = new Pool(4, 4, 100);
+    
+    // Runs the @Scheduled jobs; only core-size and virtual-threads apply
+    private final Pool maintenance = new Pool(2, 2, 0);
+    
+    public Pool getMail() {
+        return mail;
+    }
+    
+    public Pool getMaintenance() {
+        return maintenance;
+    }
+    
+    public enum RejectionPolicy {
+        // Throw TaskRejectedException to the submitter
+        ABORT,
+        // Run the task on the submitting thread, slowing the producer down
+        CALLER_RUNS
+    }
+    
+    public static class Pool {
+        
+        private int coreSize;
+        private int maxSize;
+        private int queueCapacity;
+        private Duration keepAlive = Duration.ofSeconds(60);
+        private RejectionPolicy rejectionPolicy = RejectionPolicy.ABORT;
+        
+        // Needs Java 21; the pool then becomes a concurrency limit of max-size with no queue
+        private boolean virtualThreads;
+        
+        public Pool() {
+        }
+        
+        Pool(int coreSize, int maxSize, int queueCapacity) {
+            this.coreSize = coreSize;
+            this.maxSize = maxSize;
+            this.queueCapacity = queueCapacity;
+        }
+        
+        public int getCoreSize() {
+            return coreSize;
+        }
+        
+        public void setCoreSize(int coreSize) {
+            this.coreSize = coreSize;
+        }
+        
+        public int getMaxSize() {
+            return maxSize;
+        }
+        
+        public void setMaxSize(int maxSize) {
+            this.maxSize = maxSize;
+        }
+        
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+        
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+        
+        public Duration getKeepAlive() {
+            return keepAlive;
+        }
+        
+        public void setKeepAlive(Duration keepAlive) {
+            this.keepAlive = keepAlive;
+        }
+        
+        public RejectionPolicy getRejectionPolicy() {
+            return rejectionPolicy;
+        }
+        
+        public void setRejectionPolicy(RejectionPolicy rejectionPolicy) {
+            this.rejectionPolicy = rejectionPolicy;
+        }
+        
+        public boolean isVirtualThreads() {
+            return virtualThreads;
+        }
+        
+        public void setVirtualThreads(boolean virtualThreads) {
+            this.virtualThreads = virtualThreads;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.authbackend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * The purge of expired verification tokens and never-verified accounts. The schedule itself is
+ * {@code app.maintenance.purge-interval}, read by the {@code @Scheduled} annotation.
+ */
+@ConfigurationProperties(prefix = "app.maintenance")
+public class MaintenanceProperties {
+    
+    private boolean purgeEnabled = true;
+    
+    // Rows deleted per transaction
+    private int chunkSize = 5000;
+    
+    // Sleep between chunks so replicas and autovacuum keep up with the deletes
+    private Duration chunkPause = Duration.ofMillis(100);
+    
+    // LOCAL accounts still unverified this long after sign-up are deleted
+    private Duration unverifiedAccountRetention = Duration.ofDays(30);
+    
+    // Renewed after every chunk; another node takes over once it runs out
+    private Duration lockLease = Duration.ofMinutes(10);
+    
+    public boolean isPurgeEnabled() {
+        return purgeEnabled;
+    }
+    
+    public void setPurgeEnabled(boolean purgeEnabled) {
+        this.purgeEnabled = purgeEnabled;
+    }
+    
+    public int getChunkSize() {
+        return chunkSize;
+    }
+    
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+    
+    public Duration getChunkPause() {
+        return chunkPause;
+    }
+    
+    public void setChunkPause(Duration chunkPause) {
+        this.chunkPause = chunkPause;
+    }
+    
+    public Duration getUnverifiedAccountRetention() {
+        return unverifiedAccountRetention;
+    }
+    
+    public void setUnverifiedAccountRetention(Duration unverifiedAccountRetention) {
+        this.unverifiedAccountRetention = unverifiedAccountRetention;
+    }
+    
+    public Duration getLockLease() {
+        return lockLease;
+    }
+    
+    public void setLockLease(Duration lockLease) {
+        this.lockLease = lockLease;
+    }
+}
@@ -61,9 +61,7 @@ public class OAuth2AuthenticationSuccessHandler extends SimpleUrlAuthenticationS
         }
         
         // Generate JWT token
-        String token = tokenProvider.generateTokenFromUsername(
-            ((UserPrincipal) authentication.getPrincipal()).getEmail()
-        );
+        String token = tokenProvider.generateToken((UserPrincipal) authentication.getPrincipal());
         
         return UriComponentsBuilder.fromUriString(targetUrl)
                 .queryParam("token", token)
@@ -1,8 +1,12 @@
 package com.example.authbackend.config;
 
+import com.example.authbackend.security.BoundedPasswordEncoder;
 import com.example.authbackend.security.CustomUserDetailsService;
 import com.example.authbackend.security.JwtAuthenticationFilter;
 import com.example.authbackend.security.OAuth2UserService;
+import com.example.authbackend.security.PasswordEncoderCalibrator;
+import com.example.authbackend.security.PasswordEncodingProperties;
+import com.example.authbackend.security.PasswordHashingExecutor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -12,7 +16,6 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -25,18 +28,26 @@ public class SecurityConfig {
     private final CustomUserDetailsService customUserDetailsService;
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
     private final OAuth2UserService customOAuth2UserService;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final PasswordEncodingProperties passwordEncodingProperties;
     
     public SecurityConfig(CustomUserDetailsService customUserDetailsService,
                          JwtAuthenticationFilter jwtAuthenticationFilter,
-                         OAuth2UserService customOAuth2UserService) {
+                         OAuth2UserService customOAuth2UserService,
+                         PasswordHashingExecutor passwordHashingExecutor,
+                         PasswordEncodingProperties passwordEncodingProperties) {
         this.customUserDetailsService = customUserDetailsService;
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
         this.customOAuth2UserService = customOAuth2UserService;
+        this.passwordHashingExecutor = passwordHashingExecutor;
+        this.passwordEncodingProperties = passwordEncodingProperties;
     }
     
+    // Calibrated once at startup; hashing runs on a bounded pool instead of the request thread's CPU time
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BoundedPasswordEncoder(PasswordEncoderCalibrator.create(passwordEncodingProperties),
+                passwordHashingExecutor);
     }
     
     @Bean
@@ -44,6 +55,8 @@ public class SecurityConfig {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(customUserDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder());
+        // Rehashes outdated hashes with the current algorithm and cost after a successful login
+        authProvider.setUserDetailsPasswordService(customUserDetailsService);
         return authProvider;
     }
     
@@ -61,6 +74,8 @@ public class SecurityConfig {
                 .requestMatchers("/auth/**").permitAll()
                 .requestMatchers("/oauth2/**").permitAll()
                 .requestMatchers("/error").permitAll()
+                .requestMatchers("/actuator/health").permitAll()
+                .requestMatchers("/.well-known/**").permitAll()
                 .anyRequest().authenticated()
             )
             .oauth2Login(oauth2 -> oauth2
@@ -4,6 +4,7 @@ import com.example.authbackend.dto.request.LoginRequest;
 import com.example.authbackend.dto.request.RegisterRequest;
 import com.example.authbackend.dto.response.ApiResponse;
 import com.example.authbackend.dto.response.AuthResponse;
+import com.example.authbackend.security.LoginAttemptThrottle;
 import com.example.authbackend.service.AuthService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
@@ -22,10 +23,22 @@ public class AuthController {
     @Autowired
     private AuthService authService;
     
+    @Autowired
+    private LoginAttemptThrottle loginAttemptThrottle;
+    
     @PostMapping("/login")
-    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest loginRequest) {
+    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest loginRequest, HttpServletRequest request) {
         logger.info("Login attempt for email: {}", loginRequest.getEmail());
+        // Remote address is the proxy's unless server.forward-headers-strategy is configured
+        String clientIp = request.getRemoteAddr();
+        loginAttemptThrottle.checkAllowed(loginRequest.getEmail(), clientIp);
+        
+        // Read back by GlobalExceptionHandler to count a failed attempt
+        request.setAttribute(LoginAttemptThrottle.EMAIL_ATTRIBUTE, loginRequest.getEmail());
+        request.setAttribute(LoginAttemptThrottle.CLIENT_IP_ATTRIBUTE, clientIp);
+        
         AuthResponse authResponse = authService.login(loginRequest);
+        loginAttemptThrottle.recordSuccess(loginRequest.getEmail());
         return ResponseEntity.ok(authResponse);
     }
     
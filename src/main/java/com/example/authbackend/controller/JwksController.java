@@ -0,0 +1,30 @@
+package com.example.authbackend.controller;
+
+import com.example.authbackend.security.JwtTokenProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.Map;
+
+@RestController
+public class JwksController {
+    
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+    
+    // Keep below the rotation interval so verifiers see a new key before it starts signing
+    @Value("${app.jwt.signing.jwks-max-age:PT10M}")
+    private Duration jwksMaxAge;
+    
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, Object>> getJwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(jwksMaxAge).cachePublic())
+                .body(tokenProvider.getKeyRing().getJwks());
+    }
+}
@@ -1,20 +1,35 @@
 package com.example.authbackend.controller;
 
+import com.example.authbackend.dto.request.UserExportFilter;
 import com.example.authbackend.dto.response.ApiResponse;
+import com.example.authbackend.dto.response.CursorPageResponse;
+import com.example.authbackend.dto.response.UserImportResponse;
 import com.example.authbackend.dto.response.UserResponse;
+import com.example.authbackend.entity.AuthProvider;
 import com.example.authbackend.entity.User;
+import com.example.authbackend.security.UserPrincipal;
+import com.example.authbackend.service.UserExportService;
+import com.example.authbackend.service.UserImportService;
 import com.example.authbackend.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
+
 @RestController
 @RequestMapping("/users")
 public class UserController {
@@ -24,6 +39,12 @@ public class UserController {
     @Autowired
     private UserService userService;
     
+    @Autowired
+    private UserExportService userExportService;
+    
+    @Autowired
+    private UserImportService userImportService;
+    
     @GetMapping("/me")
     @PreAuthorize("hasRole('USER')")
     public ResponseEntity<UserResponse> getCurrentUser(@AuthenticationPrincipal UserDetails userDetails) {
@@ -48,6 +69,44 @@ public class UserController {
         return ResponseEntity.ok(users);
     }
     
+    // Keyset pagination for large tables in descending id order: pass back nextCursor to continue, no COUNT unless asked for
+    @GetMapping("/scroll")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CursorPageResponse<UserResponse>> scrollUsers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        logger.info("Scroll users request with size {} and total {}", size, includeTotal);
+        return ResponseEntity.ok(userService.getUsersPage(cursor, size, includeTotal));
+    }
+    
+    // Streams every matching user straight to the response; memory use does not depend on the row count
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public void exportUsers(
+            @RequestParam(defaultValue = "ndjson") UserExportService.Format format,
+            @RequestParam(required = false) AuthProvider provider,
+            @RequestParam(required = false) Boolean emailVerified,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+            HttpServletResponse response) throws IOException {
+        UserExportFilter filter = new UserExportFilter(provider, emailVerified, createdFrom, createdTo);
+        logger.info("Export users request as {} with {}", format, filter);
+        
+        response.setContentType(format.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"users." + format.getExtension() + "\"");
+        userExportService.exportUsers(filter, format, response.getOutputStream());
+    }
+    
+    // Accounts with pre-hashed passwords, as NDJSON or a JSON array; read and committed chunk by chunk
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", MediaType.APPLICATION_JSON_VALUE})
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<UserImportResponse> importUsers(HttpServletRequest request) throws IOException {
+        logger.info("Bulk user import request");
+        return ResponseEntity.ok(userImportService.importUsers(request.getInputStream()));
+    }
+    
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN') or #id == authentication.principal.id")
     public ResponseEntity<UserResponse> updateUser(@PathVariable Long id, @RequestBody UserUpdateRequest updateRequest) {
@@ -70,6 +129,22 @@ public class UserController {
         return ResponseEntity.ok(new ApiResponse(true, "User deleted successfully"));
     }
     
+    @PostMapping("/me/logout-all")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<ApiResponse> logoutEverywhere(@AuthenticationPrincipal UserPrincipal userPrincipal) {
+        logger.info("Logout everywhere request for user ID: {}", userPrincipal.getId());
+        userService.revokeAllTokens(userPrincipal.getId());
+        return ResponseEntity.ok(new ApiResponse(true, "Logged out of all sessions"));
+    }
+    
+    @PostMapping("/{id}/revoke-tokens")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse> revokeTokens(@PathVariable Long id) {
+        logger.info("Revoke all tokens request for user ID: {}", id);
+        userService.revokeAllTokens(id);
+        return ResponseEntity.ok(new ApiResponse(true, "All tokens revoked"));
+    }
+    
     @PostMapping("/change-password")
     @PreAuthorize("hasRole('USER')")
     public ResponseEntity<ApiResponse> changePassword(
@@ -0,0 +1,15 @@
+package com.example.authbackend.dto.request;
+
+import com.example.authbackend.entity.AuthProvider;
+
+import java.time.LocalDateTime;
+
+/**
+ * Optional filters for the user export; null fields are not applied. {@code createdFrom} is
+ * inclusive and {@code createdTo} exclusive.
+ */
+public record UserExportFilter(AuthProvider provider,
+                               Boolean emailVerified,
+                               LocalDateTime createdFrom,
+                               LocalDateTime createdTo) {
+}
@@ -0,0 +1,107 @@
+package com.example.authbackend.dto.request;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * One account in a bulk import. The password is an existing hash, either {@code {id}}-prefixed
+ * or a bare bcrypt hash, and is stored as is.
+ */
+public class UserImportRow {
+    
+    @NotBlank(message = "First name is required")
+    @Size(max = 50, message = "First name must not exceed 50 characters")
+    private String firstName;
+    
+    @Size(max = 50, message = "Last name must not exceed 50 characters")
+    private String lastName;
+    
+    @NotBlank(message = "Email is required")
+    @Email(message = "Email should be valid")
+    @Size(max = 100, message = "Email must not exceed 100 characters")
+    private String email;
+    
+    @NotBlank(message = "Password hash is required")
+    @Size(max = 120, message = "Password hash must not exceed 120 characters")
+    private String passwordHash;
+    
+    // Migrated accounts are verified unless stated otherwise
+    private Boolean emailVerified = true;
+    
+    // Defaults to USER
+    private Set<String> roles;
+    
+    // Keeps the legacy sign-up date; defaults to the import time
+    private LocalDateTime createdAt;
+    
+    // Constructors
+    public UserImportRow() {}
+    
+    public UserImportRow(String firstName, String lastName, String email, String passwordHash) {
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.email = email;
+        this.passwordHash = passwordHash;
+    }
+    
+    // Getters and Setters
+    public String getFirstName() {
+        return firstName;
+    }
+    
+    public void setFirstName(String firstName) {
+        this.firstName = firstName;
+    }
+    
+    public String getLastName() {
+        return lastName;
+    }
+    
+    public void setLastName(String lastName) {
+        this.lastName = lastName;
+    }
+    
+    public String getEmail() {
+        return email;
+    }
+    
+    public void setEmail(String email) {
+        this.email = email;
+    }
+    
+    public String getPasswordHash() {
+        return passwordHash;
+    }
+    
+    public void setPasswordHash(String passwordHash) {
+        this.passwordHash = passwordHash;
+    }
+    
+    public Boolean getEmailVerified() {
+        return emailVerified;
+    }
+    
+    public void setEmailVerified(Boolean emailVerified) {
+        this.emailVerified = emailVerified;
+    }
+    
+    public Set<String> getRoles() {
+        return roles;
+    }
+    
+    public void setRoles(Set<String> roles) {
+        this.roles = roles;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.authbackend.dto.response;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk import. Rows are numbered from 1 in input order; only the first
+ * {@code maxReportedErrors} failures are listed, {@code failed} counts all of them.
+ */
+public class UserImportResponse {
+    
+    private long received;
+    private long imported;
+    private long failed;
+    private boolean completed = true;
+    private boolean errorsTruncated;
+    private final List<RowError> errors = new ArrayList<>();
+    
+    private final int maxReportedErrors;
+    
+    public UserImportResponse(int maxReportedErrors) {
+        this.maxReportedErrors = maxReportedErrors;
+    }
+    
+    public void addReceived() {
+        received++;
+    }
+    
+    public void addImported(long count) {
+        imported += count;
+    }
+    
+    public void addError(long row, String email, String message) {
+        failed++;
+        if (errors.size() < maxReportedErrors) {
+            errors.add(new RowError(row, email, message));
+        } else {
+            errorsTruncated = true;
+        }
+    }
+    
+    // The input could not be read past this row; everything before it was processed
+    public void abort(long row, String message) {
+        completed = false;
+        errors.add(new RowError(row, null, message));
+    }
+    
+    // Getters
+    public long getReceived() {
+        return received;
+    }
+    
+    public long getImported() {
+        return imported;
+    }
+    
+    public long getFailed() {
+        return failed;
+    }
+    
+    public boolean isCompleted() {
+        return completed;
+    }
+    
+    public boolean isErrorsTruncated() {
+        return errorsTruncated;
+    }
+    
+    public List<RowError> getErrors() {
+        return errors;
+    }
+    
+    public static class RowError {
+        private final long row;
+        private final String email;
+        private final String message;
+        
+        public RowError(long row, String email, String message) {
+            this.row = row;
+            this.email = email;
+            this.message = message;
+        }
+        
+        public long getRow() {
+            return row;
+        }
+        
+        public String getEmail() {
+            return email;
+        }
+        
+        public String getMessage() {
+            return message;
+        }
+    }
+}
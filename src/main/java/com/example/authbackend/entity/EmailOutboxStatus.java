@@ -0,0 +1,7 @@
+package com.example.authbackend.entity;
+
+public enum EmailOutboxStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
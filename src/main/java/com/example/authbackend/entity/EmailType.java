@@ -0,0 +1,7 @@
+package com.example.authbackend.entity;
+
+public enum EmailType {
+    VERIFICATION,
+    PASSWORD_RESET,
+    WELCOME
+}
@@ -0,0 +1,64 @@
+package com.example.authbackend.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "scheduler_locks")
+public class SchedulerLock {
+    
+    @Id
+    @Column(name = "name", length = 64)
+    private String name;
+    
+    @Column(name = "locked_by", nullable = false)
+    private String lockedBy;
+    
+    @Column(name = "locked_at", nullable = false)
+    private LocalDateTime lockedAt;
+    
+    @Column(name = "locked_until", nullable = false)
+    private LocalDateTime lockedUntil;
+    
+    public SchedulerLock() {}
+    
+    public SchedulerLock(String name, String lockedBy, LocalDateTime lockedAt, LocalDateTime lockedUntil) {
+        this.name = name;
+        this.lockedBy = lockedBy;
+        this.lockedAt = lockedAt;
+        this.lockedUntil = lockedUntil;
+    }
+    
+    // Getters and Setters
+    public String getName() {
+        return name;
+    }
+    
+    public void setName(String name) {
+        this.name = name;
+    }
+    
+    public String getLockedBy() {
+        return lockedBy;
+    }
+    
+    public void setLockedBy(String lockedBy) {
+        this.lockedBy = lockedBy;
+    }
+    
+    public LocalDateTime getLockedAt() {
+        return lockedAt;
+    }
+    
+    public void setLockedAt(LocalDateTime lockedAt) {
+        this.lockedAt = lockedAt;
+    }
+    
+    public LocalDateTime getLockedUntil() {
+        return lockedUntil;
+    }
+    
+    public void setLockedUntil(LocalDateTime lockedUntil) {
+        this.lockedUntil = lockedUntil;
+    }
+}
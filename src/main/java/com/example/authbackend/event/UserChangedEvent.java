@@ -0,0 +1,24 @@
+package com.example.authbackend.event;
+
+/**
+ * Published whenever a user's account data changes so that per-user caches can drop
+ * their entry once the surrounding transaction has committed.
+ */
+public class UserChangedEvent {
+    
+    private final Long userId;
+    private final String email;
+    
+    public UserChangedEvent(Long userId, String email) {
+        this.userId = userId;
+        this.email = email;
+    }
+    
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public String getEmail() {
+        return email;
+    }
+}
@@ -2,16 +2,22 @@
 package com.example.authbackend.exception;
 
 import com.example.authbackend.dto.response.ApiResponse;
+import com.example.authbackend.security.LoginAttemptThrottle;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.DisabledException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import org.springframework.web.context.request.RequestAttributes;
 import org.springframework.web.context.request.WebRequest;
 
 import java.util.HashMap;
@@ -22,6 +28,9 @@ public class GlobalExceptionHandler {
     
     private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
     
+    @Autowired
+    private LoginAttemptThrottle loginAttemptThrottle;
+    
     @ExceptionHandler(UserNotFoundException.class)
     public ResponseEntity<?> handleUserNotFoundException(UserNotFoundException ex, WebRequest request) {
         logger.error("User not found: {}", ex.getMessage());
@@ -43,13 +52,49 @@ public class GlobalExceptionHandler {
                 .body(new ApiResponse(false, ex.getMessage()));
     }
     
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<?> handleInvalidCursorException(InvalidCursorException ex, WebRequest request) {
+        logger.warn("Invalid cursor: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(new ApiResponse(false, ex.getMessage()));
+    }
+    
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<?> handleServiceOverloadedException(ServiceOverloadedException ex, WebRequest request) {
+        logger.warn("Request shed: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(new ApiResponse(false, ex.getMessage()));
+    }
+    
+    @ExceptionHandler(TooManyLoginAttemptsException.class)
+    public ResponseEntity<?> handleTooManyLoginAttemptsException(TooManyLoginAttemptsException ex, WebRequest request) {
+        logger.warn("Login throttled: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(new ApiResponse(false, ex.getMessage()));
+    }
+    
     @ExceptionHandler(BadCredentialsException.class)
     public ResponseEntity<?> handleBadCredentialsException(BadCredentialsException ex, WebRequest request) {
         logger.error("Bad credentials: {}", ex.getMessage());
+        // Set by AuthController.login; absent for bad credentials raised elsewhere
+        Object email = request.getAttribute(LoginAttemptThrottle.EMAIL_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        Object clientIp = request.getAttribute(LoginAttemptThrottle.CLIENT_IP_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (email != null || clientIp != null) {
+            loginAttemptThrottle.recordFailure((String) email, (String) clientIp);
+        }
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                 .body(new ApiResponse(false, "Invalid email or password"));
     }
     
+    @ExceptionHandler(DisabledException.class)
+    public ResponseEntity<?> handleDisabledException(DisabledException ex, WebRequest request) {
+        logger.warn("Login rejected: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body(new ApiResponse(false, "Email not verified. Please verify your email before logging in"));
+    }
+    
     @ExceptionHandler(UsernameNotFoundException.class)
     public ResponseEntity<?> handleUsernameNotFoundException(UsernameNotFoundException ex, WebRequest request) {
         logger.error("Username not found: {}", ex.getMessage());
@@ -70,6 +115,13 @@ public class GlobalExceptionHandler {
                 .body(new ApiResponse(false, "Validation failed", errors));
     }
     
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<?> handleMethodArgumentTypeMismatch(MethodArgumentTypeMismatchException ex) {
+        logger.warn("Invalid value for parameter {}: {}", ex.getName(), ex.getValue());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(new ApiResponse(false, "Invalid value for parameter '" + ex.getName() + "'"));
+    }
+    
     @ExceptionHandler(Exception.class)
     public ResponseEntity<?> handleGlobalException(Exception ex, WebRequest request) {
         logger.error("Unexpected error occurred: {}", ex.getMessage(), ex);
@@ -0,0 +1,49 @@
+package com.example.authbackend.reactive;
+
+import com.example.authbackend.controller.JwksController;
+import com.example.authbackend.security.JwtSigningProperties;
+import com.example.authbackend.security.JwtTokenProvider;
+import com.example.authbackend.security.LoginAttemptThrottle;
+import com.example.authbackend.security.PasswordEncodingProperties;
+import com.example.authbackend.security.VerifiedTokenCache;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.reactive.ReactiveUserDetailsServiceAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Non-blocking variant of the /auth and /users API: WebFlux on Netty with R2DBC against the same
+ * Flyway schema. Only this package is scanned; token signing, verification caching and login
+ * throttling are shared with the servlet application.
+ *
+ * <p>Mail is written to the email outbox and delivered by the servlet nodes' dispatcher, which
+ * also purges expired tokens, so a deployment runs at least one servlet node next to these.
+ */
+@SpringBootApplication(exclude = {
+        DataSourceAutoConfiguration.class,
+        DataSourceTransactionManagerAutoConfiguration.class,
+        HibernateJpaAutoConfiguration.class,
+        ReactiveUserDetailsServiceAutoConfiguration.class
+})
+@Profile(ReactiveAuthApplication.PROFILE)
+@Import({JwtTokenProvider.class, VerifiedTokenCache.class, LoginAttemptThrottle.class, JwksController.class})
+@EnableConfigurationProperties({JwtSigningProperties.class, PasswordEncodingProperties.class})
+@EnableScheduling
+public class ReactiveAuthApplication {
+    
+    public static final String PROFILE = "reactive";
+    
+    public static void main(String[] args) {
+        new SpringApplicationBuilder(ReactiveAuthApplication.class)
+                .web(WebApplicationType.REACTIVE)
+                .profiles(PROFILE)
+                .run(args);
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.authbackend.reactive.config;
+
+import com.example.authbackend.reactive.ReactiveAuthApplication;
+import com.example.authbackend.reactive.repository.ReactiveUserRepository;
+import com.example.authbackend.reactive.security.JwtAuthenticationWebFilter;
+import com.example.authbackend.reactive.security.ReactiveTokenRevocationStore;
+import com.example.authbackend.reactive.security.ReactiveTokenVersionCache;
+import com.example.authbackend.security.PasswordEncoderCalibrator;
+import com.example.authbackend.security.PasswordEncodingProperties;
+import com.example.authbackend.security.VerifiedTokenCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.config.annotation.method.configuration.EnableReactiveMethodSecurity;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authentication.HttpStatusServerEntryPoint;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+
+@Configuration
+@Profile(ReactiveAuthApplication.PROFILE)
+@EnableWebFluxSecurity
+@EnableReactiveMethodSecurity
+public class ReactiveSecurityConfig {
+    
+    @Value("${app.jwt.stateless-authentication:false}")
+    private boolean statelessAuthentication;
+    
+    // Same calibrated encoder as the servlet application; ReactivePasswordHasher keeps it off the event loop
+    @Bean
+    public PasswordEncoder passwordEncoder(PasswordEncodingProperties passwordEncodingProperties) {
+        return PasswordEncoderCalibrator.create(passwordEncodingProperties);
+    }
+    
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http,
+                                                         VerifiedTokenCache verifiedTokenCache,
+                                                         ReactiveTokenRevocationStore tokenRevocationStore,
+                                                         ReactiveTokenVersionCache tokenVersionCache,
+                                                         ReactiveUserRepository userRepository) {
+        JwtAuthenticationWebFilter jwtAuthenticationWebFilter = new JwtAuthenticationWebFilter(verifiedTokenCache,
+                tokenRevocationStore, tokenVersionCache, userRepository, statelessAuthentication);
+        return http
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+                .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+                .logout(ServerHttpSecurity.LogoutSpec::disable)
+                // Stateless: the principal is rebuilt from the bearer token on every request
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .exceptionHandling(exceptions -> exceptions
+                        .authenticationEntryPoint(new HttpStatusServerEntryPoint(HttpStatus.UNAUTHORIZED)))
+                .authorizeExchange(exchanges -> exchanges
+                        .pathMatchers("/auth/**", "/.well-known/**", "/actuator/health").permitAll()
+                        .anyExchange().authenticated())
+                .addFilterAt(jwtAuthenticationWebFilter, SecurityWebFiltersOrder.AUTHENTICATION)
+                .build();
+    }
+}
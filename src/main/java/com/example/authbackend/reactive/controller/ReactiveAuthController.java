@@ -0,0 +1,89 @@
+package com.example.authbackend.reactive.controller;
+
+import com.example.authbackend.controller.AuthController;
+import com.example.authbackend.dto.request.LoginRequest;
+import com.example.authbackend.dto.request.RegisterRequest;
+import com.example.authbackend.dto.response.ApiResponse;
+import com.example.authbackend.dto.response.AuthResponse;
+import com.example.authbackend.reactive.ReactiveAuthApplication;
+import com.example.authbackend.reactive.service.ReactiveAuthService;
+import com.example.authbackend.security.LoginAttemptThrottle;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+
+@RestController
+@RequestMapping("/auth")
+@Profile(ReactiveAuthApplication.PROFILE)
+public class ReactiveAuthController {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveAuthController.class);
+    
+    @Autowired
+    private ReactiveAuthService authService;
+    
+    @Autowired
+    private LoginAttemptThrottle loginAttemptThrottle;
+    
+    @PostMapping("/login")
+    public Mono<ResponseEntity<AuthResponse>> login(@Valid @RequestBody LoginRequest loginRequest, ServerHttpRequest request) {
+        logger.info("Login attempt for email: {}", loginRequest.getEmail());
+        // Remote address is the proxy's unless server.forward-headers-strategy is configured
+        InetSocketAddress remoteAddress = request.getRemoteAddress();
+        String clientIp = remoteAddress != null ? remoteAddress.getHostString() : null;
+        loginAttemptThrottle.checkAllowed(loginRequest.getEmail(), clientIp);
+        
+        // No request attributes to hand to the exception handler, so failures are counted here
+        return authService.login(loginRequest)
+                .doOnNext(authResponse -> loginAttemptThrottle.recordSuccess(loginRequest.getEmail()))
+                .doOnError(BadCredentialsException.class,
+                        ex -> loginAttemptThrottle.recordFailure(loginRequest.getEmail(), clientIp))
+                .map(ResponseEntity::ok);
+    }
+    
+    @PostMapping("/register")
+    public Mono<ResponseEntity<ApiResponse>> register(@Valid @RequestBody RegisterRequest registerRequest) {
+        logger.info("Registration attempt for email: {}", registerRequest.getEmail());
+        return authService.register(registerRequest).map(ResponseEntity::ok);
+    }
+    
+    @GetMapping("/verify-email")
+    public Mono<ResponseEntity<ApiResponse>> verifyEmail(@RequestParam("token") String token) {
+        logger.info("Email verification attempt with token: {}", token.substring(0, Math.min(token.length(), 10)) + "...");
+        return authService.verifyEmail(token).map(ResponseEntity::ok);
+    }
+    
+    @PostMapping("/resend-verification")
+    public Mono<ResponseEntity<ApiResponse>> resendVerificationEmail(@RequestParam("email") String email) {
+        logger.info("Resend verification email request for: {}", email);
+        return authService.resendVerificationEmail(email).map(ResponseEntity::ok);
+    }
+    
+    @PostMapping("/refresh-token")
+    public Mono<ResponseEntity<AuthResponse>> refreshToken(@RequestBody AuthController.RefreshTokenRequest refreshTokenRequest) {
+        logger.info("Refresh token request");
+        return authService.refreshToken(refreshTokenRequest.getRefreshToken()).map(ResponseEntity::ok);
+    }
+    
+    @PostMapping("/logout")
+    public Mono<ResponseEntity<ApiResponse>> logout(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String bearerToken) {
+        String token = null;
+        
+        if (bearerToken != null && bearerToken.startsWith("Bearer ")) {
+            token = bearerToken.substring(7);
+        }
+        
+        logger.info("Logout request");
+        return authService.logout(token).map(ResponseEntity::ok);
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.authbackend.reactive.controller;
+
+import com.example.authbackend.controller.UserController;
+import com.example.authbackend.dto.response.ApiResponse;
+import com.example.authbackend.dto.response.UserResponse;
+import com.example.authbackend.reactive.ReactiveAuthApplication;
+import com.example.authbackend.reactive.service.ReactiveUserService;
+import com.example.authbackend.security.UserPrincipal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Page;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/users")
+@Profile(ReactiveAuthApplication.PROFILE)
+public class ReactiveUserController {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveUserController.class);
+    
+    @Autowired
+    private ReactiveUserService userService;
+    
+    @GetMapping("/me")
+    @PreAuthorize("hasRole('USER')")
+    public Mono<ResponseEntity<UserResponse>> getCurrentUser(@AuthenticationPrincipal UserDetails userDetails) {
+        logger.info("Get current user request for: {}", userDetails.getUsername());
+        return userService.getCurrentUser(userDetails.getUsername()).map(ResponseEntity::ok);
+    }
+    
+    @GetMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN') or #id == authentication.principal.id")
+    public Mono<ResponseEntity<UserResponse>> getUserById(@PathVariable Long id) {
+        logger.info("Get user by ID request for ID: {}", id);
+        return userService.getUserById(id).map(ResponseEntity::ok);
+    }
+    
+    // page/size only; WebFlux has no Pageable argument resolution
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public Mono<ResponseEntity<Page<UserResponse>>> getAllUsers(@RequestParam(defaultValue = "0") int page,
+                                                                @RequestParam(defaultValue = "20") int size) {
+        logger.info("Get all users request for page {} size {}", page, size);
+        return userService.getAllUsers(page, size).map(ResponseEntity::ok);
+    }
+    
+    @PutMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN') or #id == authentication.principal.id")
+    public Mono<ResponseEntity<UserResponse>> updateUser(@PathVariable Long id,
+                                                         @RequestBody UserController.UserUpdateRequest updateRequest) {
+        logger.info("Update user request for ID: {}", id);
+        return userService.updateUser(id, updateRequest).map(ResponseEntity::ok);
+    }
+    
+    @DeleteMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Mono<ResponseEntity<ApiResponse>> deleteUser(@PathVariable Long id) {
+        logger.info("Delete user request for ID: {}", id);
+        return userService.deleteUser(id)
+                .thenReturn(ResponseEntity.ok(new ApiResponse(true, "User deleted successfully")));
+    }
+    
+    @PostMapping("/me/logout-all")
+    @PreAuthorize("hasRole('USER')")
+    public Mono<ResponseEntity<ApiResponse>> logoutEverywhere(@AuthenticationPrincipal UserPrincipal userPrincipal) {
+        logger.info("Logout everywhere request for user ID: {}", userPrincipal.getId());
+        return userService.revokeAllTokens(userPrincipal.getId())
+                .thenReturn(ResponseEntity.ok(new ApiResponse(true, "Logged out of all sessions")));
+    }
+    
+    @PostMapping("/{id}/revoke-tokens")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Mono<ResponseEntity<ApiResponse>> revokeTokens(@PathVariable Long id) {
+        logger.info("Revoke all tokens request for user ID: {}", id);
+        return userService.revokeAllTokens(id)
+                .thenReturn(ResponseEntity.ok(new ApiResponse(true, "All tokens revoked")));
+    }
+    
+    @PostMapping("/change-password")
+    @PreAuthorize("hasRole('USER')")
+    public Mono<ResponseEntity<ApiResponse>> changePassword(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestBody UserController.ChangePasswordRequest changePasswordRequest) {
+        
+        logger.info("Change password request for: {}", userDetails.getUsername());
+        
+        return userService.changePassword(
+                        userDetails.getUsername(),
+                        changePasswordRequest.getOldPassword(),
+                        changePasswordRequest.getNewPassword())
+                .map(success -> success
+                        ? ResponseEntity.ok(new ApiResponse(true, "Password changed successfully"))
+                        : ResponseEntity.badRequest().body(new ApiResponse(false, "Invalid old password")));
+    }
+}
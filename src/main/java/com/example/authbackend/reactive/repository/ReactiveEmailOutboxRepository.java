@@ -0,0 +1,42 @@
+package com.example.authbackend.reactive.repository;
+
+import com.example.authbackend.entity.EmailOutboxStatus;
+import com.example.authbackend.entity.EmailType;
+import com.example.authbackend.reactive.ReactiveAuthApplication;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Writes email_outbox rows in the caller's transaction; the servlet nodes' EmailOutboxDispatcher
+ * delivers them.
+ */
+@Repository
+@Profile(ReactiveAuthApplication.PROFILE)
+public class ReactiveEmailOutboxRepository {
+    
+    private final DatabaseClient databaseClient;
+    
+    public ReactiveEmailOutboxRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+    
+    // Due immediately, like a message built with the EmailOutboxMessage constructor
+    public Mono<Long> enqueue(EmailType emailType, UserRow user, String token) {
+        LocalDateTime now = LocalDateTime.now();
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("INSERT INTO email_outbox "
+                        + "(email_type, recipient, recipient_name, token, user_id, status, attempts, next_attempt_at, created_at) "
+                        + "VALUES (:emailType, :recipient, :recipientName, :token, :userId, :status, 0, :now, :now)")
+                .bind("emailType", emailType.name())
+                .bind("recipient", user.email())
+                .bind("userId", user.id())
+                .bind("status", EmailOutboxStatus.PENDING.name())
+                .bind("now", now);
+        spec = user.firstName() != null ? spec.bind("recipientName", user.firstName()) : spec.bindNull("recipientName", String.class);
+        spec = token != null ? spec.bind("token", token) : spec.bindNull("token", String.class);
+        return spec.fetch().rowsUpdated();
+    }
+}
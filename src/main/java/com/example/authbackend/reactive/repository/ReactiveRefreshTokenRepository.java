@@ -0,0 +1,60 @@
+package com.example.authbackend.reactive.repository;
+
+import com.example.authbackend.reactive.ReactiveAuthApplication;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * R2DBC access to refresh_tokens with the same statements as RefreshTokenRepository.
+ */
+@Repository
+@Profile(ReactiveAuthApplication.PROFILE)
+public class ReactiveRefreshTokenRepository {
+    
+    private final DatabaseClient databaseClient;
+    
+    public ReactiveRefreshTokenRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+    
+    public Mono<Long> insert(String tokenHash, String familyId, Long userId, LocalDateTime expiresAt) {
+        return databaseClient.sql("INSERT INTO refresh_tokens (token_hash, family_id, user_id, expires_at, revoked, created_at) "
+                        + "VALUES (:tokenHash, :familyId, :userId, :expiresAt, FALSE, :now)")
+                .bind("tokenHash", tokenHash)
+                .bind("familyId", familyId)
+                .bind("userId", userId)
+                .bind("expiresAt", expiresAt)
+                .bind("now", LocalDateTime.now())
+                .fetch()
+                .rowsUpdated();
+    }
+    
+    // Claims the token for one exchange; 0 when it was already used, revoked or expired
+    public Mono<Long> markUsed(String tokenHash, String familyId, LocalDateTime now) {
+        return databaseClient.sql("UPDATE refresh_tokens SET used_at = :now WHERE token_hash = :tokenHash "
+                        + "AND family_id = :familyId AND used_at IS NULL AND revoked = FALSE AND expires_at > :now")
+                .bind("now", now)
+                .bind("tokenHash", tokenHash)
+                .bind("familyId", familyId)
+                .fetch()
+                .rowsUpdated();
+    }
+    
+    public Mono<Long> revokeFamily(String familyId) {
+        return databaseClient.sql("UPDATE refresh_tokens SET revoked = TRUE WHERE family_id = :familyId AND revoked = FALSE")
+                .bind("familyId", familyId)
+                .fetch()
+                .rowsUpdated();
+    }
+    
+    public Mono<Long> revokeAllByUserId(Long userId) {
+        return databaseClient.sql("UPDATE refresh_tokens SET revoked = TRUE WHERE user_id = :userId AND revoked = FALSE")
+                .bind("userId", userId)
+                .fetch()
+                .rowsUpdated();
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.authbackend.reactive.repository;
+
+import com.example.authbackend.reactive.ReactiveAuthApplication;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * R2DBC access to revoked_tokens; rows are shared with the servlet nodes' TokenRevocationStore.
+ */
+@Repository
+@Profile(ReactiveAuthApplication.PROFILE)
+public class ReactiveRevokedTokenRepository {
+    
+    private final DatabaseClient databaseClient;
+    
+    public ReactiveRevokedTokenRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+    
+    public Mono<Long> insertIfAbsent(String jti, LocalDateTime expiresAt, LocalDateTime revokedAt) {
+        return databaseClient.sql("INSERT INTO revoked_tokens (jti, expires_at, revoked_at) VALUES (:jti, :expiresAt, :revokedAt) "
+                        + "ON CONFLICT (jti) DO NOTHING")
+                .bind("jti", jti)
+                .bind("expiresAt", expiresAt)
+                .bind("revokedAt", revokedAt)
+                .fetch()
+                .rowsUpdated();
+    }
+    
+    // jti -> expires_at of tokens revoked since the given time that have not expired yet
+    public Flux<Map.Entry<String, LocalDateTime>> findRevokedSince(LocalDateTime since, LocalDateTime now) {
+        return databaseClient.sql("SELECT jti, expires_at FROM revoked_tokens WHERE revoked_at > :since AND expires_at > :now")
+                .bind("since", since)
+                .bind("now", now)
+                .map(row -> Map.entry(row.get("jti", String.class), row.get("expires_at", LocalDateTime.class)))
+                .all();
+    }
+}
@@ -0,0 +1,218 @@
+package com.example.authbackend.reactive.repository;
+
+import com.example.authbackend.entity.AuthProvider;
+import com.example.authbackend.entity.RoleName;
+import com.example.authbackend.reactive.ReactiveAuthApplication;
+import io.r2dbc.spi.Readable;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.AbstractMap;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * R2DBC access to users and user_roles. Single users are read together with their roles in one
+ * join; pages read the users first and then all their roles with one IN query.
+ */
+@Repository
+@Profile(ReactiveAuthApplication.PROFILE)
+public class ReactiveUserRepository {
+    
+    private static final String USER_COLUMNS = "u.id, u.first_name, u.last_name, u.email, u.password, "
+            + "u.email_verified, u.provider, u.image_url, u.created_at, u.token_version";
+    
+    private static final String SELECT_WITH_ROLES = "SELECT " + USER_COLUMNS + ", r.name AS role_name "
+            + "FROM users u LEFT JOIN user_roles ur ON ur.user_id = u.id LEFT JOIN roles r ON r.id = ur.role_id ";
+    
+    private final DatabaseClient databaseClient;
+    
+    public ReactiveUserRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+    
+    public Mono<UserRow> findByEmail(String email) {
+        return databaseClient.sql(SELECT_WITH_ROLES + "WHERE u.email = :email")
+                .bind("email", email)
+                .map(ReactiveUserRepository::mapUserWithRole)
+                .all()
+                .collectList()
+                .flatMap(ReactiveUserRepository::mergeRoles);
+    }
+    
+    public Mono<UserRow> findById(Long id) {
+        return databaseClient.sql(SELECT_WITH_ROLES + "WHERE u.id = :id")
+                .bind("id", id)
+                .map(ReactiveUserRepository::mapUserWithRole)
+                .all()
+                .collectList()
+                .flatMap(ReactiveUserRepository::mergeRoles);
+    }
+    
+    public Flux<UserRow> findPage(long offset, int limit) {
+        return databaseClient.sql("SELECT " + USER_COLUMNS + " FROM users u ORDER BY u.id LIMIT :limit OFFSET :offset")
+                .bind("limit", limit)
+                .bind("offset", offset)
+                .map(row -> mapUser(row, Set.of()))
+                .all()
+                .collectList()
+                .flatMapMany(users -> users.isEmpty()
+                        ? Flux.empty()
+                        : findRoles(users.stream().map(UserRow::id).toList())
+                                .flatMapIterable(roles -> users.stream()
+                                        .map(user -> user.withRoles(roles.getOrDefault(user.id(), Set.of())))
+                                        .toList()));
+    }
+    
+    public Mono<Long> count() {
+        return databaseClient.sql("SELECT COUNT(*) AS total FROM users")
+                .map(row -> row.get("total", Long.class))
+                .one();
+    }
+    
+    public Mono<Integer> findTokenVersionById(Long id) {
+        return databaseClient.sql("SELECT token_version FROM users WHERE id = :id")
+                .bind("id", id)
+                .map(row -> row.get("token_version", Integer.class))
+                .one();
+    }
+    
+    // A duplicate email fails here with DuplicateKeyException from the users.email unique constraint
+    public Mono<Long> insertLocalUser(String firstName, String lastName, String email, String password) {
+        LocalDateTime now = LocalDateTime.now();
+        return databaseClient.sql("INSERT INTO users (first_name, last_name, email, password, email_verified, "
+                        + "provider, created_at, updated_at, token_version) "
+                        + "VALUES (:firstName, :lastName, :email, :password, FALSE, :provider, :now, :now, 0)")
+                .bind("firstName", firstName)
+                .bind("lastName", lastName)
+                .bind("email", email)
+                .bind("password", password)
+                .bind("provider", AuthProvider.LOCAL.name())
+                .bind("now", now)
+                .filter(statement -> statement.returnGeneratedValues("id"))
+                .map(row -> row.get("id", Long.class))
+                .one();
+    }
+    
+    public Mono<Long> addRole(Long userId, RoleName role) {
+        return databaseClient.sql("INSERT INTO user_roles (user_id, role_id) SELECT :userId, id FROM roles WHERE name = :role")
+                .bind("userId", userId)
+                .bind("role", role.name())
+                .fetch()
+                .rowsUpdated();
+    }
+    
+    public Mono<Long> markEmailVerified(Long id) {
+        return databaseClient.sql("UPDATE users SET email_verified = TRUE WHERE id = :id")
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated();
+    }
+    
+    // Nulls keep the current value
+    public Mono<Long> updateProfile(Long id, String firstName, String lastName, String imageUrl) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("UPDATE users SET "
+                        + "first_name = COALESCE(:firstName, first_name), "
+                        + "last_name = COALESCE(:lastName, last_name), "
+                        + "image_url = COALESCE(:imageUrl, image_url) WHERE id = :id")
+                .bind("id", id);
+        spec = bindNullable(spec, "firstName", firstName);
+        spec = bindNullable(spec, "lastName", lastName);
+        spec = bindNullable(spec, "imageUrl", imageUrl);
+        return spec.fetch().rowsUpdated();
+    }
+    
+    // Transparent rehash on login; the token version stays so existing sessions survive
+    public Mono<Long> updatePassword(String email, String password) {
+        return databaseClient.sql("UPDATE users SET password = :password WHERE email = :email")
+                .bind("password", password)
+                .bind("email", email)
+                .fetch()
+                .rowsUpdated();
+    }
+    
+    // Password change: every token issued with the old password stops verifying
+    public Mono<Long> changePassword(Long id, String password) {
+        return databaseClient.sql("UPDATE users SET password = :password, token_version = token_version + 1 WHERE id = :id")
+                .bind("password", password)
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated();
+    }
+    
+    public Mono<Long> incrementTokenVersion(Long id) {
+        return databaseClient.sql("UPDATE users SET token_version = token_version + 1 WHERE id = :id")
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated();
+    }
+    
+    // Roles, tokens and outbox rows go with it through ON DELETE CASCADE
+    public Mono<Long> deleteById(Long id) {
+        return databaseClient.sql("DELETE FROM users WHERE id = :id")
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated();
+    }
+    
+    private Mono<Map<Long, Set<RoleName>>> findRoles(Collection<Long> userIds) {
+        return databaseClient.sql("SELECT ur.user_id, r.name FROM user_roles ur JOIN roles r ON r.id = ur.role_id "
+                        + "WHERE ur.user_id IN (:userIds)")
+                .bind("userIds", userIds)
+                .map(row -> Map.entry(row.get("user_id", Long.class), RoleName.valueOf(row.get("name", String.class))))
+                .all()
+                .collect(HashMap::new, (roles, entry) -> roles
+                        .computeIfAbsent(entry.getKey(), id -> EnumSet.noneOf(RoleName.class))
+                        .add(entry.getValue()));
+    }
+    
+    private static DatabaseClient.GenericExecuteSpec bindNullable(DatabaseClient.GenericExecuteSpec spec,
+                                                                  String name, String value) {
+        return value != null ? spec.bind(name, value) : spec.bindNull(name, String.class);
+    }
+    
+    // SimpleImmutableEntry because the role is null for a user without roles
+    private static Map.Entry<UserRow, String> mapUserWithRole(Readable row) {
+        String role = row.get("role_name", String.class);
+        return new AbstractMap.SimpleImmutableEntry<>(mapUser(row, Set.of()), role);
+    }
+    
+    // One row per role from the join; a user without roles comes back as a single row with a null role
+    private static Mono<UserRow> mergeRoles(List<Map.Entry<UserRow, String>> rows) {
+        if (rows.isEmpty()) {
+            return Mono.empty();
+        }
+        Set<RoleName> roles = EnumSet.noneOf(RoleName.class);
+        for (Map.Entry<UserRow, String> row : rows) {
+            if (row.getValue() != null) {
+                roles.add(RoleName.valueOf(row.getValue()));
+            }
+        }
+        return Mono.just(rows.get(0).getKey().withRoles(roles));
+    }
+    
+    private static UserRow mapUser(Readable row, Set<RoleName> roles) {
+        Integer tokenVersion = row.get("token_version", Integer.class);
+        return new UserRow(
+                row.get("id", Long.class),
+                row.get("first_name", String.class),
+                row.get("last_name", String.class),
+                row.get("email", String.class),
+                row.get("password", String.class),
+                Boolean.TRUE.equals(row.get("email_verified", Boolean.class)),
+                row.get("provider", String.class),
+                row.get("image_url", String.class),
+                row.get("created_at", LocalDateTime.class),
+                tokenVersion != null ? tokenVersion : 0,
+                roles
+        );
+    }
+}
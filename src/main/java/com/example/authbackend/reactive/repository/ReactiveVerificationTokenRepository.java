@@ -0,0 +1,65 @@
+package com.example.authbackend.reactive.repository;
+
+import com.example.authbackend.reactive.ReactiveAuthApplication;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * R2DBC access to email_verification_tokens.
+ */
+@Repository
+@Profile(ReactiveAuthApplication.PROFILE)
+public class ReactiveVerificationTokenRepository {
+    
+    private final DatabaseClient databaseClient;
+    
+    public ReactiveVerificationTokenRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+    
+    public Mono<VerificationToken> findByToken(String token) {
+        return databaseClient.sql("SELECT id, user_id, expiry_date FROM email_verification_tokens WHERE token = :token")
+                .bind("token", token)
+                .map(row -> new VerificationToken(
+                        row.get("id", Long.class),
+                        row.get("user_id", Long.class),
+                        row.get("expiry_date", LocalDateTime.class)))
+                .one();
+    }
+    
+    public Mono<Long> insert(String token, Long userId, LocalDateTime expiryDate) {
+        return databaseClient.sql("INSERT INTO email_verification_tokens (token, user_id, expiry_date, created_at) "
+                        + "VALUES (:token, :userId, :expiryDate, :now)")
+                .bind("token", token)
+                .bind("userId", userId)
+                .bind("expiryDate", expiryDate)
+                .bind("now", LocalDateTime.now())
+                .fetch()
+                .rowsUpdated();
+    }
+    
+    public Mono<Long> deleteById(Long id) {
+        return databaseClient.sql("DELETE FROM email_verification_tokens WHERE id = :id")
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated();
+    }
+    
+    public Mono<Long> deleteByUserId(Long userId) {
+        return databaseClient.sql("DELETE FROM email_verification_tokens WHERE user_id = :userId")
+                .bind("userId", userId)
+                .fetch()
+                .rowsUpdated();
+    }
+    
+    public record VerificationToken(Long id, Long userId, LocalDateTime expiryDate) {
+        
+        public boolean isExpired() {
+            return LocalDateTime.now().isAfter(expiryDate);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.authbackend.reactive.repository;
+
+import com.example.authbackend.entity.RoleName;
+import com.example.authbackend.security.UserPrincipal;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A users row with its role names, as read by {@link ReactiveUserRepository}.
+ */
+public record UserRow(Long id,
+                      String firstName,
+                      String lastName,
+                      String email,
+                      String password,
+                      boolean emailVerified,
+                      String provider,
+                      String imageUrl,
+                      LocalDateTime createdAt,
+                      int tokenVersion,
+                      Set<RoleName> roles) {
+    
+    public UserRow withRoles(Set<RoleName> roles) {
+        return new UserRow(id, firstName, lastName, email, password, emailVerified, provider, imageUrl, createdAt,
+                tokenVersion, roles);
+    }
+    
+    public UserRow withPassword(String password) {
+        return new UserRow(id, firstName, lastName, email, password, emailVerified, provider, imageUrl, createdAt,
+                tokenVersion, roles);
+    }
+    
+    // Same rule as User.isEnabled: unverified accounts cannot sign in
+    public boolean isEnabled() {
+        return emailVerified;
+    }
+    
+    public UserPrincipal toPrincipal() {
+        List<GrantedAuthority> authorities = roles.stream()
+                .map(role -> (GrantedAuthority) new SimpleGrantedAuthority("ROLE_" + role.name()))
+                .toList();
+        return new UserPrincipal(id, email, password, authorities, isEnabled(), tokenVersion);
+    }
+}
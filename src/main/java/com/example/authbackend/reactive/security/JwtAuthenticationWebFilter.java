@@ -0,0 +1,97 @@
+package com.example.authbackend.reactive.security;
+
+import com.example.authbackend.reactive.repository.ReactiveUserRepository;
+import com.example.authbackend.reactive.repository.UserRow;
+import com.example.authbackend.security.UserPrincipal;
+import com.example.authbackend.security.VerifiedToken;
+import com.example.authbackend.security.VerifiedTokenCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+
+/**
+ * Reactive JwtAuthenticationFilter. Verification and the revocation check are in-memory; the
+ * token version and, unless stateless authentication is on, the user are looked up without
+ * blocking the event loop. Any failure leaves the request unauthenticated.
+ *
+ * <p>Not a bean: it is added to the security chain only, not to every WebFlux handler.
+ */
+public class JwtAuthenticationWebFilter implements WebFilter {
+    
+    private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationWebFilter.class);
+    
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final ReactiveTokenRevocationStore tokenRevocationStore;
+    private final ReactiveTokenVersionCache tokenVersionCache;
+    private final ReactiveUserRepository userRepository;
+    private final boolean statelessAuthentication;
+    
+    public JwtAuthenticationWebFilter(VerifiedTokenCache verifiedTokenCache,
+                                      ReactiveTokenRevocationStore tokenRevocationStore,
+                                      ReactiveTokenVersionCache tokenVersionCache,
+                                      ReactiveUserRepository userRepository,
+                                      boolean statelessAuthentication) {
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.tokenRevocationStore = tokenRevocationStore;
+        this.tokenVersionCache = tokenVersionCache;
+        this.userRepository = userRepository;
+        this.statelessAuthentication = statelessAuthentication;
+    }
+    
+    @Override
+    @NonNull
+    public Mono<Void> filter(@NonNull ServerWebExchange exchange, @NonNull WebFilterChain chain) {
+        return authenticate(getJwtFromRequest(exchange))
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(authentication -> authentication
+                        .map(auth -> chain.filter(exchange)
+                                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(auth)))
+                        .orElseGet(() -> chain.filter(exchange)));
+    }
+    
+    private Mono<Authentication> authenticate(String jwt) {
+        if (!StringUtils.hasText(jwt)) {
+            return Mono.empty();
+        }
+        VerifiedToken verifiedToken = verifiedTokenCache.verify(jwt).orElse(null);
+        if (verifiedToken == null || tokenRevocationStore.isRevoked(verifiedToken.getTokenId())) {
+            return Mono.empty();
+        }
+        return tokenVersionCache.isCurrent(verifiedToken)
+                .filter(Boolean::booleanValue)
+                .flatMap(current -> loadPrincipal(verifiedToken))
+                .<Authentication>map(principal ->
+                        new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()))
+                .onErrorResume(ex -> {
+                    logger.error("Could not set user authentication in security context", ex);
+                    return Mono.empty();
+                });
+    }
+    
+    private Mono<UserPrincipal> loadPrincipal(VerifiedToken verifiedToken) {
+        if (statelessAuthentication && verifiedToken.hasPrincipalClaims()) {
+            return Mono.just(UserPrincipal.fromToken(verifiedToken));
+        }
+        return userRepository.findByEmail(verifiedToken.getSubject()).map(UserRow::toPrincipal);
+    }
+    
+    private static String getJwtFromRequest(ServerWebExchange exchange) {
+        String bearerToken = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
+            return bearerToken.substring(7);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.authbackend.reactive.security;
+
+import com.example.authbackend.exception.ServiceOverloadedException;
+import com.example.authbackend.reactive.ReactiveAuthApplication;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Reactive counterpart of PasswordHashingExecutor: hashes run on a CPU-sized scheduler so they
+ * never occupy an event-loop thread, and once its queue is full callers get
+ * {@link ServiceOverloadedException} instead of waiting.
+ */
+@Component
+@Profile(ReactiveAuthApplication.PROFILE)
+public class ReactivePasswordHasher implements DisposableBean {
+    
+    private final PasswordEncoder passwordEncoder;
+    private final Scheduler scheduler;
+    private final long retryAfterSeconds;
+    private final Counter rejectedCounter;
+    
+    // Compared against when the user does not exist, so unknown emails take as long as wrong passwords
+    private volatile String dummyHash;
+    
+    public ReactivePasswordHasher(PasswordEncoder passwordEncoder,
+                                  @Value("${app.security.password-hashing.threads:0}") int threads,
+                                  @Value("${app.security.password-hashing.queue-capacity:0}") int queueCapacity,
+                                  @Value("${app.security.password-hashing.retry-after:PT2S}") Duration retryAfter,
+                                  ObjectProvider<MeterRegistry> meterRegistry) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        int capacity = queueCapacity > 0 ? queueCapacity : poolSize * 4;
+        this.passwordEncoder = passwordEncoder;
+        this.scheduler = Schedulers.newBoundedElastic(poolSize, capacity, "password-hash");
+        this.retryAfterSeconds = Math.max(1, retryAfter.toSeconds());
+        this.rejectedCounter = Counter.builder("password.hashing.rejected")
+                .description("Hashes refused because the queue was full or the wait timed out")
+                .register(meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+    
+    public Mono<String> encode(CharSequence rawPassword) {
+        return offload(Mono.fromCallable(() -> passwordEncoder.encode(rawPassword)));
+    }
+    
+    /**
+     * A null hash (unknown user or OAuth2-only account) is checked against a dummy hash and never matches.
+     */
+    public Mono<Boolean> matches(CharSequence rawPassword, String encodedPassword) {
+        return offload(Mono.fromCallable(() -> {
+            if (encodedPassword == null) {
+                passwordEncoder.matches(rawPassword, dummyHash());
+                return false;
+            }
+            return passwordEncoder.matches(rawPassword, encodedPassword);
+        }));
+    }
+    
+    public boolean upgradeEncoding(String encodedPassword) {
+        return encodedPassword != null && passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+    
+    @Override
+    public void destroy() {
+        scheduler.dispose();
+    }
+    
+    private <T> Mono<T> offload(Mono<T> work) {
+        return work.subscribeOn(scheduler)
+                .onErrorMap(RejectedExecutionException.class, ex -> {
+                    rejectedCounter.increment();
+                    return new ServiceOverloadedException("Too many concurrent sign-in requests, please retry shortly",
+                            retryAfterSeconds);
+                });
+    }
+    
+    private String dummyHash() {
+        String hash = dummyHash;
+        if (hash == null) {
+            hash = passwordEncoder.encode("userNotFoundPassword");
+            dummyHash = hash;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.authbackend.reactive.security;
+
+import com.example.authbackend.reactive.ReactiveAuthApplication;
+import com.example.authbackend.reactive.repository.ReactiveRevokedTokenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revoked token ids (jti) from the revoked_tokens table, checked in memory on every request like
+ * TokenRevocationStore. The first sync loads every unexpired entry; later ones pick up what other
+ * nodes revoked since. Expired rows are purged by the servlet nodes.
+ */
+@Component
+@Profile(ReactiveAuthApplication.PROFILE)
+public class ReactiveTokenRevocationStore {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveTokenRevocationStore.class);
+    
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+    
+    private final ReactiveRevokedTokenRepository revokedTokenRepository;
+    private final Duration syncOverlap;
+    
+    // jti -> expiry in epoch millis
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    private volatile LocalDateTime lastSync;
+    
+    public ReactiveTokenRevocationStore(ReactiveRevokedTokenRepository revokedTokenRepository,
+                                        @Value("${app.jwt.revocation.sync-overlap:PT5S}") Duration syncOverlap) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.syncOverlap = syncOverlap;
+    }
+    
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null) {
+            return false;
+        }
+        Long expiresAt = revoked.get(tokenId);
+        return expiresAt != null && expiresAt > System.currentTimeMillis();
+    }
+    
+    /**
+     * Revokes the token on this node immediately and records it for other nodes and restarts.
+     */
+    public Mono<Void> revoke(String tokenId, long expiresAtMillis) {
+        if (tokenId == null || expiresAtMillis <= System.currentTimeMillis()) {
+            return Mono.empty();
+        }
+        revoked.put(tokenId, expiresAtMillis);
+        return revokedTokenRepository.insertIfAbsent(tokenId, toLocalDateTime(expiresAtMillis), LocalDateTime.now())
+                .then();
+    }
+    
+    @Scheduled(fixedDelayString = "${app.jwt.revocation.sync-interval:PT30S}")
+    public Mono<Void> sync() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime since = lastSync != null ? lastSync.minus(syncOverlap) : BEGINNING;
+        return revokedTokenRepository.findRevokedSince(since, now)
+                .doOnNext(entry -> revoked.put(entry.getKey(), toEpochMillis(entry.getValue())))
+                .count()
+                .doOnNext(count -> {
+                    if (lastSync == null) {
+                        logger.info("Loaded {} revoked tokens", count);
+                    }
+                    lastSync = now;
+                    long nowMillis = System.currentTimeMillis();
+                    revoked.values().removeIf(expiresAt -> expiresAt <= nowMillis);
+                })
+                .then();
+    }
+    
+    public int getSize() {
+        return revoked.size();
+    }
+    
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+    
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
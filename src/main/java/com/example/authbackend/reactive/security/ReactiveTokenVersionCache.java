@@ -0,0 +1,54 @@
+package com.example.authbackend.reactive.security;
+
+import com.example.authbackend.reactive.ReactiveAuthApplication;
+import com.example.authbackend.reactive.repository.ReactiveUserRepository;
+import com.example.authbackend.security.VerifiedToken;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Non-blocking TokenVersionCache: concurrent misses for the same user share one query, and the
+ * event loop never waits on it. Callers evict after their transaction commits.
+ */
+@Component
+@Profile(ReactiveAuthApplication.PROFILE)
+public class ReactiveTokenVersionCache {
+    
+    // Cached for deleted users so their tokens keep failing without a query per request
+    private static final int MISSING_USER = -1;
+    
+    private final AsyncLoadingCache<Long, Integer> versions;
+    
+    public ReactiveTokenVersionCache(ReactiveUserRepository userRepository,
+                                     @Value("${app.security.token-version-cache.ttl:PT1M}") Duration ttl,
+                                     @Value("${app.security.token-version-cache.max-size:10000}") long maxSize) {
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .buildAsync((userId, executor) -> userRepository.findTokenVersionById(userId)
+                        .defaultIfEmpty(MISSING_USER)
+                        .toFuture());
+    }
+    
+    /**
+     * Tokens without a user id cannot be checked and are accepted until they expire.
+     */
+    public Mono<Boolean> isCurrent(VerifiedToken token) {
+        if (token.getUserId() == null) {
+            return Mono.just(true);
+        }
+        // The future is shared with other requests, so one cancelled request must not cancel it
+        return Mono.fromFuture(versions.get(token.getUserId()), true)
+                .map(version -> version == token.getTokenVersion());
+    }
+    
+    public void evict(Long userId) {
+        versions.synchronous().invalidate(userId);
+    }
+}
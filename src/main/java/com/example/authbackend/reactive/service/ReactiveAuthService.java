@@ -0,0 +1,16 @@
+package com.example.authbackend.reactive.service;
+
+import com.example.authbackend.dto.request.LoginRequest;
+import com.example.authbackend.dto.request.RegisterRequest;
+import com.example.authbackend.dto.response.ApiResponse;
+import com.example.authbackend.dto.response.AuthResponse;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveAuthService {
+    Mono<AuthResponse> login(LoginRequest loginRequest);
+    Mono<ApiResponse> register(RegisterRequest registerRequest);
+    Mono<ApiResponse> verifyEmail(String token);
+    Mono<ApiResponse> resendVerificationEmail(String email);
+    Mono<AuthResponse> refreshToken(String refreshToken);
+    Mono<ApiResponse> logout(String token);
+}
@@ -0,0 +1,17 @@
+package com.example.authbackend.reactive.service;
+
+import com.example.authbackend.reactive.repository.UserRow;
+import com.example.authbackend.security.VerifiedToken;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveRefreshTokenService {
+    Mono<String> issue(Long userId, String email);
+    
+    /**
+     * Emits the successor token, or completes empty when the presented token was reused or revoked;
+     * its family is revoked by then.
+     */
+    Mono<String> rotate(VerifiedToken refreshToken, UserRow user);
+    
+    Mono<Void> revokeAllForUser(Long userId);
+}
@@ -0,0 +1,16 @@
+package com.example.authbackend.reactive.service;
+
+import com.example.authbackend.controller.UserController;
+import com.example.authbackend.dto.response.UserResponse;
+import org.springframework.data.domain.Page;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveUserService {
+    Mono<UserResponse> getCurrentUser(String email);
+    Mono<UserResponse> getUserById(Long id);
+    Mono<Page<UserResponse>> getAllUsers(int page, int size);
+    Mono<UserResponse> updateUser(Long id, UserController.UserUpdateRequest updateRequest);
+    Mono<Void> deleteUser(Long id);
+    Mono<Boolean> changePassword(String email, String oldPassword, String newPassword);
+    Mono<Void> revokeAllTokens(Long id);
+}
@@ -0,0 +1,218 @@
+package com.example.authbackend.reactive.service.impl;
+
+import com.example.authbackend.dto.request.LoginRequest;
+import com.example.authbackend.dto.request.RegisterRequest;
+import com.example.authbackend.dto.response.ApiResponse;
+import com.example.authbackend.dto.response.AuthResponse;
+import com.example.authbackend.dto.response.UserResponse;
+import com.example.authbackend.entity.EmailType;
+import com.example.authbackend.entity.RoleName;
+import com.example.authbackend.exception.EmailAlreadyExistsException;
+import com.example.authbackend.exception.InvalidTokenException;
+import com.example.authbackend.exception.UserNotFoundException;
+import com.example.authbackend.reactive.ReactiveAuthApplication;
+import com.example.authbackend.reactive.repository.ReactiveEmailOutboxRepository;
+import com.example.authbackend.reactive.repository.ReactiveUserRepository;
+import com.example.authbackend.reactive.repository.ReactiveVerificationTokenRepository;
+import com.example.authbackend.reactive.repository.UserRow;
+import com.example.authbackend.reactive.security.ReactivePasswordHasher;
+import com.example.authbackend.reactive.security.ReactiveTokenRevocationStore;
+import com.example.authbackend.reactive.service.ReactiveAuthService;
+import com.example.authbackend.reactive.service.ReactiveRefreshTokenService;
+import com.example.authbackend.security.JwtTokenProvider;
+import com.example.authbackend.security.VerifiedToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.DisabledException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Reactive AuthServiceImpl. Transactions are demarcated with {@link TransactionalOperator} so
+ * that password hashing stays outside them and no connection is held while a hash runs.
+ */
+@Service
+@Profile(ReactiveAuthApplication.PROFILE)
+public class ReactiveAuthServiceImpl implements ReactiveAuthService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveAuthServiceImpl.class);
+    
+    @Autowired
+    private ReactiveUserRepository userRepository;
+    
+    @Autowired
+    private ReactiveVerificationTokenRepository tokenRepository;
+    
+    @Autowired
+    private ReactiveEmailOutboxRepository outboxRepository;
+    
+    @Autowired
+    private ReactivePasswordHasher passwordHasher;
+    
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+    
+    @Autowired
+    private ReactiveTokenRevocationStore tokenRevocationStore;
+    
+    @Autowired
+    private ReactiveRefreshTokenService refreshTokenService;
+    
+    @Autowired
+    private TransactionalOperator transactionalOperator;
+    
+    @Value("${app.email.verification.expiration}")
+    private long emailVerificationExpirationMs;
+    
+    @Override
+    public Mono<AuthResponse> login(LoginRequest loginRequest) {
+        // Unknown emails still pay for one hash, so they cannot be told apart by timing
+        return userRepository.findByEmail(loginRequest.getEmail())
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(user -> passwordHasher.matches(loginRequest.getPassword(), user.map(UserRow::password).orElse(null))
+                        .flatMap(matches -> matches
+                                ? Mono.just(user.get())
+                                : Mono.<UserRow>error(new BadCredentialsException("Bad credentials"))))
+                .flatMap(user -> user.isEnabled()
+                        ? Mono.just(user)
+                        : Mono.error(new DisabledException("User is disabled")))
+                .flatMap(user -> rehashIfNeeded(user, loginRequest.getPassword()))
+                .flatMap(user -> refreshTokenService.issue(user.id(), user.email())
+                        .map(refreshToken -> new AuthResponse(
+                                tokenProvider.generateToken(user.toPrincipal()), refreshToken, mapToUserResponse(user))))
+                .doOnNext(response -> logger.info("User {} logged in successfully", loginRequest.getEmail()));
+    }
+    
+    @Override
+    public Mono<ApiResponse> register(RegisterRequest registerRequest) {
+        String token = UUID.randomUUID().toString();
+        LocalDateTime expiryDate = LocalDateTime.now().plusSeconds(emailVerificationExpirationMs / 1000);
+        
+        // Hash first, then one short transaction for the user, its role, the token and the mail
+        return passwordHasher.encode(registerRequest.getPassword())
+                .flatMap(password -> transactionalOperator.transactional(
+                        userRepository.insertLocalUser(registerRequest.getFirstName(), registerRequest.getLastName(),
+                                        registerRequest.getEmail(), password)
+                                .flatMap(userId -> userRepository.addRole(userId, RoleName.USER)
+                                        .then(tokenRepository.insert(token, userId, expiryDate))
+                                        .then(outboxRepository.enqueue(EmailType.VERIFICATION,
+                                                newUser(userId, registerRequest), token)))))
+                // No existence pre-check: the users.email unique constraint rejects duplicates, race-free
+                .onErrorMap(DuplicateKeyException.class,
+                        ex -> new EmailAlreadyExistsException("Email address already in use!"))
+                .doOnSuccess(inserted -> logger.info("User {} registered successfully", registerRequest.getEmail()))
+                .thenReturn(new ApiResponse(true,
+                        "User registered successfully. Please check your email for verification."));
+    }
+    
+    @Override
+    public Mono<ApiResponse> verifyEmail(String token) {
+        return tokenRepository.findByToken(token)
+                .switchIfEmpty(Mono.error(() -> new InvalidTokenException("Invalid verification token")))
+                .flatMap(verificationToken -> verificationToken.isExpired()
+                        ? tokenRepository.deleteById(verificationToken.id())
+                                .then(Mono.error(new InvalidTokenException("Verification token has expired")))
+                        : transactionalOperator.transactional(
+                                userRepository.markEmailVerified(verificationToken.userId())
+                                        .then(tokenRepository.deleteById(verificationToken.id()))
+                                        .then(userRepository.findById(verificationToken.userId()))
+                                        .flatMap(user -> outboxRepository.enqueue(EmailType.WELCOME, user, null)
+                                                .thenReturn(user))))
+                .doOnNext(user -> logger.info("Email verified successfully for user {}", user.email()))
+                .thenReturn(new ApiResponse(true, "Email verified successfully!"));
+    }
+    
+    @Override
+    public Mono<ApiResponse> resendVerificationEmail(String email) {
+        return userRepository.findByEmail(email)
+                .switchIfEmpty(Mono.error(() -> new UserNotFoundException("User not found with email: " + email)))
+                .flatMap(user -> {
+                    if (user.emailVerified()) {
+                        return Mono.just(new ApiResponse(false, "Email is already verified"));
+                    }
+                    String token = UUID.randomUUID().toString();
+                    LocalDateTime expiryDate = LocalDateTime.now().plusSeconds(emailVerificationExpirationMs / 1000);
+                    return transactionalOperator.transactional(
+                                    tokenRepository.deleteByUserId(user.id())
+                                            .then(tokenRepository.insert(token, user.id(), expiryDate))
+                                            .then(outboxRepository.enqueue(EmailType.VERIFICATION, user, token)))
+                            .doOnSuccess(inserted -> logger.info("Verification email resent to {}", email))
+                            .thenReturn(new ApiResponse(true, "Verification email sent successfully"));
+                });
+    }
+    
+    @Override
+    public Mono<AuthResponse> refreshToken(String refreshToken) {
+        VerifiedToken verifiedToken = tokenProvider.verifyToken(refreshToken)
+                .filter(VerifiedToken::isRefreshToken)
+                .orElse(null);
+        if (verifiedToken == null) {
+            return Mono.error(new InvalidTokenException("Invalid refresh token"));
+        }
+        
+        return userRepository.findByEmail(verifiedToken.getSubject())
+                .switchIfEmpty(Mono.error(() -> new UserNotFoundException("User not found")))
+                .flatMap(user -> user.isEnabled()
+                        ? Mono.just(user)
+                        : Mono.error(new DisabledException("User is disabled")))
+                // Empty after a reuse: the family revocation is committed before the request fails
+                .flatMap(user -> transactionalOperator.transactional(refreshTokenService.rotate(verifiedToken, user))
+                        .map(newRefreshToken -> new AuthResponse(
+                                tokenProvider.generateToken(user.toPrincipal()), newRefreshToken, mapToUserResponse(user))))
+                .switchIfEmpty(Mono.error(() -> new InvalidTokenException("Invalid refresh token")));
+    }
+    
+    @Override
+    public Mono<ApiResponse> logout(String token) {
+        // Only a token that verifies can be trusted to name its own jti
+        Mono<Void> revocation = token == null
+                ? Mono.empty()
+                : Mono.justOrEmpty(tokenProvider.verifyToken(token))
+                        .flatMap(verifiedToken -> tokenRevocationStore.revoke(
+                                verifiedToken.getTokenId(), verifiedToken.getExpiresAtMillis()));
+        return revocation
+                .then(Mono.fromRunnable(() -> logger.info("User logged out successfully")))
+                .thenReturn(new ApiResponse(true, "Logged out successfully"));
+    }
+    
+    private Mono<UserRow> rehashIfNeeded(UserRow user, String rawPassword) {
+        if (!passwordHasher.upgradeEncoding(user.password())) {
+            return Mono.just(user);
+        }
+        return passwordHasher.encode(rawPassword)
+                .flatMap(newHash -> userRepository.updatePassword(user.email(), newHash)
+                        .thenReturn(user.withPassword(newHash)));
+    }
+    
+    private static UserRow newUser(Long userId, RegisterRequest registerRequest) {
+        return new UserRow(userId, registerRequest.getFirstName(), registerRequest.getLastName(),
+                registerRequest.getEmail(), null, false, null, null, null, 0, Set.of(RoleName.USER));
+    }
+    
+    static UserResponse mapToUserResponse(UserRow user) {
+        return new UserResponse(
+                user.id(),
+                user.firstName(),
+                user.lastName(),
+                user.email(),
+                user.emailVerified(),
+                user.provider(),
+                user.imageUrl(),
+                user.createdAt(),
+                user.roles().stream().map(Enum::name).collect(Collectors.toSet())
+        );
+    }
+}
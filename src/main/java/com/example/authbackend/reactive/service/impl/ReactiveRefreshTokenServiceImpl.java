@@ -0,0 +1,85 @@
+package com.example.authbackend.reactive.service.impl;
+
+import com.example.authbackend.reactive.ReactiveAuthApplication;
+import com.example.authbackend.reactive.repository.ReactiveRefreshTokenRepository;
+import com.example.authbackend.reactive.repository.UserRow;
+import com.example.authbackend.reactive.service.ReactiveRefreshTokenService;
+import com.example.authbackend.security.JwtTokenProvider;
+import com.example.authbackend.security.VerifiedToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Same single-use rotation as RefreshTokenServiceImpl. Reuse is reported by completing empty
+ * rather than with an error, so the family revocation commits with the caller's transaction.
+ */
+@Service
+@Profile(ReactiveAuthApplication.PROFILE)
+public class ReactiveRefreshTokenServiceImpl implements ReactiveRefreshTokenService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveRefreshTokenServiceImpl.class);
+    
+    @Autowired
+    private ReactiveRefreshTokenRepository refreshTokenRepository;
+    
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+    
+    @Override
+    public Mono<String> issue(Long userId, String email) {
+        return create(userId, email, UUID.randomUUID().toString());
+    }
+    
+    @Override
+    public Mono<String> rotate(VerifiedToken refreshToken, UserRow user) {
+        String familyId = refreshToken.getFamilyId();
+        if (refreshToken.getTokenId() == null || familyId == null) {
+            return Mono.empty();
+        }
+        
+        return refreshTokenRepository.markUsed(hash(refreshToken.getTokenId()), familyId, LocalDateTime.now())
+                .flatMap(claimed -> {
+                    if (claimed > 0) {
+                        return create(user.id(), user.email(), familyId);
+                    }
+                    return refreshTokenRepository.revokeFamily(familyId)
+                            .doOnNext(revoked -> logger.warn("Refresh token reuse or revoked token for user {}; "
+                                    + "revoked {} tokens in its family", user.email(), revoked))
+                            .then(Mono.empty());
+                });
+    }
+    
+    @Override
+    public Mono<Void> revokeAllForUser(Long userId) {
+        return refreshTokenRepository.revokeAllByUserId(userId).then();
+    }
+    
+    private Mono<String> create(Long userId, String email, String familyId) {
+        String tokenId = UUID.randomUUID().toString();
+        LocalDateTime expiresAt = LocalDateTime.now().plus(Duration.ofMillis(tokenProvider.getRefreshTokenExpirationInMs()));
+        
+        return refreshTokenRepository.insert(hash(tokenId), familyId, userId, expiresAt)
+                .then(Mono.fromCallable(() -> tokenProvider.generateRefreshToken(email, tokenId, familyId)));
+    }
+    
+    private static String hash(String tokenId) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(tokenId.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
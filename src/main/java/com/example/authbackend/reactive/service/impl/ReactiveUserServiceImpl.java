@@ -0,0 +1,135 @@
+package com.example.authbackend.reactive.service.impl;
+
+import com.example.authbackend.controller.UserController;
+import com.example.authbackend.dto.response.UserResponse;
+import com.example.authbackend.exception.UserNotFoundException;
+import com.example.authbackend.reactive.ReactiveAuthApplication;
+import com.example.authbackend.reactive.repository.ReactiveUserRepository;
+import com.example.authbackend.reactive.security.ReactivePasswordHasher;
+import com.example.authbackend.reactive.security.ReactiveTokenVersionCache;
+import com.example.authbackend.reactive.service.ReactiveRefreshTokenService;
+import com.example.authbackend.reactive.service.ReactiveUserService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive UserServiceImpl. The token version cache is evicted once the transaction has
+ * committed, like the servlet side's after-commit UserChangedEvent listener.
+ */
+@Service
+@Profile(ReactiveAuthApplication.PROFILE)
+public class ReactiveUserServiceImpl implements ReactiveUserService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveUserServiceImpl.class);
+    
+    @Autowired
+    private ReactiveUserRepository userRepository;
+    
+    @Autowired
+    private ReactivePasswordHasher passwordHasher;
+    
+    @Autowired
+    private ReactiveRefreshTokenService refreshTokenService;
+    
+    @Autowired
+    private ReactiveTokenVersionCache tokenVersionCache;
+    
+    @Autowired
+    private TransactionalOperator transactionalOperator;
+    
+    @Value("${app.users.page.max-size:100}")
+    private int maxPageSize;
+    
+    @Override
+    public Mono<UserResponse> getCurrentUser(String email) {
+        return userRepository.findByEmail(email)
+                .switchIfEmpty(Mono.error(() -> new UserNotFoundException("User not found with email: " + email)))
+                .map(ReactiveAuthServiceImpl::mapToUserResponse);
+    }
+    
+    @Override
+    public Mono<UserResponse> getUserById(Long id) {
+        return userRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new UserNotFoundException("User not found with id: " + id)))
+                .map(ReactiveAuthServiceImpl::mapToUserResponse);
+    }
+    
+    @Override
+    public Mono<Page<UserResponse>> getAllUsers(int page, int size) {
+        PageRequest pageRequest = PageRequest.of(Math.max(page, 0), Math.max(1, Math.min(size, maxPageSize)));
+        return Mono.zip(
+                        userRepository.findPage(pageRequest.getOffset(), pageRequest.getPageSize())
+                                .map(ReactiveAuthServiceImpl::mapToUserResponse)
+                                .collectList(),
+                        userRepository.count())
+                .map(result -> new PageImpl<>(result.getT1(), pageRequest, result.getT2()));
+    }
+    
+    @Override
+    public Mono<UserResponse> updateUser(Long id, UserController.UserUpdateRequest updateRequest) {
+        return transactionalOperator.transactional(
+                        userRepository.updateProfile(id, updateRequest.getFirstName(), updateRequest.getLastName(),
+                                        updateRequest.getImageUrl())
+                                .flatMap(updated -> updated == 0
+                                        ? Mono.error(new UserNotFoundException("User not found with id: " + id))
+                                        : userRepository.findById(id)))
+                .doOnNext(user -> logger.info("User {} updated successfully", user.email()))
+                .map(ReactiveAuthServiceImpl::mapToUserResponse);
+    }
+    
+    @Override
+    public Mono<Void> deleteUser(Long id) {
+        return userRepository.deleteById(id)
+                .flatMap(deleted -> deleted == 0
+                        ? Mono.<Void>error(new UserNotFoundException("User not found with id: " + id))
+                        : Mono.fromRunnable(() -> {
+                            tokenVersionCache.evict(id);
+                            logger.info("User {} deleted successfully", id);
+                        }));
+    }
+    
+    @Override
+    public Mono<Boolean> changePassword(String email, String oldPassword, String newPassword) {
+        return userRepository.findByEmail(email)
+                .switchIfEmpty(Mono.error(() -> new UserNotFoundException("User not found with email: " + email)))
+                .flatMap(user -> passwordHasher.matches(oldPassword, user.password())
+                        .flatMap(matches -> {
+                            if (!matches) {
+                                return Mono.just(false);
+                            }
+                            // Update password and invalidate every token issued with the old one
+                            return passwordHasher.encode(newPassword)
+                                    .flatMap(newHash -> transactionalOperator.transactional(
+                                            userRepository.changePassword(user.id(), newHash)
+                                                    .then(refreshTokenService.revokeAllForUser(user.id()))))
+                                    .then(Mono.fromRunnable(() -> {
+                                        tokenVersionCache.evict(user.id());
+                                        logger.info("Password changed successfully for user {}", email);
+                                    }))
+                                    .thenReturn(true);
+                        }));
+    }
+    
+    @Override
+    public Mono<Void> revokeAllTokens(Long id) {
+        // One update; the filter rejects older tokens once the cached version is evicted after commit
+        return transactionalOperator.transactional(
+                        userRepository.incrementTokenVersion(id)
+                                .flatMap(updated -> updated == 0
+                                        ? Mono.<Void>error(new UserNotFoundException("User not found with id: " + id))
+                                        : refreshTokenService.revokeAllForUser(id)))
+                .then(Mono.fromRunnable(() -> {
+                    tokenVersionCache.evict(id);
+                    logger.info("Revoked all tokens for user {}", id);
+                }));
+    }
+}
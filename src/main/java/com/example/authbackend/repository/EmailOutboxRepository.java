@@ -0,0 +1,55 @@
+package com.example.authbackend.repository;
+
+import com.example.authbackend.entity.EmailOutboxMessage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutboxMessage, Long> {
+    
+    // Rows locked by another node's claim are skipped rather than waited for; must run in a transaction
+    @Query(value = "SELECT * FROM email_outbox WHERE status = 'PENDING' AND next_attempt_at <= :now "
+            + "ORDER BY next_attempt_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<EmailOutboxMessage> findDueForUpdate(LocalDateTime now, int limit);
+    
+    @Modifying
+    @Transactional
+    @Query("UPDATE EmailOutboxMessage m SET m.status = com.example.authbackend.entity.EmailOutboxStatus.SENT, "
+            + "m.sentAt = :now, m.token = NULL, m.lastError = NULL WHERE m.id = :id")
+    int markSent(Long id, LocalDateTime now);
+    
+    @Modifying
+    @Transactional
+    @Query("UPDATE EmailOutboxMessage m SET m.nextAttemptAt = :nextAttemptAt, m.lastError = :error WHERE m.id = :id")
+    int scheduleRetry(Long id, LocalDateTime nextAttemptAt, String error);
+    
+    // Hands a claimed row back without counting the attempt, for sends that never started
+    @Modifying
+    @Transactional
+    @Query("UPDATE EmailOutboxMessage m SET m.nextAttemptAt = :now, m.attempts = m.attempts - 1 "
+            + "WHERE m.id = :id AND m.attempts > 0")
+    int releaseClaim(Long id, LocalDateTime now);
+    
+    @Modifying
+    @Transactional
+    @Query("UPDATE EmailOutboxMessage m SET m.status = com.example.authbackend.entity.EmailOutboxStatus.FAILED, "
+            + "m.lastError = :error WHERE m.id = :id")
+    int markFailed(Long id, String error);
+    
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM EmailOutboxMessage m WHERE m.status <> com.example.authbackend.entity.EmailOutboxStatus.PENDING "
+            + "AND m.createdAt < :cutoff")
+    int deleteFinishedBefore(LocalDateTime cutoff);
+    
+    @Modifying
+    @Query("DELETE FROM EmailOutboxMessage m WHERE m.userId IN :userIds")
+    int deleteByUserIdIn(Collection<Long> userIds);
+}
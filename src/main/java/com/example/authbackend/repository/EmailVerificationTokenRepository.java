@@ -9,6 +9,7 @@ import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.Optional;
 
 @Repository
@@ -23,5 +24,16 @@ public interface EmailVerificationTokenRepository extends JpaRepository<EmailVer
     @Query("DELETE FROM EmailVerificationToken e WHERE e.expiryDate < :now")
     void deleteExpiredTokens(LocalDateTime now);
     
+    // One bounded chunk per call, so a large backlog never becomes one long transaction
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM email_verification_tokens WHERE id IN "
+            + "(SELECT id FROM email_verification_tokens WHERE expiry_date < :now LIMIT :limit)", nativeQuery = true)
+    int deleteExpiredChunk(LocalDateTime now, int limit);
+    
+    @Modifying
+    @Query("DELETE FROM EmailVerificationToken e WHERE e.user.id IN :userIds")
+    int deleteByUserIdIn(Collection<Long> userIds);
+    
     void deleteByUser(User user);
 }
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.example.authbackend.repository;
+
+import com.example.authbackend.entity.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+    
+    // Claims the token in one indexed statement; 0 rows means unknown, expired, revoked or already used
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.usedAt = :now WHERE r.tokenHash = :tokenHash AND r.familyId = :familyId "
+            + "AND r.usedAt IS NULL AND r.revoked = false AND r.expiresAt > :now")
+    int markUsed(String tokenHash, String familyId, LocalDateTime now);
+    
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.revoked = true WHERE r.familyId = :familyId AND r.revoked = false")
+    int revokeFamily(String familyId);
+    
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.revoked = true WHERE r.user.id = :userId AND r.revoked = false")
+    int revokeAllByUserId(Long userId);
+    
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RefreshToken r WHERE r.expiresAt < :now")
+    int deleteExpired(LocalDateTime now);
+    
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.user.id IN :userIds")
+    int deleteByUserIdIn(Collection<Long> userIds);
+}
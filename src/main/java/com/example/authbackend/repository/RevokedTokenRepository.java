@@ -0,0 +1,31 @@
+package com.example.authbackend.repository;
+
+import com.example.authbackend.entity.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+    
+    // Idempotent so a repeated logout with the same token is a no-op
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO revoked_tokens (jti, expires_at, revoked_at) VALUES (:jti, :expiresAt, :revokedAt) "
+            + "ON CONFLICT (jti) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(String jti, LocalDateTime expiresAt, LocalDateTime revokedAt);
+    
+    List<RevokedToken> findByExpiresAtAfter(LocalDateTime now);
+    
+    List<RevokedToken> findByRevokedAtAfterAndExpiresAtAfter(LocalDateTime since, LocalDateTime now);
+    
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RevokedToken r WHERE r.expiresAt < :now")
+    int deleteExpired(LocalDateTime now);
+}
@@ -0,0 +1,23 @@
+package com.example.authbackend.repository;
+
+import com.example.authbackend.entity.SchedulerLock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface SchedulerLockRepository extends JpaRepository<SchedulerLock, String> {
+    
+    // Takes the lock if it has expired, or extends it if we already hold it; 0 rows means another node has it
+    @Modifying
+    @Query("UPDATE SchedulerLock l SET l.lockedBy = :owner, l.lockedAt = :now, l.lockedUntil = :until "
+            + "WHERE l.name = :name AND (l.lockedUntil <= :now OR l.lockedBy = :owner)")
+    int tryAcquire(String name, String owner, LocalDateTime now, LocalDateTime until);
+    
+    @Modifying
+    @Query("UPDATE SchedulerLock l SET l.lockedUntil = :now WHERE l.name = :name AND l.lockedBy = :owner")
+    int release(String name, String owner, LocalDateTime now);
+}
@@ -0,0 +1,98 @@
+package com.example.authbackend.repository;
+
+import com.example.authbackend.dto.request.UserExportFilter;
+import com.example.authbackend.dto.response.UserResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Reads users for export over a forward-only cursor. Rows are fetched {@code fetch-size} at a
+ * time and mapped one by one, so memory does not grow with the table. Roles come from a
+ * correlated subquery on the user_roles primary key rather than a GROUP BY, which would make
+ * the database aggregate the whole result before returning the first row.
+ */
+@Repository
+public class UserExportRepository {
+    
+    private static final String SELECT_USERS = """
+            SELECT u.id, u.first_name, u.last_name, u.email, u.email_verified, u.provider, u.image_url, u.created_at,
+                   ARRAY(SELECT r.name FROM user_roles ur JOIN roles r ON r.id = ur.role_id
+                         WHERE ur.user_id = u.id) AS roles
+            FROM users u
+            WHERE 1 = 1""";
+    
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    
+    public UserExportRepository(DataSource dataSource,
+                                @Value("${app.users.export.fetch-size:500}") int fetchSize) {
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.setFetchSize(fetchSize);
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(template);
+    }
+    
+    /**
+     * Must be called inside a transaction and the stream closed by the caller: PostgreSQL only
+     * honours the fetch size with auto-commit off, and the stream holds the connection until closed.
+     */
+    public Stream<UserResponse> streamUsers(UserExportFilter filter) {
+        StringBuilder sql = new StringBuilder(SELECT_USERS);
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        if (filter.provider() != null) {
+            sql.append(" AND u.provider = :provider");
+            params.addValue("provider", filter.provider().name());
+        }
+        if (filter.emailVerified() != null) {
+            sql.append(" AND u.email_verified = :emailVerified");
+            params.addValue("emailVerified", filter.emailVerified());
+        }
+        if (filter.createdFrom() != null) {
+            sql.append(" AND u.created_at >= :createdFrom");
+            params.addValue("createdFrom", Timestamp.valueOf(filter.createdFrom()));
+        }
+        if (filter.createdTo() != null) {
+            sql.append(" AND u.created_at < :createdTo");
+            params.addValue("createdTo", Timestamp.valueOf(filter.createdTo()));
+        }
+        sql.append(" ORDER BY u.id");
+        
+        return jdbcTemplate.queryForStream(sql.toString(), params, (rs, rowNum) -> mapRow(rs));
+    }
+    
+    private static UserResponse mapRow(ResultSet rs) throws SQLException {
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        return new UserResponse(
+            rs.getLong("id"),
+            rs.getString("first_name"),
+            rs.getString("last_name"),
+            rs.getString("email"),
+            rs.getBoolean("email_verified"),
+            rs.getString("provider"),
+            rs.getString("image_url"),
+            createdAt != null ? createdAt.toLocalDateTime() : null,
+            roles(rs.getArray("roles"))
+        );
+    }
+    
+    private static Set<String> roles(Array array) throws SQLException {
+        Set<String> roles = new HashSet<>();
+        if (array != null) {
+            for (Object name : (Object[]) array.getArray()) {
+                roles.add(String.valueOf(name));
+            }
+            array.free();
+        }
+        return roles;
+    }
+}
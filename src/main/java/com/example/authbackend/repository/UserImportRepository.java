@@ -0,0 +1,89 @@
+package com.example.authbackend.repository;
+
+import com.example.authbackend.entity.AuthProvider;
+import com.example.authbackend.entity.User;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Plain JDBC writes for the bulk importer. Inserts go out as JDBC batches (add
+ * {@code reWriteBatchedInserts=true} to the PostgreSQL URL to turn each batch into multi-row
+ * INSERTs) and ids come from the same pooled sequence Hibernate uses for {@link User}.
+ */
+@Repository
+public class UserImportRepository {
+    
+    // updated_at is the import time, so AccountPurgeJob treats unverified imports as fresh whatever their created_at
+    private static final String INSERT_USER = "INSERT INTO users (id, first_name, last_name, email, password, "
+            + "email_verified, provider, created_at, updated_at, token_version) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+    
+    private static final String INSERT_USER_ROLE = "INSERT INTO user_roles (user_id, role_id) VALUES (?, ?)";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    
+    public UserImportRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+    
+    public record NewUser(long id,
+                          String firstName,
+                          String lastName,
+                          String email,
+                          String passwordHash,
+                          boolean emailVerified,
+                          LocalDateTime createdAt,
+                          Collection<Long> roleIds) {
+    }
+    
+    public Set<String> findExistingEmails(Collection<String> emails) {
+        if (emails.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(namedJdbcTemplate.queryForList("SELECT email FROM users WHERE email IN (:emails)",
+                Map.of("emails", emails), String.class));
+    }
+    
+    /**
+     * Each nextval reserves the block of {@link User#ID_ALLOCATION_SIZE} ids ending at the
+     * returned value, exactly as Hibernate's pooled optimizer does, so both can draw from the
+     * sequence at once without handing out the same id.
+     */
+    public List<Long> allocateIds(int count) {
+        List<Long> ids = new ArrayList<>(count);
+        while (ids.size() < count) {
+            long hi = jdbcTemplate.queryForObject("SELECT nextval('" + User.ID_SEQUENCE + "')", Long.class);
+            for (long id = Math.max(1, hi - User.ID_ALLOCATION_SIZE + 1); id <= hi && ids.size() < count; id++) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+    
+    public void insertAll(List<NewUser> users) {
+        List<Object[]> userRows = new ArrayList<>(users.size());
+        List<Object[]> roleRows = new ArrayList<>(users.size());
+        Timestamp importedAt = Timestamp.valueOf(LocalDateTime.now());
+        for (NewUser user : users) {
+            Timestamp createdAt = Timestamp.valueOf(user.createdAt());
+            userRows.add(new Object[] {user.id(), user.firstName(), user.lastName(), user.email(),
+                    user.passwordHash(), user.emailVerified(), AuthProvider.LOCAL.name(), createdAt, importedAt});
+            for (Long roleId : user.roleIds()) {
+                roleRows.add(new Object[] {user.id(), roleId});
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_USER, userRows);
+        jdbcTemplate.batchUpdate(INSERT_USER_ROLE, roleRows);
+    }
+}
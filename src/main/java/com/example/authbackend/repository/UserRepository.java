@@ -2,16 +2,30 @@ package com.example.authbackend.repository;
 
 import com.example.authbackend.entity.User;
 import com.example.authbackend.entity.AuthProvider;
+import com.example.authbackend.repository.projection.UserRoleName;
+import com.example.authbackend.repository.projection.UserSummary;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     
+    String USER_SUMMARY = "SELECT new com.example.authbackend.repository.projection.UserSummary("
+            + "u.id, u.firstName, u.lastName, u.email, u.emailVerified, u.provider, u.imageUrl, u.createdAt) "
+            + "FROM User u";
+    
     Optional<User> findByEmail(String email);
     
     Boolean existsByEmail(String email);
@@ -24,4 +38,53 @@ public interface UserRepository extends JpaRepository<User, Long> {
     
     @Query("SELECT u FROM User u LEFT JOIN FETCH u.roles WHERE u.id = :id")
     Optional<User> findByIdWithRoles(@Param("id") Long id);
+    
+    // Read paths project straight into UserSummary; roles come from findRoleNamesByUserIdIn
+    @Query(value = USER_SUMMARY, countQuery = "SELECT COUNT(u) FROM User u")
+    Page<UserSummary> findAllSummaries(Pageable pageable);
+    
+    // Keyset page over the primary key in descending id order: an index range scan however deep the page is.
+    // Ids come from a pooled sequence, so this is not strictly creation order across nodes
+    @Query(USER_SUMMARY + " WHERE u.id < :beforeId ORDER BY u.id DESC")
+    List<UserSummary> findSummariesBefore(@Param("beforeId") Long beforeId, Limit limit);
+    
+    @Query(USER_SUMMARY + " WHERE u.id = :id")
+    Optional<UserSummary> findSummaryById(@Param("id") Long id);
+    
+    @Query(USER_SUMMARY + " WHERE u.email = :email")
+    Optional<UserSummary> findSummaryByEmail(@Param("email") String email);
+    
+    @Query("SELECT new com.example.authbackend.repository.projection.UserRoleName(u.id, r.name) "
+            + "FROM User u JOIN u.roles r WHERE u.id IN :userIds")
+    List<UserRoleName> findRoleNamesByUserIdIn(@Param("userIds") Collection<Long> userIds);
+    
+    @Query("SELECT u.tokenVersion FROM User u WHERE u.id = :id")
+    Optional<Integer> findTokenVersionById(@Param("id") Long id);
+    
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.password = :password WHERE u.email = :email")
+    int updatePassword(@Param("email") String email, @Param("password") String password);
+    
+    @Modifying
+    @Query("UPDATE User u SET u.tokenVersion = u.tokenVersion + 1 WHERE u.id = :id")
+    int incrementTokenVersion(@Param("id") Long id);
+    
+    // Never-verified local sign-ups untouched since the cutoff and holding no live verification link
+    // (a resend only replaces the token); rows being changed right now are skipped. Login and refresh
+    // never touch updated_at, which is safe only because unverified accounts cannot sign in (User.isEnabled)
+    @Query(value = "SELECT id FROM users WHERE email_verified = FALSE AND provider = 'LOCAL' "
+            + "AND created_at < :cutoff AND updated_at < :cutoff "
+            + "AND NOT EXISTS (SELECT 1 FROM email_verification_tokens t WHERE t.user_id = users.id AND t.expiry_date > :now) "
+            + "LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> findStaleUnverifiedIdsForUpdate(@Param("cutoff") LocalDateTime cutoff, @Param("now") LocalDateTime now,
+                                               @Param("limit") int limit);
+    
+    @Modifying
+    @Query(value = "DELETE FROM user_roles WHERE user_id IN (:userIds)", nativeQuery = true)
+    int deleteRolesByUserIdIn(@Param("userIds") Collection<Long> userIds);
+    
+    @Modifying
+    @Query("DELETE FROM User u WHERE u.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
@@ -0,0 +1,9 @@
+package com.example.authbackend.repository.projection;
+
+import com.example.authbackend.entity.RoleName;
+
+/**
+ * One user_roles row resolved to the role name, for loading the roles of a whole page at once.
+ */
+public record UserRoleName(Long userId, RoleName role) {
+}
@@ -0,0 +1,19 @@
+package com.example.authbackend.repository.projection;
+
+import com.example.authbackend.entity.AuthProvider;
+
+import java.time.LocalDateTime;
+
+/**
+ * The users columns a {@code UserResponse} needs, read with a JPQL constructor expression so
+ * listings never hydrate {@code User} entities or touch their lazy roles.
+ */
+public record UserSummary(Long id,
+                          String firstName,
+                          String lastName,
+                          String email,
+                          Boolean emailVerified,
+                          AuthProvider provider,
+                          String imageUrl,
+                          LocalDateTime createdAt) {
+}
@@ -4,31 +4,51 @@ import com.example.authbackend.entity.User;
 import com.example.authbackend.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
     
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+    
+    // Password authentication always reads the current hash from the database, never the cache
     @Override
-    @Transactional
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        User user = userRepository.findByEmail(email)
+        User user = userRepository.findByEmailWithRoles(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
         
-        return user;
+        return UserPrincipal.create(user);
     }
     
-    @Transactional
-    public UserDetails loadUserById(Long id) {
-        User user = userRepository.findById(id)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with id: " + id));
+    // For requests already authenticated by a JWT; cached snapshots are detached UserPrincipals,
+    // never the JPA entity with its lazy roles
+    public UserDetails loadCachedUserByUsername(String email) {
+        return userDetailsCache.getByEmail(email, key -> (UserPrincipal) loadUserByUsername(key));
+    }
+    
+    // Same password, new hash: token version and refresh tokens are deliberately left alone
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.updatePassword(user.getUsername(), newPassword);
         
-        return user;
+        UserPrincipal principal = (UserPrincipal) user;
+        userDetailsCache.evict(principal.getId(), principal.getEmail());
+        return principal.withPassword(newPassword);
+    }
+    
+    public UserDetails loadUserById(Long id) {
+        return userDetailsCache.getById(id, key -> {
+            User user = userRepository.findByIdWithRoles(key)
+                    .orElseThrow(() -> new UsernameNotFoundException("User not found with id: " + key));
+            
+            return UserPrincipal.create(user);
+        });
     }
-}
\ No newline at end of file
+}
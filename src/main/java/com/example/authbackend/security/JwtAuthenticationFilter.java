@@ -7,6 +7,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -24,11 +25,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
     
     @Autowired
-    private JwtTokenProvider tokenProvider;
+    private VerifiedTokenCache verifiedTokenCache;
+    
+    @Autowired
+    private TokenRevocationStore tokenRevocationStore;
+    
+    @Autowired
+    private TokenVersionCache tokenVersionCache;
     
     @Autowired
     private CustomUserDetailsService customUserDetailsService;
     
+    // When enabled, principals are rebuilt from token claims instead of loaded from the database
+    @Value("${app.jwt.stateless-authentication:false}")
+    private boolean statelessAuthentication;
+    
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request, 
                                   @NonNull HttpServletResponse response, 
@@ -36,10 +47,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = getJwtFromRequest(request);
             
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String username = tokenProvider.getUsernameFromToken(jwt);
+            VerifiedToken verifiedToken = StringUtils.hasText(jwt)
+                    ? verifiedTokenCache.verify(jwt).orElse(null)
+                    : null;
+            
+            if (verifiedToken != null
+                    && !tokenRevocationStore.isRevoked(verifiedToken.getTokenId())
+                    && tokenVersionCache.isCurrent(verifiedToken)) {
+                UserDetails userDetails = statelessAuthentication && verifiedToken.hasPrincipalClaims()
+                        ? UserPrincipal.fromToken(verifiedToken)
+                        : customUserDetailsService.loadCachedUserByUsername(verifiedToken.getSubject());
                 
-                UserDetails userDetails = customUserDetailsService.loadUserByUsername(username);
                 UsernamePasswordAuthenticationToken authentication = 
                     new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
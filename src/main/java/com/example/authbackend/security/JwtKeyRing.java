@@ -0,0 +1,264 @@
+package com.example.authbackend.security;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.crypto.SecretKey;
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Signing and verification keys for JWTs.
+ *
+ * <p>Verification keys are held in an immutable map keyed by {@code kid} that is swapped
+ * atomically on rotation, so lookups on the request path are a single lock-free hash lookup.
+ */
+public class JwtKeyRing {
+    
+    private static final Logger logger = LoggerFactory.getLogger(JwtKeyRing.class);
+    
+    private final SignatureAlgorithm algorithm;
+    private final SecretKey hmacKey;
+    private final boolean acceptHmacTokens;
+    private final boolean generated;
+    private final Duration rotationInterval;
+    private final Duration retention;
+    private final Clock clock;
+    
+    // Sorted by activation time; only touched under the instance lock
+    private final List<KeyEntry> entries = new ArrayList<>();
+    
+    private volatile KeyEntry active;
+    private volatile Map<String, Key> verificationKeys = Map.of();
+    private volatile Map<String, Object> jwks = Map.of("keys", List.of());
+    
+    /**
+     * @param retention how long a superseded generated key keeps verifying; at least the longest token lifetime
+     */
+    public JwtKeyRing(JwtSigningProperties properties, SecretKey hmacKey, Duration retention, Clock clock) {
+        this.algorithm = SignatureAlgorithm.forName(properties.getAlgorithm());
+        this.hmacKey = hmacKey;
+        this.retention = retention;
+        this.clock = clock;
+        this.rotationInterval = properties.getRotationInterval();
+        
+        if (algorithm == SignatureAlgorithm.HS256) {
+            this.acceptHmacTokens = true;
+            this.generated = false;
+            return;
+        }
+        if (!algorithm.isEllipticCurve() && !algorithm.isRsa()) {
+            throw new IllegalStateException("Unsupported JWT signing algorithm: " + algorithm.getValue());
+        }
+        
+        this.acceptHmacTokens = properties.isAcceptHmacTokens();
+        this.generated = properties.getKeys().isEmpty();
+        
+        Instant now = clock.instant();
+        if (generated) {
+            logger.warn("No JWT signing keys configured; generated an in-memory {} key. "
+                    + "Tokens will only verify on this node and become invalid on restart.", algorithm.getValue());
+            entries.add(generateKey(now));
+        } else {
+            for (JwtSigningProperties.Key key : properties.getKeys()) {
+                entries.add(loadKey(key));
+            }
+            entries.sort(Comparator.comparing(KeyEntry::activateAt));
+        }
+        rotate();
+    }
+    
+    public boolean isAsymmetric() {
+        return algorithm != SignatureAlgorithm.HS256;
+    }
+    
+    public SignatureAlgorithm getSignatureAlgorithm() {
+        return algorithm;
+    }
+    
+    /**
+     * Key id for the kid header of new tokens; null when signing with the shared HMAC secret.
+     */
+    public String getActiveKeyId() {
+        return isAsymmetric() ? active.kid() : null;
+    }
+    
+    public Key getActiveSigningKey() {
+        return isAsymmetric() ? active.privateKey() : hmacKey;
+    }
+    
+    /**
+     * Sets the kid header and signing key from one snapshot so a concurrent rotation cannot mix them.
+     */
+    public JwtBuilder signWithActiveKey(JwtBuilder builder) {
+        if (!isAsymmetric()) {
+            return builder.signWith(hmacKey, algorithm);
+        }
+        KeyEntry current = active;
+        return builder
+                .setHeaderParam(JwsHeader.KEY_ID, current.kid())
+                .signWith(current.privateKey(), algorithm);
+    }
+    
+    public Key resolveVerificationKey(String kid) {
+        if (kid == null) {
+            if (acceptHmacTokens) {
+                return hmacKey;
+            }
+            throw new SignatureException("JWT is missing the kid header");
+        }
+        Key key = verificationKeys.get(kid);
+        if (key == null) {
+            throw new SignatureException("Unknown JWT signing key: " + kid);
+        }
+        return key;
+    }
+    
+    /**
+     * Public keys in JWK Set format, including keys that are published ahead of activation.
+     */
+    public Map<String, Object> getJwks() {
+        return jwks;
+    }
+    
+    /**
+     * Selects the signing key for the current time, creates the next generated key when rotation
+     * is due and drops generated keys that no unexpired token can reference any more.
+     */
+    public synchronized void rotate() {
+        if (!isAsymmetric()) {
+            return;
+        }
+        Instant now = clock.instant();
+        
+        if (generated && !rotationInterval.isZero() && entries.get(entries.size() - 1).activateAt().compareTo(now) <= 0) {
+            // Publish the successor one full interval before it starts signing so verifiers can fetch it in time
+            Instant nextActivation = entries.get(entries.size() - 1).activateAt().plus(rotationInterval);
+            entries.add(generateKey(nextActivation.isAfter(now) ? nextActivation : now.plus(rotationInterval)));
+        }
+        
+        KeyEntry selected = entries.get(0);
+        for (KeyEntry entry : entries) {
+            if (entry.activateAt().compareTo(now) <= 0 && entry.privateKey() != null) {
+                selected = entry;
+            }
+        }
+        if (selected.privateKey() == null) {
+            throw new IllegalStateException("No active JWT signing key has a private key");
+        }
+        if (active != selected) {
+            logger.info("JWT signing key is now {}", selected.kid());
+        }
+        active = selected;
+        
+        if (generated) {
+            // A key superseded at time T can only be referenced by tokens minted before T
+            for (int i = entries.size() - 2; i >= 0; i--) {
+                Instant supersededAt = entries.get(i + 1).activateAt();
+                if (entries.get(i) != active && supersededAt.plus(retention).isBefore(now)) {
+                    logger.info("Dropping retired JWT signing key {}", entries.get(i).kid());
+                    entries.remove(i);
+                }
+            }
+        }
+        
+        Map<String, Key> keys = new HashMap<>();
+        List<Map<String, Object>> published = new ArrayList<>();
+        for (KeyEntry entry : entries) {
+            keys.put(entry.kid(), entry.publicKey());
+            published.add(toJwk(entry));
+        }
+        verificationKeys = Map.copyOf(keys);
+        jwks = Map.of("keys", List.copyOf(published));
+    }
+    
+    private KeyEntry generateKey(Instant activateAt) {
+        KeyPair keyPair = Keys.keyPairFor(algorithm);
+        return new KeyEntry(UUID.randomUUID().toString(), keyPair.getPrivate(), keyPair.getPublic(), activateAt);
+    }
+    
+    private KeyEntry loadKey(JwtSigningProperties.Key key) {
+        if (key.getKid() == null || key.getPublicKey() == null) {
+            throw new IllegalStateException("Every configured JWT signing key needs a kid and a public-key");
+        }
+        try {
+            KeyFactory keyFactory = KeyFactory.getInstance(algorithm.isRsa() ? "RSA" : "EC");
+            PublicKey publicKey = keyFactory.generatePublic(new X509EncodedKeySpec(decodePem(key.getPublicKey())));
+            PrivateKey privateKey = key.getPrivateKey() == null
+                    ? null
+                    : keyFactory.generatePrivate(new PKCS8EncodedKeySpec(decodePem(key.getPrivateKey())));
+            Instant activateAt = key.getActivateAt() != null ? key.getActivateAt() : Instant.EPOCH;
+            return new KeyEntry(key.getKid(), privateKey, publicKey, activateAt);
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("Invalid JWT signing key " + key.getKid(), e);
+        }
+    }
+    
+    private static byte[] decodePem(String pem) {
+        String base64 = pem.replaceAll("-----(BEGIN|END) [A-Z ]+-----", "").replaceAll("\\s", "");
+        return Base64.getDecoder().decode(base64);
+    }
+    
+    private Map<String, Object> toJwk(KeyEntry entry) {
+        Map<String, Object> jwk = new LinkedHashMap<>();
+        jwk.put("kid", entry.kid());
+        jwk.put("use", "sig");
+        jwk.put("alg", algorithm.getValue());
+        
+        if (entry.publicKey() instanceof ECPublicKey ecKey) {
+            int size = (ecKey.getParams().getCurve().getField().getFieldSize() + 7) / 8;
+            jwk.put("kty", "EC");
+            jwk.put("crv", "P-" + ecKey.getParams().getCurve().getField().getFieldSize());
+            jwk.put("x", base64Url(ecKey.getW().getAffineX(), size));
+            jwk.put("y", base64Url(ecKey.getW().getAffineY(), size));
+        } else if (entry.publicKey() instanceof RSAPublicKey rsaKey) {
+            jwk.put("kty", "RSA");
+            jwk.put("n", base64Url(rsaKey.getModulus(), 0));
+            jwk.put("e", base64Url(rsaKey.getPublicExponent(), 0));
+        }
+        return jwk;
+    }
+    
+    // Unsigned big-endian encoding, left-padded to the given length when one is required
+    private static String base64Url(BigInteger value, int length) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        if (bytes.length < length) {
+            byte[] padded = new byte[length];
+            System.arraycopy(bytes, 0, padded, length - bytes.length, bytes.length);
+            bytes = padded;
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+    
+    private record KeyEntry(String kid, PrivateKey privateKey, PublicKey publicKey, Instant activateAt) {
+    }
+}
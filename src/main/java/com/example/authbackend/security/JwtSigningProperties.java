@@ -0,0 +1,109 @@
+package com.example.authbackend.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Signing configuration for access and refresh tokens.
+ *
+ * <p>With {@code algorithm = HS256} tokens are signed with {@code app.jwt.secret} as before.
+ * With ES256 or RS256 tokens carry a {@code kid} header and the public keys are published at
+ * {@code /.well-known/jwks.json}. Keys are either listed under {@code keys} (shared by every node,
+ * rotated by {@code activate-at}) or generated in memory at startup and rotated every
+ * {@code rotation-interval} (single node only).
+ */
+@ConfigurationProperties(prefix = "app.jwt.signing")
+public class JwtSigningProperties {
+    
+    private String algorithm = "HS256";
+    
+    // Generated keys only: how long a key signs before its successor takes over; zero disables rotation
+    private Duration rotationInterval = Duration.ZERO;
+    
+    // Keep accepting kid-less HS256 tokens after switching to an asymmetric algorithm
+    private boolean acceptHmacTokens = false;
+    
+    private List<Key> keys = new ArrayList<>();
+    
+    public String getAlgorithm() {
+        return algorithm;
+    }
+    
+    public void setAlgorithm(String algorithm) {
+        this.algorithm = algorithm;
+    }
+    
+    public Duration getRotationInterval() {
+        return rotationInterval;
+    }
+    
+    public void setRotationInterval(Duration rotationInterval) {
+        this.rotationInterval = rotationInterval;
+    }
+    
+    public boolean isAcceptHmacTokens() {
+        return acceptHmacTokens;
+    }
+    
+    public void setAcceptHmacTokens(boolean acceptHmacTokens) {
+        this.acceptHmacTokens = acceptHmacTokens;
+    }
+    
+    public List<Key> getKeys() {
+        return keys;
+    }
+    
+    public void setKeys(List<Key> keys) {
+        this.keys = keys;
+    }
+    
+    public static class Key {
+        
+        private String kid;
+        
+        // PEM encoded PKCS#8 private key; may be omitted for verify-only keys
+        private String privateKey;
+        
+        // PEM encoded X.509 SubjectPublicKeyInfo
+        private String publicKey;
+        
+        // The key with the latest activate-at in the past signs new tokens
+        private Instant activateAt;
+        
+        public String getKid() {
+            return kid;
+        }
+        
+        public void setKid(String kid) {
+            this.kid = kid;
+        }
+        
+        public String getPrivateKey() {
+            return privateKey;
+        }
+        
+        public void setPrivateKey(String privateKey) {
+            this.privateKey = privateKey;
+        }
+        
+        public String getPublicKey() {
+            return publicKey;
+        }
+        
+        public void setPublicKey(String publicKey) {
+            this.publicKey = publicKey;
+        }
+        
+        public Instant getActivateAt() {
+            return activateAt;
+        }
+        
+        public void setActivateAt(Instant activateAt) {
+            this.activateAt = activateAt;
+        }
+    }
+}
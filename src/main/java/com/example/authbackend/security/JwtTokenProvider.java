@@ -1,23 +1,43 @@
 package com.example.authbackend.security;
 
+import com.example.authbackend.entity.User;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SecurityException;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
 
 @Component  // Make sure this annotation is present
 public class JwtTokenProvider {
     
     private static final Logger logger = LoggerFactory.getLogger(JwtTokenProvider.class);
     
+    public static final String CLAIM_TYPE = "type";
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLES = "roles";
+    public static final String CLAIM_ENABLED = "enabled";
+    public static final String CLAIM_FAMILY = "fam";
+    public static final String CLAIM_TOKEN_VERSION = "ver";
+    
     @Value("${app.jwt.secret}")
     private String jwtSecret;
     
@@ -27,56 +47,135 @@ public class JwtTokenProvider {
     @Value("${app.jwt.refresh-expiration}")
     private int refreshTokenExpirationInMs;
     
-    private SecretKey getSigningKey() {
+    // Optional so the provider can be built by hand; defaults to HS256 with app.jwt.secret
+    @Autowired(required = false)
+    private JwtSigningProperties signingProperties;
+    
+    // Built once at startup; both are thread-safe and the parser resolves keys by kid
+    private JwtKeyRing keyRing;
+    private JwtParser jwtParser;
+    
+    @PostConstruct
+    public void init() {
         byte[] keyBytes = jwtSecret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+        SecretKey hmacKey = Keys.hmacShaKeyFor(keyBytes);
+        JwtSigningProperties properties = signingProperties != null ? signingProperties : new JwtSigningProperties();
+        Duration longestTokenLifetime = Duration.ofMillis(Math.max(jwtExpirationInMs, refreshTokenExpirationInMs));
+        
+        this.keyRing = new JwtKeyRing(properties, hmacKey, longestTokenLifetime, Clock.systemUTC());
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        return keyRing.resolveVerificationKey(header.getKeyId());
+                    }
+                })
+                .build();
+    }
+    
+    public JwtKeyRing getKeyRing() {
+        return keyRing;
+    }
+    
+    // Activates scheduled signing keys and creates/retires generated ones
+    @Scheduled(fixedDelayString = "${app.jwt.signing.rotation-check-interval:PT1M}")
+    public void rotateSigningKeys() {
+        keyRing.rotate();
     }
     
     public String generateToken(Authentication authentication) {
         UserDetails userPrincipal = (UserDetails) authentication.getPrincipal();
-        return generateTokenFromUsername(userPrincipal.getUsername());
+        return generateToken(userPrincipal);
+    }
+    
+    /**
+     * Access token carrying the user id, token version, roles and enabled flag so the request filter
+     * can rebuild the principal without a database lookup.
+     */
+    public String generateToken(UserDetails userDetails) {
+        Date expiryDate = new Date(System.currentTimeMillis() + jwtExpirationInMs);
+        
+        List<String> roles = userDetails.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .map(authority -> authority.startsWith("ROLE_") ? authority.substring(5) : authority)
+                .toList();
+        
+        JwtBuilder builder = newBuilder()
+                .setSubject(userDetails.getUsername())
+                .setIssuedAt(new Date())
+                .setExpiration(expiryDate)
+                .claim(CLAIM_ROLES, roles)
+                .claim(CLAIM_ENABLED, userDetails.isEnabled());
+        
+        Long userId = resolveUserId(userDetails);
+        if (userId != null) {
+            builder.claim(CLAIM_USER_ID, userId);
+            builder.claim(CLAIM_TOKEN_VERSION, resolveTokenVersion(userDetails));
+        }
+        
+        return builder.compact();
     }
     
     public String generateTokenFromUsername(String username) {
         Date expiryDate = new Date(System.currentTimeMillis() + jwtExpirationInMs);
         
-        return Jwts.builder()
+        return newBuilder()
                 .setSubject(username)
                 .setIssuedAt(new Date())
                 .setExpiration(expiryDate)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
                 .compact();
     }
     
     public String generateRefreshToken(String username) {
         Date expiryDate = new Date(System.currentTimeMillis() + refreshTokenExpirationInMs);
         
-        return Jwts.builder()
+        return newBuilder()
                 .setSubject(username)
                 .setIssuedAt(new Date())
                 .setExpiration(expiryDate)
-                .claim("type", "refresh")
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .claim(CLAIM_TYPE, VerifiedToken.TYPE_REFRESH)
                 .compact();
     }
     
-    public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    /**
+     * Refresh token tracked in the refresh_tokens table under the given jti and family.
+     */
+    public String generateRefreshToken(String username, String tokenId, String familyId) {
+        Date expiryDate = new Date(System.currentTimeMillis() + refreshTokenExpirationInMs);
         
-        return claims.getSubject();
+        return newBuilder()
+                .setId(tokenId)
+                .setSubject(username)
+                .setIssuedAt(new Date())
+                .setExpiration(expiryDate)
+                .claim(CLAIM_TYPE, VerifiedToken.TYPE_REFRESH)
+                .claim(CLAIM_FAMILY, familyId)
+                .compact();
     }
     
-    public boolean validateToken(String authToken) {
+    public long getRefreshTokenExpirationInMs() {
+        return refreshTokenExpirationInMs;
+    }
+    
+    /**
+     * Verifies the signature and expiry of the token exactly once and returns its claims.
+     * Returns an empty Optional for any token that does not verify.
+     */
+    public Optional<VerifiedToken> verifyToken(String token) {
         try {
-            Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(authToken);
-            return true;
+            Claims claims = jwtParser.parseClaimsJws(token).getBody();
+            return Optional.of(new VerifiedToken(
+                    claims.getSubject(),
+                    claims.getId(),
+                    claims.get(CLAIM_FAMILY, String.class),
+                    claims.get(CLAIM_TYPE, String.class),
+                    claims.getExpiration(),
+                    claims.getIssuedAt(),
+                    getUserIdClaim(claims),
+                    getRolesClaim(claims),
+                    claims.get(CLAIM_ENABLED, Boolean.class),
+                    getTokenVersionClaim(claims)
+            ));
         } catch (SecurityException ex) {
             logger.error("Invalid JWT signature");
         } catch (MalformedJwtException ex) {
@@ -87,31 +186,73 @@ public class JwtTokenProvider {
             logger.error("Unsupported JWT token");
         } catch (IllegalArgumentException ex) {
             logger.error("JWT claims string is empty");
+        } catch (JwtException ex) {
+            logger.error("Invalid JWT: {}", ex.getMessage());
         }
-        return false;
+        return Optional.empty();
+    }
+    
+    public String getUsernameFromToken(String token) {
+        return jwtParser.parseClaimsJws(token).getBody().getSubject();
+    }
+    
+    public boolean validateToken(String authToken) {
+        return verifyToken(authToken).isPresent();
     }
     
     public boolean isRefreshToken(String token) {
         try {
-            Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
-            
-            return "refresh".equals(claims.get("type"));
+            Claims claims = jwtParser.parseClaimsJws(token).getBody();
+            return VerifiedToken.TYPE_REFRESH.equals(claims.get(CLAIM_TYPE));
         } catch (Exception ex) {
             return false;
         }
     }
     
     public Date getExpirationDateFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-        
-        return claims.getExpiration();
+        return jwtParser.parseClaimsJws(token).getBody().getExpiration();
+    }
+    
+    // Every token gets a random jti so it can be revoked individually
+    private JwtBuilder newBuilder() {
+        return keyRing.signWithActiveKey(Jwts.builder().setId(UUID.randomUUID().toString()));
+    }
+    
+    private Long resolveUserId(UserDetails userDetails) {
+        if (userDetails instanceof UserPrincipal principal) {
+            return principal.getId();
+        }
+        if (userDetails instanceof User user) {
+            return user.getId();
+        }
+        return null;
+    }
+    
+    private int resolveTokenVersion(UserDetails userDetails) {
+        if (userDetails instanceof UserPrincipal principal) {
+            return principal.getTokenVersion();
+        }
+        if (userDetails instanceof User user) {
+            return user.getTokenVersion();
+        }
+        return 0;
+    }
+    
+    private int getTokenVersionClaim(Claims claims) {
+        Object value = claims.get(CLAIM_TOKEN_VERSION);
+        return value instanceof Number number ? number.intValue() : 0;
+    }
+    
+    private Long getUserIdClaim(Claims claims) {
+        Object value = claims.get(CLAIM_USER_ID);
+        return value instanceof Number number ? number.longValue() : null;
+    }
+    
+    private List<String> getRolesClaim(Claims claims) {
+        Object value = claims.get(CLAIM_ROLES);
+        if (!(value instanceof Collection<?> collection)) {
+            return null;
+        }
+        return collection.stream().map(String::valueOf).toList();
     }
 }
\ No newline at end of file
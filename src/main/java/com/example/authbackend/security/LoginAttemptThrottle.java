@@ -0,0 +1,185 @@
+package com.example.authbackend.security;
+
+import com.example.authbackend.exception.TooManyLoginAttemptsException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts failed logins per email and per client IP and rejects further attempts once either
+ * exceeds its limit, before the password is hashed or the user is loaded.
+ *
+ * <p>Each key uses a sliding-window estimate built from the current and previous fixed window,
+ * so memory per key is constant. Keys live in a size-bounded cache and are dropped once idle for
+ * two windows.
+ */
+@Component
+public class LoginAttemptThrottle {
+    
+    public static final String EMAIL_ATTRIBUTE = LoginAttemptThrottle.class.getName() + ".email";
+    public static final String CLIENT_IP_ATTRIBUTE = LoginAttemptThrottle.class.getName() + ".clientIp";
+    
+    private static final String EMAIL_PREFIX = "email:";
+    private static final String IP_PREFIX = "ip:";
+    
+    private final boolean enabled;
+    private final long windowMillis;
+    private final int maxFailuresPerEmail;
+    private final int maxFailuresPerIp;
+    private final Clock clock;
+    private final Cache<String, SlidingWindowCounter> counters;
+    private final Counter rejectedCounter;
+    
+    @Autowired
+    public LoginAttemptThrottle(@Value("${app.security.login-throttle.enabled:true}") boolean enabled,
+                                @Value("${app.security.login-throttle.window:PT15M}") Duration window,
+                                @Value("${app.security.login-throttle.max-failures-per-email:5}") int maxFailuresPerEmail,
+                                @Value("${app.security.login-throttle.max-failures-per-ip:50}") int maxFailuresPerIp,
+                                @Value("${app.security.login-throttle.max-keys:100000}") long maxKeys,
+                                ObjectProvider<MeterRegistry> meterRegistry) {
+        this(enabled, window, maxFailuresPerEmail, maxFailuresPerIp, maxKeys,
+                meterRegistry.getIfAvailable(SimpleMeterRegistry::new), Clock.systemUTC());
+    }
+    
+    LoginAttemptThrottle(boolean enabled, Duration window, int maxFailuresPerEmail, int maxFailuresPerIp,
+                         long maxKeys, MeterRegistry registry, Clock clock) {
+        this.enabled = enabled;
+        this.windowMillis = window.toMillis();
+        this.maxFailuresPerEmail = maxFailuresPerEmail;
+        this.maxFailuresPerIp = maxFailuresPerIp;
+        this.clock = clock;
+        this.counters = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(window.multipliedBy(2))
+                .recordStats()
+                .build();
+        
+        CaffeineCacheMetrics.monitor(registry, counters, "login-throttle");
+        this.rejectedCounter = Counter.builder("login.throttle.rejected")
+                .description("Login attempts refused before authentication")
+                .register(registry);
+    }
+    
+    /**
+     * Throws {@link TooManyLoginAttemptsException} when the email or the client IP is over its limit.
+     */
+    public void checkAllowed(String email, String clientIp) {
+        if (!enabled) {
+            return;
+        }
+        long now = clock.millis();
+        long retryAfterMillis = Math.max(
+                retryAfterMillis(emailKey(email), maxFailuresPerEmail, now),
+                retryAfterMillis(ipKey(clientIp), maxFailuresPerIp, now));
+        if (retryAfterMillis > 0) {
+            rejectedCounter.increment();
+            throw new TooManyLoginAttemptsException("Too many failed login attempts, try again later",
+                    Math.max(1, (retryAfterMillis + 999) / 1000));
+        }
+    }
+    
+    public void recordFailure(String email, String clientIp) {
+        if (!enabled) {
+            return;
+        }
+        long now = clock.millis();
+        if (email != null) {
+            counters.get(emailKey(email), key -> new SlidingWindowCounter()).increment(now, windowMillis);
+        }
+        if (clientIp != null) {
+            counters.get(ipKey(clientIp), key -> new SlidingWindowCounter()).increment(now, windowMillis);
+        }
+    }
+    
+    // The IP counter is kept: one good password behind a shared address says nothing about the rest
+    public void recordSuccess(String email) {
+        if (enabled && email != null) {
+            counters.invalidate(emailKey(email));
+        }
+    }
+    
+    private long retryAfterMillis(String key, int limit, long now) {
+        if (key == null) {
+            return 0;
+        }
+        SlidingWindowCounter counter = counters.getIfPresent(key);
+        return counter == null ? 0 : counter.retryAfterMillis(now, windowMillis, limit);
+    }
+    
+    private static String emailKey(String email) {
+        return email == null ? null : EMAIL_PREFIX + email.trim().toLowerCase(Locale.ROOT);
+    }
+    
+    private static String ipKey(String clientIp) {
+        return clientIp == null ? null : IP_PREFIX + clientIp;
+    }
+    
+    /**
+     * Failures in the current fixed window plus the previous window's count weighted by how much of
+     * it still overlaps the sliding window. Increments are lock-free; only the roll-over to a new
+     * window synchronizes, and an increment racing with it may land in either window.
+     */
+    static final class SlidingWindowCounter {
+        
+        private final LongAdder current = new LongAdder();
+        private volatile long currentWindow;
+        private volatile long previousCount;
+        
+        void increment(long now, long windowMillis) {
+            roll(now, windowMillis);
+            current.increment();
+        }
+        
+        double estimate(long now, long windowMillis) {
+            roll(now, windowMillis);
+            double previousWeight = 1.0 - (double) (now % windowMillis) / windowMillis;
+            return previousCount * previousWeight + current.sum();
+        }
+        
+        /**
+         * Time until the estimate drops below the limit, or 0 when another attempt is allowed now.
+         */
+        long retryAfterMillis(long now, long windowMillis, int limit) {
+            if (estimate(now, windowMillis) < limit) {
+                return 0;
+            }
+            long elapsed = now % windowMillis;
+            long currentCount = current.sum();
+            if (currentCount < limit && previousCount > 0) {
+                // previous * (1 - t / window) + current < limit
+                long until = (long) Math.ceil(windowMillis * (1.0 - (double) (limit - currentCount) / previousCount)) + 1;
+                return Math.max(1, until - elapsed);
+            }
+            // Next window: current becomes previous and decays the same way
+            long until = (long) Math.ceil(windowMillis * (1.0 - (double) limit / currentCount)) + 1;
+            return windowMillis - elapsed + Math.max(0, until);
+        }
+        
+        private void roll(long now, long windowMillis) {
+            long window = now / windowMillis;
+            if (window == currentWindow) {
+                return;
+            }
+            synchronized (this) {
+                if (window == currentWindow) {
+                    return;
+                }
+                long count = current.sumThenReset();
+                previousCount = window == currentWindow + 1 ? count : 0;
+                currentWindow = window;
+            }
+        }
+    }
+}
@@ -1,14 +1,14 @@
 package com.example.authbackend.security;
 
 import com.example.authbackend.entity.AuthProvider;
-import com.example.authbackend.entity.Role;
 import com.example.authbackend.entity.RoleName;
 import com.example.authbackend.entity.User;
-import com.example.authbackend.repository.RoleRepository;
+import com.example.authbackend.event.UserChangedEvent;
 import com.example.authbackend.repository.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.oauth2.client.userinfo.DefaultOAuth2UserService;
 import org.springframework.security.oauth2.client.userinfo.OAuth2UserRequest;
 import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
@@ -29,7 +29,10 @@ public class OAuth2UserService extends DefaultOAuth2UserService {
     private UserRepository userRepository;
     
     @Autowired
-    private RoleRepository roleRepository;
+    private RoleRegistry roleRegistry;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
     
     @Override
     @Transactional
@@ -98,6 +101,7 @@ public class OAuth2UserService extends DefaultOAuth2UserService {
                 }
                 
                 user = userRepository.save(user);
+                eventPublisher.publishEvent(new UserChangedEvent(user.getId(), user.getEmail()));
             } else {
                 throw new OAuth2AuthenticationException("User exists with different provider: " + user.getProvider());
             }
@@ -126,10 +130,7 @@ public class OAuth2UserService extends DefaultOAuth2UserService {
         user.setEmailVerified(true); // Google emails are always verified
         
         // Assign USER role
-        Role userRole = roleRepository.findByName(RoleName.USER)
-                .orElseThrow(() -> new RuntimeException("User Role not found"));
-        
-        user.setRoles(Collections.singleton(userRole));
+        user.setRoles(Collections.singleton(roleRegistry.getReference(RoleName.USER)));
         
         return userRepository.save(user);
     }
@@ -0,0 +1,184 @@
+package com.example.authbackend.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+import org.springframework.security.crypto.scrypt.SCryptPasswordEncoder;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Builds the {@link DelegatingPasswordEncoder} used for stored passwords. The work factor of the
+ * configured algorithm is measured on this machine and raised until one hash takes about
+ * {@code target-hash-time}, never going below the recommended floors.
+ *
+ * <p>Hashes written before the {id} prefix existed are plain bcrypt and still match; on the next
+ * successful login they are rewritten with the current algorithm and cost.
+ */
+public final class PasswordEncoderCalibrator {
+    
+    private static final Logger logger = LoggerFactory.getLogger(PasswordEncoderCalibrator.class);
+    
+    // Floors from Spring Security's 5.8 defaults / OWASP guidance
+    private static final int PBKDF2_MIN_ITERATIONS = 310_000;
+    private static final int PBKDF2_SAMPLE_ITERATIONS = 20_000;
+    private static final int ARGON2_MEMORY_KB = 1 << 14;
+    private static final int ARGON2_MIN_ITERATIONS = 2;
+    private static final int MAX_SCALE_ITERATIONS = 100_000_000;
+    
+    private static final String SAMPLE_PASSWORD = "calibration-Password-1";
+    
+    private PasswordEncoderCalibrator() {
+    }
+    
+    public static DelegatingPasswordEncoder create(PasswordEncodingProperties properties) {
+        String idForEncode = properties.getAlgorithm().toLowerCase();
+        long targetNanos = properties.getTargetHashTime().toNanos();
+        boolean calibrate = properties.isCalibrate();
+        
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put("bcrypt", "bcrypt".equals(idForEncode)
+                ? bcrypt(properties, calibrate, targetNanos)
+                : new BCryptPasswordEncoder(properties.getBcryptMinCost()));
+        encoders.put("argon2", "argon2".equals(idForEncode)
+                ? argon2(calibrate, targetNanos)
+                : argon2WithIterations(ARGON2_MIN_ITERATIONS));
+        encoders.put("pbkdf2", "pbkdf2".equals(idForEncode)
+                ? pbkdf2(calibrate, targetNanos)
+                : pbkdf2WithIterations(PBKDF2_MIN_ITERATIONS));
+        encoders.put("scrypt", SCryptPasswordEncoder.defaultsForSpringSecurity_v5_8());
+        
+        if (!encoders.containsKey(idForEncode)) {
+            throw new IllegalStateException("Unsupported password algorithm: " + properties.getAlgorithm());
+        }
+        
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(idForEncode, encoders);
+        encoder.setDefaultPasswordEncoderForMatches(encoders.get("bcrypt"));
+        return encoder;
+    }
+    
+    // Every extra bcrypt cost doubles the work, so one measurement at the floor is enough
+    private static PasswordEncoder bcrypt(PasswordEncodingProperties properties, boolean calibrate, long targetNanos) {
+        int cost = properties.getBcryptMinCost();
+        if (calibrate) {
+            long nanos = measure(new BCryptPasswordEncoder(cost));
+            while (cost < properties.getBcryptMaxCost() && nanos * 2 <= targetNanos) {
+                cost++;
+                nanos *= 2;
+            }
+            logger.info("Password hashing: bcrypt cost {} (~{} ms per hash)", cost, nanos / 1_000_000);
+        }
+        return new BCryptPasswordEncoder(cost);
+    }
+    
+    private static PasswordEncoder argon2(boolean calibrate, long targetNanos) {
+        int iterations = ARGON2_MIN_ITERATIONS;
+        if (calibrate) {
+            long nanos = measure(argon2WithIterations(ARGON2_MIN_ITERATIONS));
+            iterations = scale(ARGON2_MIN_ITERATIONS, nanos, targetNanos, ARGON2_MIN_ITERATIONS);
+            logger.info("Password hashing: argon2id {} KiB, {} iterations", ARGON2_MEMORY_KB, iterations);
+        }
+        return argon2WithIterations(iterations);
+    }
+    
+    private static PasswordEncoder pbkdf2(boolean calibrate, long targetNanos) {
+        int iterations = PBKDF2_MIN_ITERATIONS;
+        if (calibrate) {
+            long nanos = measure(pbkdf2WithIterations(PBKDF2_SAMPLE_ITERATIONS));
+            iterations = scale(PBKDF2_SAMPLE_ITERATIONS, nanos, targetNanos, PBKDF2_MIN_ITERATIONS);
+            logger.info("Password hashing: PBKDF2-HMAC-SHA256 {} iterations", iterations);
+        }
+        return pbkdf2WithIterations(iterations);
+    }
+    
+    private static Argon2PasswordEncoder argon2WithIterations(int iterations) {
+        return new Argon2PasswordEncoder(16, 32, 1, ARGON2_MEMORY_KB, iterations);
+    }
+    
+    private static PasswordEncoder pbkdf2WithIterations(int iterations) {
+        return new IterationTaggedPbkdf2PasswordEncoder(iterations);
+    }
+    
+    /**
+     * PBKDF2 hashes do not record their iteration count, so a hash only matches at the count it was
+     * written with. Prefixing {@code <iterations>$} keeps old hashes verifying after calibration picks a
+     * new count, and lets {@link #upgradeEncoding} flag the ones below it. Untagged hashes are read at
+     * Spring Security's default of 310,000 iterations.
+     */
+    private static final class IterationTaggedPbkdf2PasswordEncoder implements PasswordEncoder {
+        
+        private static final char SEPARATOR = '$';
+        
+        private final int iterations;
+        private final Pbkdf2PasswordEncoder delegate;
+        
+        private IterationTaggedPbkdf2PasswordEncoder(int iterations) {
+            this.iterations = iterations;
+            this.delegate = pbkdf2Encoder(iterations);
+        }
+        
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return iterations + String.valueOf(SEPARATOR) + delegate.encode(rawPassword);
+        }
+        
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            if (encodedPassword == null) {
+                return false;
+            }
+            int stored = storedIterations(encodedPassword);
+            if (stored <= 0) {
+                return false;
+            }
+            String hash = encodedPassword.substring(encodedPassword.indexOf(SEPARATOR) + 1);
+            return (stored == iterations ? delegate : pbkdf2Encoder(stored)).matches(rawPassword, hash);
+        }
+        
+        @Override
+        public boolean upgradeEncoding(String encodedPassword) {
+            return encodedPassword != null && storedIterations(encodedPassword) < iterations;
+        }
+        
+        // Iteration count of a tagged hash, the Spring Security default for an untagged one, -1 if malformed
+        private static int storedIterations(String encodedPassword) {
+            int separator = encodedPassword.indexOf(SEPARATOR);
+            if (separator < 0) {
+                return PBKDF2_MIN_ITERATIONS;
+            }
+            try {
+                return Integer.parseInt(encodedPassword.substring(0, separator));
+            } catch (NumberFormatException ex) {
+                return -1;
+            }
+        }
+    }
+    
+    private static Pbkdf2PasswordEncoder pbkdf2Encoder(int iterations) {
+        return new Pbkdf2PasswordEncoder("", 16, iterations,
+                Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256);
+    }
+    
+    // Work grows linearly with iterations for PBKDF2 and Argon2
+    private static int scale(int sampleIterations, long sampleNanos, long targetNanos, int floor) {
+        double scaled = (double) sampleIterations * targetNanos / Math.max(1, sampleNanos);
+        return (int) Math.max(floor, Math.min(MAX_SCALE_ITERATIONS, scaled));
+    }
+    
+    // Best of three after one warm-up run, so JIT compilation does not inflate the estimate
+    private static long measure(PasswordEncoder encoder) {
+        encoder.encode(SAMPLE_PASSWORD);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long start = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+}
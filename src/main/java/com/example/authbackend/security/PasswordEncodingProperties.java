@@ -0,0 +1,63 @@
+package com.example.authbackend.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Password hashing algorithm and the per-hash latency the work factor is calibrated to at startup.
+ */
+@ConfigurationProperties(prefix = "app.security.password")
+public class PasswordEncodingProperties {
+    
+    // bcrypt, argon2, scrypt or pbkdf2; existing hashes of the other algorithms keep verifying
+    private String algorithm = "bcrypt";
+    
+    private Duration targetHashTime = Duration.ofMillis(100);
+    
+    // When false the floors below are used as-is
+    private boolean calibrate = true;
+    
+    private int bcryptMinCost = 10;
+    private int bcryptMaxCost = 16;
+    
+    public String getAlgorithm() {
+        return algorithm;
+    }
+    
+    public void setAlgorithm(String algorithm) {
+        this.algorithm = algorithm;
+    }
+    
+    public Duration getTargetHashTime() {
+        return targetHashTime;
+    }
+    
+    public void setTargetHashTime(Duration targetHashTime) {
+        this.targetHashTime = targetHashTime;
+    }
+    
+    public boolean isCalibrate() {
+        return calibrate;
+    }
+    
+    public void setCalibrate(boolean calibrate) {
+        this.calibrate = calibrate;
+    }
+    
+    public int getBcryptMinCost() {
+        return bcryptMinCost;
+    }
+    
+    public void setBcryptMinCost(int bcryptMinCost) {
+        this.bcryptMinCost = bcryptMinCost;
+    }
+    
+    public int getBcryptMaxCost() {
+        return bcryptMaxCost;
+    }
+    
+    public void setBcryptMaxCost(int bcryptMaxCost) {
+        this.bcryptMaxCost = bcryptMaxCost;
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.authbackend.security;
+
+import com.example.authbackend.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * CPU-sized pool for password hashing. Request threads hand the hash over and wait; once the
+ * bounded queue is full further requests fail fast with {@link ServiceOverloadedException}
+ * instead of piling up on Tomcat workers that cheap token-authenticated requests also need.
+ */
+@Component
+public class PasswordHashingExecutor {
+    
+    private final ThreadPoolExecutor executor;
+    private final Duration maxWait;
+    private final long retryAfterSeconds;
+    
+    private final Timer encodeWaitTimer;
+    private final Timer matchesWaitTimer;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejectedCounter;
+    
+    public PasswordHashingExecutor(@Value("${app.security.password-hashing.threads:0}") int threads,
+                                   @Value("${app.security.password-hashing.queue-capacity:0}") int queueCapacity,
+                                   @Value("${app.security.password-hashing.max-wait:PT5S}") Duration maxWait,
+                                   @Value("${app.security.password-hashing.retry-after:PT2S}") Duration retryAfter,
+                                   ObjectProvider<MeterRegistry> meterRegistry) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        int capacity = queueCapacity > 0 ? queueCapacity : poolSize * 4;
+        
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.maxWait = maxWait;
+        this.retryAfterSeconds = Math.max(1, retryAfter.toSeconds());
+        
+        MeterRegistry registry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+        Gauge.builder("password.hashing.queue.depth", executor, pool -> pool.getQueue().size())
+                .description("Password hashes waiting for a hashing thread")
+                .register(registry);
+        Gauge.builder("password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .register(registry);
+        this.encodeWaitTimer = Timer.builder("password.hashing.wait").tag("operation", "encode").register(registry);
+        this.matchesWaitTimer = Timer.builder("password.hashing.wait").tag("operation", "matches").register(registry);
+        this.encodeTimer = Timer.builder("password.hashing.duration").tag("operation", "encode").register(registry);
+        this.matchesTimer = Timer.builder("password.hashing.duration").tag("operation", "matches").register(registry);
+        this.rejectedCounter = Counter.builder("password.hashing.rejected")
+                .description("Hashes refused because the queue was full or the wait timed out")
+                .register(registry);
+    }
+    
+    public String encode(Supplier<String> hash) {
+        return execute(hash, encodeWaitTimer, encodeTimer);
+    }
+    
+    public boolean matches(Supplier<Boolean> check) {
+        return execute(check, matchesWaitTimer, matchesTimer);
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+    
+    private <T> T execute(Supplier<T> work, Timer waitTimer, Timer hashTimer) {
+        long submittedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                waitTimer.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                return hashTimer.record(work);
+            });
+        } catch (RejectedExecutionException ex) {
+            throw overloaded();
+        }
+        
+        try {
+            return future.get(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            future.cancel(true);
+            throw overloaded();
+        } catch (InterruptedException ex) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", ex);
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+    
+    private ServiceOverloadedException overloaded() {
+        rejectedCounter.increment();
+        return new ServiceOverloadedException("Too many concurrent sign-in requests, please retry shortly",
+                retryAfterSeconds);
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.authbackend.security;
+
+import com.example.authbackend.entity.Role;
+import com.example.authbackend.entity.RoleName;
+import com.example.authbackend.repository.RoleRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Role ids by name, read once after DataLoader has seeded the roles table. Roles are assigned
+ * as {@code getReference} proxies, so writing a user_roles row needs no SELECT on roles.
+ *
+ * <p>The map is immutable and replaced as a whole; call {@link #refresh()} after changing roles.
+ */
+@Component
+public class RoleRegistry {
+    
+    private static final Logger logger = LoggerFactory.getLogger(RoleRegistry.class);
+    
+    private final RoleRepository roleRepository;
+    
+    private volatile Map<RoleName, Long> roleIds;
+    
+    public RoleRegistry(RoleRepository roleRepository) {
+        this.roleRepository = roleRepository;
+    }
+    
+    public synchronized void refresh() {
+        Map<RoleName, Long> ids = new EnumMap<>(RoleName.class);
+        for (Role role : roleRepository.findAll()) {
+            ids.put(role.getName(), role.getId());
+        }
+        roleIds = Collections.unmodifiableMap(ids);
+        logger.info("Loaded {} roles", ids.size());
+    }
+    
+    /**
+     * Managed reference to the role, valid inside the caller's transaction.
+     */
+    public Role getReference(RoleName name) {
+        Long id = getRoleIds().get(name);
+        if (id == null) {
+            throw new IllegalStateException("Role " + name + " does not exist");
+        }
+        return roleRepository.getReferenceById(id);
+    }
+    
+    public Map<RoleName, Long> getRoleIds() {
+        Map<RoleName, Long> ids = roleIds;
+        if (ids == null) {
+            // Requests can arrive before the CommandLineRunners have finished
+            refresh();
+            ids = roleIds;
+        }
+        return ids;
+    }
+}
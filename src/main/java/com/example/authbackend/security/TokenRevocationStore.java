@@ -0,0 +1,150 @@
+package com.example.authbackend.security;
+
+import com.example.authbackend.entity.RevokedToken;
+import com.example.authbackend.repository.RevokedTokenRepository;
+import com.example.authbackend.util.ConcurrentBloomFilter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Denylist of revoked token ids (jti) backed by the revoked_tokens table.
+ *
+ * <p>Every authenticated request asks {@link #isRevoked}; almost all of them are for tokens that
+ * were never revoked, which a Bloom filter answers without touching the map or allocating.
+ * Entries are dropped once the token would have expired anyway, and the filter is rebuilt from
+ * the remaining entries so it does not fill up over time.
+ */
+@Component
+public class TokenRevocationStore {
+    
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationStore.class);
+    
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final int expectedRevocations;
+    private final double falsePositiveRate;
+    private final Duration syncOverlap;
+    
+    // jti -> expiry in epoch millis
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    
+    // Writers hold the lock so a rebuild cannot lose a concurrent revocation; readers never lock
+    private final Object writeLock = new Object();
+    private volatile ConcurrentBloomFilter filter;
+    private volatile LocalDateTime lastSync;
+    
+    public TokenRevocationStore(RevokedTokenRepository revokedTokenRepository,
+                                @Value("${app.jwt.revocation.expected-revocations:100000}") int expectedRevocations,
+                                @Value("${app.jwt.revocation.false-positive-rate:0.01}") double falsePositiveRate,
+                                @Value("${app.jwt.revocation.sync-overlap:PT5S}") Duration syncOverlap,
+                                ObjectProvider<MeterRegistry> meterRegistry) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+        this.syncOverlap = syncOverlap;
+        this.filter = new ConcurrentBloomFilter(expectedRevocations, falsePositiveRate);
+        
+        meterRegistry.ifAvailable(registry -> Gauge.builder("jwt.revoked-tokens", revoked, Map::size)
+                .description("Revoked tokens that have not expired yet")
+                .register(registry));
+    }
+    
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null || !filter.mightContain(tokenId)) {
+            return false;
+        }
+        Long expiresAt = revoked.get(tokenId);
+        return expiresAt != null && expiresAt > System.currentTimeMillis();
+    }
+    
+    /**
+     * Revokes the token on this node immediately and records it for other nodes and restarts.
+     */
+    public void revoke(String tokenId, long expiresAtMillis) {
+        if (tokenId == null || expiresAtMillis <= System.currentTimeMillis()) {
+            return;
+        }
+        remember(tokenId, expiresAtMillis);
+        revokedTokenRepository.insertIfAbsent(tokenId, toLocalDateTime(expiresAtMillis), LocalDateTime.now());
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        LocalDateTime now = LocalDateTime.now();
+        List<RevokedToken> tokens = revokedTokenRepository.findByExpiresAtAfter(now);
+        tokens.forEach(this::remember);
+        lastSync = now;
+        logger.info("Loaded {} revoked tokens", tokens.size());
+    }
+    
+    /**
+     * Picks up revocations made on other nodes and drops entries for tokens that have expired.
+     */
+    @Scheduled(fixedDelayString = "${app.jwt.revocation.sync-interval:PT30S}")
+    public void sync() {
+        if (lastSync == null) {
+            load();
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        revokedTokenRepository.findByRevokedAtAfterAndExpiresAtAfter(lastSync.minus(syncOverlap), now)
+                .forEach(this::remember);
+        lastSync = now;
+        
+        long nowMillis = System.currentTimeMillis();
+        if (revoked.values().removeIf(expiresAt -> expiresAt <= nowMillis)) {
+            rebuildFilter();
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${app.jwt.revocation.purge-interval:PT1H}")
+    public void purgeExpired() {
+        int deleted = revokedTokenRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            logger.info("Purged {} expired revoked tokens", deleted);
+        }
+    }
+    
+    public int getSize() {
+        return revoked.size();
+    }
+    
+    private void remember(RevokedToken token) {
+        remember(token.getJti(), token.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    }
+    
+    private void remember(String tokenId, long expiresAtMillis) {
+        synchronized (writeLock) {
+            revoked.put(tokenId, expiresAtMillis);
+            filter.put(tokenId);
+        }
+    }
+    
+    private void rebuildFilter() {
+        synchronized (writeLock) {
+            ConcurrentBloomFilter rebuilt = new ConcurrentBloomFilter(
+                    Math.max(expectedRevocations, revoked.size()), falsePositiveRate);
+            revoked.keySet().forEach(rebuilt::put);
+            filter = rebuilt;
+        }
+    }
+    
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
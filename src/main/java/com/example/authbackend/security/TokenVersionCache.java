@@ -0,0 +1,65 @@
+package com.example.authbackend.security;
+
+import com.example.authbackend.event.UserChangedEvent;
+import com.example.authbackend.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+
+/**
+ * Current token_version per user id. An access token whose ver claim is older than this value
+ * was issued before the user's last "log out everywhere" or password change and is rejected.
+ *
+ * <p>Entries are evicted after commit on this node; the TTL bounds how long other nodes keep
+ * accepting old tokens.
+ */
+@Component
+public class TokenVersionCache {
+    
+    // Cached for deleted users so their tokens keep failing without a query per request
+    private static final int MISSING_USER = -1;
+    
+    private final LoadingCache<Long, Integer> versions;
+    
+    public TokenVersionCache(UserRepository userRepository,
+                             @Value("${app.security.token-version-cache.ttl:PT1M}") Duration ttl,
+                             @Value("${app.security.token-version-cache.max-size:10000}") long maxSize,
+                             ObjectProvider<MeterRegistry> meterRegistry) {
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build(userId -> userRepository.findTokenVersionById(userId).orElse(MISSING_USER));
+        
+        meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, versions, "user-token-versions"));
+    }
+    
+    /**
+     * Tokens without a user id cannot be checked and are accepted until they expire.
+     */
+    public boolean isCurrent(VerifiedToken token) {
+        if (token.getUserId() == null) {
+            return true;
+        }
+        return versions.get(token.getUserId()) == token.getTokenVersion();
+    }
+    
+    public void evict(Long userId) {
+        versions.invalidate(userId);
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.getUserId() != null) {
+            evict(event.getUserId());
+        }
+    }
+}
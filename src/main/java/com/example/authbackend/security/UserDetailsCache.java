@@ -0,0 +1,109 @@
+package com.example.authbackend.security;
+
+import com.example.authbackend.event.UserChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * TTL and size bounded cache of detached {@link UserPrincipal} snapshots in front of
+ * {@link CustomUserDetailsService}. Entries are evicted after commit of any transaction
+ * that publishes a {@link UserChangedEvent}.
+ * <p>
+ * Eviction is local to this node, so other nodes may serve a stale snapshot for up to the TTL.
+ * Only JWT-authenticated requests read from it; password authentication always goes to the database.
+ */
+@Component
+public class UserDetailsCache {
+    
+    private static final Logger logger = LoggerFactory.getLogger(UserDetailsCache.class);
+    
+    private final boolean enabled;
+    private final Cache<String, UserPrincipal> byEmail;
+    private final Cache<Long, UserPrincipal> byId;
+    
+    public UserDetailsCache(@Value("${app.security.user-cache.enabled:true}") boolean enabled,
+                            @Value("${app.security.user-cache.ttl:PT30S}") Duration ttl,
+                            @Value("${app.security.user-cache.max-size:10000}") long maxSize,
+                            ObjectProvider<MeterRegistry> meterRegistry) {
+        this.enabled = enabled;
+        this.byEmail = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        
+        meterRegistry.ifAvailable(registry -> {
+            CaffeineCacheMetrics.monitor(registry, byEmail, "user-details.by-email");
+            CaffeineCacheMetrics.monitor(registry, byId, "user-details.by-id");
+        });
+    }
+    
+    public UserPrincipal getByEmail(String email, Function<String, UserPrincipal> loader) {
+        if (!enabled) {
+            return loader.apply(email);
+        }
+        return byEmail.get(email, key -> remember(loader.apply(key), true));
+    }
+    
+    public UserPrincipal getById(Long id, Function<Long, UserPrincipal> loader) {
+        if (!enabled) {
+            return loader.apply(id);
+        }
+        return byId.get(id, key -> remember(loader.apply(key), false));
+    }
+    
+    public void evict(Long userId, String email) {
+        if (userId != null) {
+            UserPrincipal cached = byId.getIfPresent(userId);
+            byId.invalidate(userId);
+            if (cached != null) {
+                byEmail.invalidate(cached.getEmail());
+            }
+        }
+        if (email != null) {
+            UserPrincipal cached = byEmail.getIfPresent(email);
+            byEmail.invalidate(email);
+            if (cached != null) {
+                byId.invalidate(cached.getId());
+            }
+        }
+    }
+    
+    public void invalidateAll() {
+        byEmail.invalidateAll();
+        byId.invalidateAll();
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        logger.debug("Evicting cached user details for user {}", event.getUserId());
+        evict(event.getUserId(), event.getEmail());
+    }
+    
+    // A snapshot loaded through one key is reachable through the other as well
+    private UserPrincipal remember(UserPrincipal principal, boolean loadedByEmail) {
+        if (loadedByEmail) {
+            byId.put(principal.getId(), principal);
+        } else {
+            byEmail.put(principal.getEmail(), principal);
+        }
+        return principal;
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -18,6 +19,16 @@ public class UserPrincipal implements OAuth2User, UserDetails {
     private String password;
     private Collection<? extends GrantedAuthority> authorities;
     private Map<String, Object> attributes;
+    private boolean enabled = true;
+    private int tokenVersion;
+    
+    // Profile fields so a login can answer from the authenticated principal; null when built from a token
+    private String firstName;
+    private String lastName;
+    private Boolean emailVerified;
+    private String provider;
+    private String imageUrl;
+    private LocalDateTime createdAt;
     
     public UserPrincipal(Long id, String email, String password, Collection<? extends GrantedAuthority> authorities) {
         this.id = id;
@@ -26,17 +37,60 @@ public class UserPrincipal implements OAuth2User, UserDetails {
         this.authorities = authorities;
     }
     
+    public UserPrincipal(Long id, String email, String password, Collection<? extends GrantedAuthority> authorities,
+                         boolean enabled) {
+        this(id, email, password, authorities);
+        this.enabled = enabled;
+    }
+    
+    public UserPrincipal(Long id, String email, String password, Collection<? extends GrantedAuthority> authorities,
+                         boolean enabled, int tokenVersion) {
+        this(id, email, password, authorities, enabled);
+        this.tokenVersion = tokenVersion;
+    }
+    
+    // Builds a principal from verified JWT claims without touching the database
+    public static UserPrincipal fromToken(VerifiedToken token) {
+        return new UserPrincipal(
+                token.getUserId(),
+                token.getSubject(),
+                null,
+                token.getAuthorities(),
+                token.getEnabled(),
+                token.getTokenVersion()
+        );
+    }
+    
+    // Detached, immutable snapshot of the entity; safe to cache and share between threads
     public static UserPrincipal create(User user) {
         List<GrantedAuthority> authorities = user.getRoles().stream()
-                .map(role -> new SimpleGrantedAuthority("ROLE_" + role.getName().name()))
-                .collect(Collectors.toList());
+                .map(role -> (GrantedAuthority) new SimpleGrantedAuthority("ROLE_" + role.getName().name()))
+                .toList();
         
-        return new UserPrincipal(
+        UserPrincipal principal = new UserPrincipal(
                 user.getId(),
                 user.getEmail(),
                 user.getPassword(),
-                authorities
+                authorities,
+                user.isEnabled(),
+                user.getTokenVersion()
         );
+        principal.copyProfile(user);
+        return principal;
+    }
+    
+    /**
+     * Same principal with a different password hash, for transparent rehashing on login.
+     */
+    public UserPrincipal withPassword(String newPassword) {
+        UserPrincipal principal = new UserPrincipal(id, email, newPassword, authorities, enabled, tokenVersion);
+        principal.firstName = firstName;
+        principal.lastName = lastName;
+        principal.emailVerified = emailVerified;
+        principal.provider = provider;
+        principal.imageUrl = imageUrl;
+        principal.createdAt = createdAt;
+        return principal;
     }
     
     public static UserPrincipal create(User user, Map<String, Object> attributes) {
@@ -52,7 +106,18 @@ public class UserPrincipal implements OAuth2User, UserDetails {
         this.authorities = user.getRoles().stream()
                 .map(role -> new SimpleGrantedAuthority("ROLE_" + role.getName().name()))
                 .collect(Collectors.toList());
+        this.tokenVersion = user.getTokenVersion();
         this.attributes = attributes;
+        copyProfile(user);
+    }
+    
+    private void copyProfile(User user) {
+        this.firstName = user.getFirstName();
+        this.lastName = user.getLastName();
+        this.emailVerified = user.getEmailVerified();
+        this.provider = user.getProvider() != null ? user.getProvider().name() : null;
+        this.imageUrl = user.getImageUrl();
+        this.createdAt = user.getCreatedAt();
     }
     
     public Long getId() {
@@ -63,6 +128,34 @@ public class UserPrincipal implements OAuth2User, UserDetails {
         return email;
     }
     
+    public int getTokenVersion() {
+        return tokenVersion;
+    }
+    
+    public String getFirstName() {
+        return firstName;
+    }
+    
+    public String getLastName() {
+        return lastName;
+    }
+    
+    public Boolean getEmailVerified() {
+        return emailVerified;
+    }
+    
+    public String getProvider() {
+        return provider;
+    }
+    
+    public String getImageUrl() {
+        return imageUrl;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
     @Override
     public String getPassword() {
         return password;
@@ -90,7 +183,7 @@ public class UserPrincipal implements OAuth2User, UserDetails {
     
     @Override
     public boolean isEnabled() {
-        return true;
+        return enabled;
     }
     
     @Override
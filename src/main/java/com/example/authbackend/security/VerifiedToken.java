@@ -0,0 +1,123 @@
+package com.example.authbackend.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Immutable view of a JWT whose signature and expiry have already been checked.
+ * Callers read the claims from here instead of parsing the token again.
+ */
+public final class VerifiedToken {
+    
+    public static final String TYPE_REFRESH = "refresh";
+    
+    private final String subject;
+    private final String tokenId;
+    private final String familyId;
+    private final String type;
+    private final long expiresAtMillis;
+    private final long issuedAtMillis;
+    
+    // Principal claims; null for tokens minted without them
+    private final Long userId;
+    private final Boolean enabled;
+    private final List<GrantedAuthority> authorities;
+    private final int tokenVersion;
+    
+    public VerifiedToken(String subject, String type, Date expiration, Date issuedAt) {
+        this(subject, null, null, type, expiration, issuedAt, null, null, null, 0);
+    }
+    
+    public VerifiedToken(String subject, String tokenId, String familyId, String type,
+                         Date expiration, Date issuedAt, Long userId, Collection<String> roles, Boolean enabled,
+                         int tokenVersion) {
+        this.subject = subject;
+        this.tokenId = tokenId;
+        this.familyId = familyId;
+        this.type = type;
+        this.expiresAtMillis = expiration != null ? expiration.getTime() : Long.MAX_VALUE;
+        this.issuedAtMillis = issuedAt != null ? issuedAt.getTime() : 0L;
+        this.userId = userId;
+        this.enabled = enabled;
+        this.authorities = roles == null ? null : roles.stream()
+                .map(role -> (GrantedAuthority) new SimpleGrantedAuthority("ROLE_" + role))
+                .toList();
+        this.tokenVersion = tokenVersion;
+    }
+    
+    public String getSubject() {
+        return subject;
+    }
+    
+    /**
+     * The jti claim; null for tokens issued before token ids were added.
+     */
+    public String getTokenId() {
+        return tokenId;
+    }
+    
+    /**
+     * Refresh token family; every token rotated from the same login shares it.
+     */
+    public String getFamilyId() {
+        return familyId;
+    }
+    
+    public String getType() {
+        return type;
+    }
+    
+    public boolean isRefreshToken() {
+        return TYPE_REFRESH.equals(type);
+    }
+    
+    public Date getExpiration() {
+        return new Date(expiresAtMillis);
+    }
+    
+    public Date getIssuedAt() {
+        return new Date(issuedAtMillis);
+    }
+    
+    public long getExpiresAtMillis() {
+        return expiresAtMillis;
+    }
+    
+    public long getIssuedAtMillis() {
+        return issuedAtMillis;
+    }
+    
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public Boolean getEnabled() {
+        return enabled;
+    }
+    
+    public List<GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+    
+    /**
+     * The ver claim; tokens issued before it existed count as version 0.
+     */
+    public int getTokenVersion() {
+        return tokenVersion;
+    }
+    
+    /**
+     * True when the token carries everything needed to build a principal without a DB lookup.
+     */
+    public boolean hasPrincipalClaims() {
+        return userId != null && authorities != null && enabled != null;
+    }
+    
+    public boolean isExpired(long nowMillis) {
+        return nowMillis >= expiresAtMillis;
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.authbackend.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded cache of tokens that already passed signature verification, keyed by the
+ * SHA-256 digest of the raw token. A hit skips jjwt parsing and the HMAC check entirely.
+ * Every entry expires no later than the token's own exp claim.
+ */
+@Component
+public class VerifiedTokenCache {
+    
+    private final JwtTokenProvider tokenProvider;
+    private final boolean enabled;
+    private final Cache<ByteBuffer, VerifiedToken> cache;
+    
+    public VerifiedTokenCache(JwtTokenProvider tokenProvider,
+                              @Value("${app.jwt.cache.enabled:true}") boolean enabled,
+                              @Value("${app.jwt.cache.max-size:10000}") long maxSize,
+                              ObjectProvider<MeterRegistry> meterRegistry) {
+        this.tokenProvider = tokenProvider;
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new TokenExpiry())
+                .recordStats()
+                .build();
+        
+        meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, cache, "jwt.verified-tokens"));
+    }
+    
+    public Optional<VerifiedToken> verify(String token) {
+        if (!enabled) {
+            return tokenProvider.verifyToken(token);
+        }
+        
+        ByteBuffer key = digest(token);
+        VerifiedToken cached = cache.getIfPresent(key);
+        if (cached != null && !cached.isExpired(System.currentTimeMillis())) {
+            return Optional.of(cached);
+        }
+        
+        Optional<VerifiedToken> verified = tokenProvider.verifyToken(token);
+        verified.ifPresent(value -> cache.put(key, value));
+        return verified;
+    }
+    
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+    
+    public long getHitCount() {
+        return cache.stats().hitCount();
+    }
+    
+    public long getMissCount() {
+        return cache.stats().missCount();
+    }
+    
+    public long getSize() {
+        return cache.estimatedSize();
+    }
+    
+    private static ByteBuffer digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return ByteBuffer.wrap(sha256.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+    
+    // Entries live exactly until the token's exp claim, never longer
+    private static final class TokenExpiry implements Expiry<ByteBuffer, VerifiedToken> {
+        
+        @Override
+        public long expireAfterCreate(ByteBuffer key, VerifiedToken value, long currentTime) {
+            long remainingMs = value.getExpiresAtMillis() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0L, remainingMs));
+        }
+        
+        @Override
+        public long expireAfterUpdate(ByteBuffer key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+        
+        @Override
+        public long expireAfterRead(ByteBuffer key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -1,9 +1,16 @@
 package com.example.authbackend.service;
 
+import com.example.authbackend.entity.EmailOutboxMessage;
 import com.example.authbackend.entity.User;
+import jakarta.mail.MessagingException;
 
+/**
+ * The send methods queue a message in the email outbox as part of the caller's transaction;
+ * {@link #deliver} is called by the outbox dispatcher once that transaction has committed.
+ */
 public interface EmailService {
     void sendEmailVerification(User user, String token);
     void sendPasswordResetEmail(User user, String token);
     void sendWelcomeEmail(User user);
-}
\ No newline at end of file
+    void deliver(EmailOutboxMessage message) throws MessagingException;
+}
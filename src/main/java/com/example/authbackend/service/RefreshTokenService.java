@@ -0,0 +1,10 @@
+package com.example.authbackend.service;
+
+import com.example.authbackend.entity.User;
+import com.example.authbackend.security.VerifiedToken;
+
+public interface RefreshTokenService {
+    String issue(Long userId, String email);
+    String rotate(VerifiedToken refreshToken, User user);
+    void revokeAllForUser(Long userId);
+}
@@ -0,0 +1,35 @@
+package com.example.authbackend.service;
+
+import com.example.authbackend.dto.request.UserExportFilter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface UserExportService {
+    
+    enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+        
+        private final String contentType;
+        private final String extension;
+        
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+        
+        public String getContentType() {
+            return contentType;
+        }
+        
+        public String getExtension() {
+            return extension;
+        }
+    }
+    
+    /**
+     * Writes every user matching the filter to {@code out} and returns the number of rows written.
+     */
+    long exportUsers(UserExportFilter filter, Format format, OutputStream out) throws IOException;
+}
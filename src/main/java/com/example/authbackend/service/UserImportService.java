@@ -0,0 +1,16 @@
+package com.example.authbackend.service;
+
+import com.example.authbackend.dto.response.UserImportResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface UserImportService {
+    
+    /**
+     * Imports accounts read from {@code in}, either NDJSON or a JSON array of
+     * {@link com.example.authbackend.dto.request.UserImportRow}. Each chunk commits on its own,
+     * so rows imported before a failure stay imported.
+     */
+    UserImportResponse importUsers(InputStream in) throws IOException;
+}
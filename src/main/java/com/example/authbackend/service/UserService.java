@@ -1,6 +1,7 @@
 // UserService.java
 package com.example.authbackend.service;
 
+import com.example.authbackend.dto.response.CursorPageResponse;
 import com.example.authbackend.dto.response.UserResponse;
 import com.example.authbackend.entity.User;
 import org.springframework.data.domain.Page;
@@ -10,7 +11,9 @@ public interface UserService {
     UserResponse getCurrentUser(String email);
     UserResponse getUserById(Long id);
     Page<UserResponse> getAllUsers(Pageable pageable);
+    CursorPageResponse<UserResponse> getUsersPage(String cursor, int size, boolean includeTotal);
     UserResponse updateUser(Long id, User userDetails);
     void deleteUser(Long id);
     boolean changePassword(String email, String oldPassword, String newPassword);
+    void revokeAllTokens(Long id);
 }
\ No newline at end of file
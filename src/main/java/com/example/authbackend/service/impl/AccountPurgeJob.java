@@ -0,0 +1,168 @@
+package com.example.authbackend.service.impl;
+
+import com.example.authbackend.config.MaintenanceProperties;
+import com.example.authbackend.event.UserChangedEvent;
+import com.example.authbackend.repository.EmailOutboxRepository;
+import com.example.authbackend.repository.EmailVerificationTokenRepository;
+import com.example.authbackend.repository.RefreshTokenRepository;
+import com.example.authbackend.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.IntSupplier;
+
+/**
+ * Deletes expired email verification tokens and LOCAL accounts that were never verified, in
+ * chunks of {@code app.maintenance.chunk-size} rows per transaction, so no run holds long locks
+ * or writes one large burst of WAL. Only the node holding the {@value #LOCK_NAME} lock runs it.
+ */
+@Component
+public class AccountPurgeJob {
+    
+    private static final Logger logger = LoggerFactory.getLogger(AccountPurgeJob.class);
+    
+    public static final String LOCK_NAME = "account-purge";
+    
+    private final EmailVerificationTokenRepository tokenRepository;
+    private final UserRepository userRepository;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final EmailOutboxRepository outboxRepository;
+    private final LeaderLock leaderLock;
+    private final MaintenanceProperties properties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    
+    private final DistributionSummary purgedTokens;
+    private final DistributionSummary purgedAccounts;
+    private final Counter skippedCounter;
+    private final Timer runTimer;
+    
+    public AccountPurgeJob(EmailVerificationTokenRepository tokenRepository,
+                           UserRepository userRepository,
+                           RefreshTokenRepository refreshTokenRepository,
+                           EmailOutboxRepository outboxRepository,
+                           LeaderLock leaderLock,
+                           MaintenanceProperties properties,
+                           ApplicationEventPublisher eventPublisher,
+                           PlatformTransactionManager transactionManager,
+                           ObjectProvider<MeterRegistry> meterRegistry) {
+        this.tokenRepository = tokenRepository;
+        this.userRepository = userRepository;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.outboxRepository = outboxRepository;
+        this.leaderLock = leaderLock;
+        this.properties = properties;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        
+        MeterRegistry registry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+        this.purgedTokens = DistributionSummary.builder("maintenance.purge.rows")
+                .description("Rows deleted per purge run")
+                .tag("table", "email_verification_tokens")
+                .register(registry);
+        this.purgedAccounts = DistributionSummary.builder("maintenance.purge.rows")
+                .description("Rows deleted per purge run")
+                .tag("table", "users")
+                .register(registry);
+        this.skippedCounter = Counter.builder("maintenance.purge.skipped")
+                .description("Runs skipped because another node held the lock")
+                .register(registry);
+        this.runTimer = Timer.builder("maintenance.purge.duration").register(registry);
+    }
+    
+    public record PurgeResult(boolean ran, long verificationTokens, long unverifiedAccounts) {
+    }
+    
+    @Scheduled(fixedDelayString = "${app.maintenance.purge-interval:PT1H}",
+            initialDelayString = "${app.maintenance.purge-initial-delay:PT5M}")
+    public void purgeScheduled() {
+        if (properties.isPurgeEnabled()) {
+            purge();
+        }
+    }
+    
+    public PurgeResult purge() {
+        if (!leaderLock.tryAcquire(LOCK_NAME, properties.getLockLease())) {
+            skippedCounter.increment();
+            logger.debug("Account purge skipped, another node holds the lock");
+            return new PurgeResult(false, 0, 0);
+        }
+        
+        Timer.Sample sample = Timer.start();
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            long tokens = purgeInChunks(() -> tokenRepository.deleteExpiredChunk(now, properties.getChunkSize()));
+            LocalDateTime cutoff = now.minus(properties.getUnverifiedAccountRetention());
+            long accounts = purgeInChunks(() -> deleteUnverifiedChunk(cutoff, now));
+            
+            purgedTokens.record(tokens);
+            purgedAccounts.record(accounts);
+            if (tokens > 0 || accounts > 0) {
+                logger.info("Purged {} expired verification tokens and {} unverified accounts", tokens, accounts);
+            }
+            return new PurgeResult(true, tokens, accounts);
+        } finally {
+            sample.stop(runTimer);
+            leaderLock.release(LOCK_NAME);
+        }
+    }
+    
+    // Each chunk commits on its own; stops early if the lease could not be renewed
+    private long purgeInChunks(IntSupplier deleteChunk) {
+        long total = 0;
+        int deleted;
+        do {
+            deleted = deleteChunk.getAsInt();
+            total += deleted;
+            if (deleted == properties.getChunkSize() && !renewAndPause()) {
+                break;
+            }
+        } while (deleted == properties.getChunkSize());
+        return total;
+    }
+    
+    private boolean renewAndPause() {
+        if (!leaderLock.tryAcquire(LOCK_NAME, properties.getLockLease())) {
+            logger.warn("Account purge lost its lock, stopping");
+            return false;
+        }
+        try {
+            Thread.sleep(properties.getChunkPause().toMillis());
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+    
+    private int deleteUnverifiedChunk(LocalDateTime cutoff, LocalDateTime now) {
+        Integer deleted = transactionTemplate.execute(status -> {
+            List<Long> ids = userRepository.findStaleUnverifiedIdsForUpdate(cutoff, now, properties.getChunkSize());
+            if (ids.isEmpty()) {
+                return 0;
+            }
+            // Explicit rather than relying on ON DELETE CASCADE, which not every schema has
+            tokenRepository.deleteByUserIdIn(ids);
+            refreshTokenRepository.deleteByUserIdIn(ids);
+            outboxRepository.deleteByUserIdIn(ids);
+            userRepository.deleteRolesByUserIdIn(ids);
+            int count = userRepository.deleteByIdIn(ids);
+            ids.forEach(id -> eventPublisher.publishEvent(new UserChangedEvent(id, null)));
+            return count;
+        });
+        return deleted != null ? deleted : 0;
+    }
+}
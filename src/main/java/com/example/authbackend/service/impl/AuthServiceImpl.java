@@ -6,20 +6,29 @@ import com.example.authbackend.dto.response.ApiResponse;
 import com.example.authbackend.dto.response.AuthResponse;
 import com.example.authbackend.dto.response.UserResponse;
 import com.example.authbackend.entity.*;
+import com.example.authbackend.event.UserChangedEvent;
 import com.example.authbackend.exception.EmailAlreadyExistsException;
 import com.example.authbackend.exception.InvalidTokenException;
 import com.example.authbackend.exception.UserNotFoundException;
 import com.example.authbackend.repository.EmailVerificationTokenRepository;
-import com.example.authbackend.repository.RoleRepository;
 import com.example.authbackend.repository.UserRepository;
 import com.example.authbackend.security.JwtTokenProvider;
+import com.example.authbackend.security.RoleRegistry;
+import com.example.authbackend.security.TokenRevocationStore;
+import com.example.authbackend.security.UserPrincipal;
+import com.example.authbackend.security.VerifiedToken;
 import com.example.authbackend.service.AuthService;
 import com.example.authbackend.service.EmailService;
+import com.example.authbackend.service.RefreshTokenService;
+import org.hibernate.exception.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.DisabledException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -29,7 +38,6 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -47,7 +55,7 @@ public class AuthServiceImpl implements AuthService {
     private UserRepository userRepository;
     
     @Autowired
-    private RoleRepository roleRepository;
+    private RoleRegistry roleRegistry;
     
     @Autowired
     private EmailVerificationTokenRepository tokenRepository;
@@ -61,6 +69,15 @@ public class AuthServiceImpl implements AuthService {
     @Autowired
     private EmailService emailService;
     
+    @Autowired
+    private TokenRevocationStore tokenRevocationStore;
+    
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
     @Value("${app.email.verification.expiration}")
     private long emailVerificationExpirationMs;
     
@@ -75,13 +92,13 @@ public class AuthServiceImpl implements AuthService {
         
         SecurityContextHolder.getContext().setAuthentication(authentication);
         
-        String accessToken = tokenProvider.generateToken(authentication);
-        String refreshToken = tokenProvider.generateRefreshToken(loginRequest.getEmail());
+        // The principal was loaded once, with roles, by CustomUserDetailsService; everything below reuses it
+        UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
         
-        User user = userRepository.findByEmail(loginRequest.getEmail())
-            .orElseThrow(() -> new UserNotFoundException("User not found"));
+        String accessToken = tokenProvider.generateToken(principal);
+        String refreshToken = refreshTokenService.issue(principal.getId(), principal.getEmail());
         
-        UserResponse userResponse = mapToUserResponse(user);
+        UserResponse userResponse = mapToUserResponse(principal);
         
         logger.info("User {} logged in successfully", loginRequest.getEmail());
         
@@ -90,11 +107,7 @@ public class AuthServiceImpl implements AuthService {
     
     @Override
     public ApiResponse register(RegisterRequest registerRequest) {
-        if (userRepository.existsByEmail(registerRequest.getEmail())) {
-            throw new EmailAlreadyExistsException("Email address already in use!");
-        }
-        
-        // Create new user
+        // No existsByEmail pre-check: the users.email unique constraint rejects duplicates, race-free
         User user = new User(
             registerRequest.getFirstName(),
             registerRequest.getLastName(),
@@ -102,14 +115,20 @@ public class AuthServiceImpl implements AuthService {
             passwordEncoder.encode(registerRequest.getPassword())
         );
         
-        Role userRole = roleRepository.findByName(RoleName.USER)
-            .orElseThrow(() -> new RuntimeException("User Role not set."));
-        
-        user.setRoles(Collections.singleton(userRole));
+        user.setRoles(Collections.singleton(roleRegistry.getReference(RoleName.USER)));
         user.setProvider(AuthProvider.LOCAL);
         user.setEmailVerified(false);
         
-        User savedUser = userRepository.save(user);
+        // Flushed so a duplicate email fails right here rather than at commit
+        User savedUser;
+        try {
+            savedUser = userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException ex) {
+            if (isUniqueViolation(ex)) {
+                throw new EmailAlreadyExistsException("Email address already in use!");
+            }
+            throw ex;
+        }
         
         // Generate email verification token
         String token = UUID.randomUUID().toString();
@@ -119,6 +138,7 @@ public class AuthServiceImpl implements AuthService {
             LocalDateTime.now().plusSeconds(emailVerificationExpirationMs / 1000)
         );
         
+        // Flushed together with the user_roles row at commit
         tokenRepository.save(verificationToken);
         
         // Send verification email
@@ -142,6 +162,7 @@ public class AuthServiceImpl implements AuthService {
         User user = verificationToken.getUser();
         user.setEmailVerified(true);
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId(), user.getEmail()));
         
         tokenRepository.delete(verificationToken);
         
@@ -184,48 +205,60 @@ public class AuthServiceImpl implements AuthService {
     }
     
     @Override
+    @Transactional(noRollbackFor = InvalidTokenException.class)
     public AuthResponse refreshToken(String refreshToken) {
-        if (!tokenProvider.validateToken(refreshToken) || !tokenProvider.isRefreshToken(refreshToken)) {
-            throw new InvalidTokenException("Invalid refresh token");
-        }
+        VerifiedToken verifiedToken = tokenProvider.verifyToken(refreshToken)
+            .filter(VerifiedToken::isRefreshToken)
+            .orElseThrow(() -> new InvalidTokenException("Invalid refresh token"));
         
-        String email = tokenProvider.getUsernameFromToken(refreshToken);
-        User user = userRepository.findByEmail(email)
+        String email = verifiedToken.getSubject();
+        User user = userRepository.findByEmailWithRoles(email)
             .orElseThrow(() -> new UserNotFoundException("User not found"));
         
-        String newAccessToken = tokenProvider.generateTokenFromUsername(email);
-        String newRefreshToken = tokenProvider.generateRefreshToken(email);
+        // Same principal, and so the same enabled claim, as login
+        UserPrincipal principal = UserPrincipal.create(user);
+        if (!principal.isEnabled()) {
+            throw new DisabledException("User is disabled");
+        }
+        
+        String newRefreshToken = refreshTokenService.rotate(verifiedToken, user);
+        String newAccessToken = tokenProvider.generateToken(principal);
         
-        UserResponse userResponse = mapToUserResponse(user);
+        UserResponse userResponse = mapToUserResponse(principal);
         
         return new AuthResponse(newAccessToken, newRefreshToken, userResponse);
     }
     
     @Override
     public ApiResponse logout(String token) {
-        // In a production environment, you might want to blacklist the token
-        // For now, we'll just return a success response
+        // Only a token that verifies can be trusted to name its own jti
+        if (token != null) {
+            tokenProvider.verifyToken(token).ifPresent(verifiedToken ->
+                tokenRevocationStore.revoke(verifiedToken.getTokenId(), verifiedToken.getExpiresAtMillis()));
+        }
         logger.info("User logged out successfully");
         return new ApiResponse(true, "Logged out successfully");
     }
     
-    private UserResponse mapToUserResponse(User user) {
-        Set<String> roles = new HashSet<>();
-        if (user.getRoles() != null) {
-            roles = user.getRoles().stream()
-                .map(role -> role.getName().name())
-                .collect(Collectors.toSet());
-        }
+    private static boolean isUniqueViolation(DataIntegrityViolationException ex) {
+        return ex.getCause() instanceof ConstraintViolationException violation
+            && violation.getKind() == ConstraintViolationException.ConstraintKind.UNIQUE;
+    }
+    
+    private UserResponse mapToUserResponse(UserPrincipal principal) {
+        Set<String> roles = principal.getAuthorities().stream()
+            .map(authority -> authority.getAuthority().substring("ROLE_".length()))
+            .collect(Collectors.toSet());
         
         return new UserResponse(
-            user.getId(),
-            user.getFirstName(),
-            user.getLastName(),
-            user.getEmail(),
-            user.getEmailVerified(),
-            user.getProvider().name(),
-            user.getImageUrl(),
-            user.getCreatedAt(),
+            principal.getId(),
+            principal.getFirstName(),
+            principal.getLastName(),
+            principal.getEmail(),
+            principal.getEmailVerified(),
+            principal.getProvider(),
+            principal.getImageUrl(),
+            principal.getCreatedAt(),
             roles
         );
     }
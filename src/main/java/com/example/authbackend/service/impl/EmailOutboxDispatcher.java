@@ -0,0 +1,257 @@
+package com.example.authbackend.service.impl;
+
+import com.example.authbackend.config.EmailOutboxProperties;
+import com.example.authbackend.config.ExecutorConfig;
+import com.example.authbackend.entity.EmailOutboxMessage;
+import com.example.authbackend.repository.EmailOutboxRepository;
+import com.example.authbackend.service.EmailService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import org.eclipse.angus.mail.smtp.SMTPAddressFailedException;
+import org.eclipse.angus.mail.smtp.SMTPSendFailedException;
+import org.eclipse.angus.mail.smtp.SMTPSenderFailedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.mail.MailParseException;
+import org.springframework.mail.MailPreparationException;
+import org.springframework.mail.MailSendException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Drains the email outbox. Each round claims a batch of due rows with {@code FOR UPDATE SKIP LOCKED},
+ * pushes their due time out by the lease and commits, then sends them on the bounded mail executor
+ * outside any transaction. A send the executor rejects is released back to the outbox straight away.
+ * Several nodes can run this concurrently without sending a row twice, except when a node dies
+ * between sending and recording the result (delivery is at-least-once).
+ */
+@Component
+public class EmailOutboxDispatcher {
+    
+    private static final Logger logger = LoggerFactory.getLogger(EmailOutboxDispatcher.class);
+    
+    private static final int MAX_ERROR_LENGTH = 500;
+    
+    private final EmailOutboxRepository outboxRepository;
+    private final EmailService emailService;
+    private final EmailOutboxProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final AsyncTaskExecutor mailExecutor;
+    
+    private final Counter sentCounter;
+    private final Counter retriedCounter;
+    private final Counter failedCounter;
+    private final Counter releasedCounter;
+    private final Timer deliveryTimer;
+    
+    public EmailOutboxDispatcher(EmailOutboxRepository outboxRepository,
+                                 EmailService emailService,
+                                 EmailOutboxProperties properties,
+                                 PlatformTransactionManager transactionManager,
+                                 @Qualifier(ExecutorConfig.MAIL_EXECUTOR) AsyncTaskExecutor mailExecutor,
+                                 ObjectProvider<MeterRegistry> meterRegistry) {
+        this.outboxRepository = outboxRepository;
+        this.emailService = emailService;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.mailExecutor = mailExecutor;
+        
+        MeterRegistry registry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+        this.sentCounter = Counter.builder("email.outbox.sent").register(registry);
+        this.retriedCounter = Counter.builder("email.outbox.retried")
+                .description("Sends that failed and were rescheduled")
+                .register(registry);
+        this.failedCounter = Counter.builder("email.outbox.failed")
+                .description("Messages given up on")
+                .register(registry);
+        this.releasedCounter = Counter.builder("email.outbox.released")
+                .description("Claimed messages handed back because the mail executor was saturated")
+                .register(registry);
+        this.deliveryTimer = Timer.builder("email.outbox.delivery").register(registry);
+    }
+    
+    @Scheduled(fixedDelayString = "${app.email.outbox.poll-interval:PT5S}")
+    public void dispatchScheduled() {
+        if (properties.isDispatcherEnabled()) {
+            dispatch();
+        }
+    }
+    
+    /**
+     * Sends due messages batch by batch until a claim comes back short or the mail executor pushes
+     * back. Returns how many were attempted.
+     */
+    public int dispatch() {
+        int attempted = 0;
+        List<EmailOutboxMessage> batch;
+        boolean saturated = false;
+        do {
+            batch = claimBatch();
+            if (!batch.isEmpty()) {
+                int accepted = sendAll(batch);
+                attempted += accepted;
+                saturated = accepted < batch.size();
+            }
+        } while (batch.size() == properties.getBatchSize() && !saturated && !Thread.currentThread().isInterrupted());
+        return attempted;
+    }
+    
+    @Scheduled(fixedDelayString = "${app.email.outbox.purge-interval:PT1H}")
+    public void purgeFinished() {
+        int deleted = outboxRepository.deleteFinishedBefore(LocalDateTime.now().minus(properties.getRetention()));
+        if (deleted > 0) {
+            logger.info("Purged {} sent or failed outbox messages", deleted);
+        }
+    }
+    
+    private List<EmailOutboxMessage> claimBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime leaseUntil = now.plus(properties.getLease());
+        // The attempt count and lease are flushed as one batched UPDATE when the claim commits
+        return transactionTemplate.execute(status -> {
+            List<EmailOutboxMessage> due = outboxRepository.findDueForUpdate(now, properties.getBatchSize());
+            for (EmailOutboxMessage message : due) {
+                message.setAttempts(message.getAttempts() + 1);
+                message.setNextAttemptAt(leaseUntil);
+            }
+            return due;
+        });
+    }
+    
+    // Returns how many of the batch the executor accepted
+    private int sendAll(List<EmailOutboxMessage> batch) {
+        List<Future<?>> futures = new ArrayList<>(batch.size());
+        for (EmailOutboxMessage message : batch) {
+            try {
+                futures.add(mailExecutor.submit(() -> send(message)));
+            } catch (TaskRejectedException ex) {
+                // Undo the claim so the row is due again now instead of after the lease
+                outboxRepository.releaseClaim(message.getId(), LocalDateTime.now());
+                releasedCounter.increment();
+            }
+        }
+        if (futures.size() < batch.size()) {
+            logger.warn("Mail executor saturated, released {} of {} claimed outbox messages",
+                    batch.size() - futures.size(), batch.size());
+        }
+        
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                // Unsent rows stay claimed until the lease runs out and are picked up again
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException e) {
+                logger.error("Outbox send task failed", e.getCause());
+            }
+        }
+        return futures.size();
+    }
+    
+    private void send(EmailOutboxMessage message) {
+        long start = System.nanoTime();
+        try {
+            emailService.deliver(message);
+            outboxRepository.markSent(message.getId(), LocalDateTime.now());
+            sentCounter.increment();
+        } catch (Exception ex) {
+            String error = truncate(ex.getClass().getSimpleName() + ": " + ex.getMessage());
+            if (isPermanent(ex) || message.getAttempts() >= properties.getMaxAttempts()) {
+                logger.error("Giving up on {} email {} to {} after {} attempts", message.getEmailType(),
+                        message.getId(), message.getRecipient(), message.getAttempts(), ex);
+                outboxRepository.markFailed(message.getId(), error);
+                failedCounter.increment();
+            } else {
+                Duration delay = backoff(message.getAttempts());
+                logger.warn("Sending {} email {} failed (attempt {}), retrying in {}: {}", message.getEmailType(),
+                        message.getId(), message.getAttempts(), delay, error);
+                outboxRepository.scheduleRetry(message.getId(), LocalDateTime.now().plus(delay), error);
+                retriedCounter.increment();
+            }
+        } finally {
+            deliveryTimer.record(Duration.ofNanos(System.nanoTime() - start));
+        }
+    }
+    
+    /**
+     * Exponential backoff from the initial delay, capped, with up to 20% jitter so messages that
+     * failed together do not all retry in the same round.
+     */
+    Duration backoff(int attempts) {
+        long initialMillis = properties.getInitialBackoff().toMillis();
+        long maxMillis = properties.getMaxBackoff().toMillis();
+        int exponent = Math.min(Math.max(attempts - 1, 0), 30);
+        long delayMillis = Math.min(maxMillis, initialMillis << exponent);
+        if (delayMillis < 0) {
+            delayMillis = maxMillis;
+        }
+        long jitter = (long) (delayMillis * 0.2 * ThreadLocalRandom.current().nextDouble());
+        return Duration.ofMillis(delayMillis + jitter);
+    }
+    
+    // The message itself cannot be built, or the server rejected it for good; sending it again will not help
+    private static boolean isPermanent(Exception ex) {
+        List<Throwable> causes = new ArrayList<>();
+        collectCauses(ex, causes);
+        boolean sendFailed = false;
+        for (Throwable cause : causes) {
+            int returnCode = smtpReturnCode(cause);
+            if (returnCode > 0) {
+                return returnCode >= 500;
+            }
+            sendFailed |= cause instanceof SendFailedException;
+        }
+        return sendFailed
+                || ex instanceof MessagingException
+                || ex instanceof MailPreparationException
+                || ex instanceof MailParseException;
+    }
+    
+    // Cause chain, plus the per-message exceptions a MailSendException may carry instead of a cause
+    private static void collectCauses(Throwable ex, List<Throwable> causes) {
+        for (Throwable cause = ex; cause != null && !causes.contains(cause); cause = cause.getCause()) {
+            causes.add(cause);
+            if (cause instanceof MailSendException sendException) {
+                for (Exception messageException : sendException.getMessageExceptions()) {
+                    collectCauses(messageException, causes);
+                }
+            }
+        }
+    }
+    
+    private static int smtpReturnCode(Throwable ex) {
+        if (ex instanceof SMTPSendFailedException smtp) {
+            return smtp.getReturnCode();
+        }
+        if (ex instanceof SMTPAddressFailedException smtp) {
+            return smtp.getReturnCode();
+        }
+        if (ex instanceof SMTPSenderFailedException smtp) {
+            return smtp.getReturnCode();
+        }
+        return -1;
+    }
+    
+    private static String truncate(String error) {
+        return error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -1,17 +1,18 @@
 package com.example.authbackend.service.impl;
 
+import com.example.authbackend.entity.EmailOutboxMessage;
+import com.example.authbackend.entity.EmailType;
 import com.example.authbackend.entity.User;
+import com.example.authbackend.repository.EmailOutboxRepository;
 import com.example.authbackend.service.EmailService;
 import com.example.authbackend.util.EmailTemplates;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.MailException;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
@@ -22,7 +23,10 @@ public class EmailServiceImpl implements EmailService {
     private static final Logger logger = LoggerFactory.getLogger(EmailServiceImpl.class);
     
     @Autowired
-    private JavaMailSender mailSender;
+    private SmtpConnectionPool smtpConnectionPool;
+    
+    @Autowired
+    private EmailOutboxRepository outboxRepository;
     
     @Value("${app.email.from}")
     private String fromEmail;
@@ -34,75 +38,50 @@ public class EmailServiceImpl implements EmailService {
     private String serverPort;
     
     @Override
-    @Async
+    @Transactional
     public void sendEmailVerification(User user, String token) {
-        try {
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true);
-            
-            helper.setFrom(fromEmail);
-            helper.setTo(user.getEmail());
-            helper.setSubject("Email Verification - Your App");
-            
-            String verificationUrl = "http://localhost:" + serverPort + contextPath + "/auth/verify-email?token=" + token;
-            String htmlContent = EmailTemplates.getEmailVerificationTemplate(user.getFirstName(), verificationUrl);
-            
-            helper.setText(htmlContent, true);
-            
-            mailSender.send(message);
-            logger.info("Email verification sent to: {}", user.getEmail());
-            
-        } catch (MessagingException | MailException e) {
-            logger.error("Failed to send email verification to: {}", user.getEmail(), e);
-            throw new RuntimeException("Failed to send email verification", e);
-        }
+        outboxRepository.save(new EmailOutboxMessage(EmailType.VERIFICATION, user, token));
     }
     
     @Override
-    @Async
+    @Transactional
     public void sendPasswordResetEmail(User user, String token) {
-        try {
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true);
-            
-            helper.setFrom(fromEmail);
-            helper.setTo(user.getEmail());
-            helper.setSubject("Password Reset - Your App");
-            
-            String resetUrl = "http://localhost:3000/reset-password?token=" + token;
-            String htmlContent = EmailTemplates.getPasswordResetTemplate(user.getFirstName(), resetUrl);
-            
-            helper.setText(htmlContent, true);
-            
-            mailSender.send(message);
-            logger.info("Password reset email sent to: {}", user.getEmail());
-            
-        } catch (MessagingException | MailException e) {
-            logger.error("Failed to send password reset email to: {}", user.getEmail(), e);
-            throw new RuntimeException("Failed to send password reset email", e);
-        }
+        outboxRepository.save(new EmailOutboxMessage(EmailType.PASSWORD_RESET, user, token));
     }
     
     @Override
-    @Async
+    @Transactional
     public void sendWelcomeEmail(User user) {
-        try {
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true);
-            
-            helper.setFrom(fromEmail);
-            helper.setTo(user.getEmail());
-            helper.setSubject("Welcome to Your App!");
-            
-            String htmlContent = EmailTemplates.getWelcomeTemplate(user.getFirstName());
-            
-            helper.setText(htmlContent, true);
-            
-            mailSender.send(message);
-            logger.info("Welcome email sent to: {}", user.getEmail());
-            
-        } catch (MessagingException | MailException e) {
-            logger.error("Failed to send welcome email to: {}", user.getEmail(), e);
+        outboxRepository.save(new EmailOutboxMessage(EmailType.WELCOME, user, null));
+    }
+    
+    @Override
+    public void deliver(EmailOutboxMessage outboxMessage) throws MessagingException {
+        MimeMessage message = smtpConnectionPool.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true);
+        
+        helper.setFrom(fromEmail);
+        helper.setTo(outboxMessage.getRecipient());
+        
+        switch (outboxMessage.getEmailType()) {
+            case VERIFICATION -> {
+                helper.setSubject("Email Verification - Your App");
+                String verificationUrl = "http://localhost:" + serverPort + contextPath + "/auth/verify-email?token="
+                        + outboxMessage.getToken();
+                helper.setText(EmailTemplates.getEmailVerificationTemplate(outboxMessage.getRecipientName(), verificationUrl), true);
+            }
+            case PASSWORD_RESET -> {
+                helper.setSubject("Password Reset - Your App");
+                String resetUrl = "http://localhost:3000/reset-password?token=" + outboxMessage.getToken();
+                helper.setText(EmailTemplates.getPasswordResetTemplate(outboxMessage.getRecipientName(), resetUrl), true);
+            }
+            case WELCOME -> {
+                helper.setSubject("Welcome to Your App!");
+                helper.setText(EmailTemplates.getWelcomeTemplate(outboxMessage.getRecipientName()), true);
+            }
         }
+        
+        smtpConnectionPool.send(message);
+        logger.info("{} email sent to: {}", outboxMessage.getEmailType(), outboxMessage.getRecipient());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,80 @@
+package com.example.authbackend.service.impl;
+
+import com.example.authbackend.entity.SchedulerLock;
+import com.example.authbackend.repository.SchedulerLockRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Lease-based lock in the scheduler_locks table, so a job runs on one node at a time. Each
+ * call commits on its own. A holder renews the lease while it works; if it dies, the lock
+ * is free once the lease runs out. Node clocks are assumed to agree to well within a lease.
+ */
+@Component
+public class LeaderLock {
+    
+    private static final Logger logger = LoggerFactory.getLogger(LeaderLock.class);
+    
+    private final SchedulerLockRepository lockRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final String owner;
+    
+    public LeaderLock(SchedulerLockRepository lockRepository, PlatformTransactionManager transactionManager) {
+        this.lockRepository = lockRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.owner = hostName() + "/" + UUID.randomUUID().toString().substring(0, 8);
+    }
+    
+    /**
+     * Takes the lock, or extends it if this node already holds it. Returns false while another
+     * node holds an unexpired lease.
+     */
+    public boolean tryAcquire(String name, Duration lease) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime until = now.plus(lease);
+        try {
+            return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                if (lockRepository.tryAcquire(name, owner, now, until) == 1) {
+                    return true;
+                }
+                if (lockRepository.existsById(name)) {
+                    return false;
+                }
+                // First use of this lock name; of two nodes racing here, one insert fails
+                lockRepository.saveAndFlush(new SchedulerLock(name, owner, now, until));
+                return true;
+            }));
+        } catch (DataIntegrityViolationException ex) {
+            logger.debug("Lost the race to create lock {}", name);
+            return false;
+        }
+    }
+    
+    public void release(String name) {
+        transactionTemplate.executeWithoutResult(status -> lockRepository.release(name, owner, LocalDateTime.now()));
+    }
+    
+    public String getOwner() {
+        return owner;
+    }
+    
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException ex) {
+            return "unknown-host";
+        }
+    }
+}
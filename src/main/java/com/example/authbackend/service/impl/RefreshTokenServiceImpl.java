@@ -0,0 +1,102 @@
+package com.example.authbackend.service.impl;
+
+import com.example.authbackend.entity.RefreshToken;
+import com.example.authbackend.entity.User;
+import com.example.authbackend.exception.InvalidTokenException;
+import com.example.authbackend.repository.RefreshTokenRepository;
+import com.example.authbackend.repository.UserRepository;
+import com.example.authbackend.security.JwtTokenProvider;
+import com.example.authbackend.security.VerifiedToken;
+import com.example.authbackend.service.RefreshTokenService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Refresh tokens are single use. Each exchange marks the presented token as used and issues a
+ * successor in the same family; presenting a used token again means it was copied, so the whole
+ * family is revoked and the legitimate holder has to log in again.
+ */
+@Service
+@Transactional
+public class RefreshTokenServiceImpl implements RefreshTokenService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenServiceImpl.class);
+    
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+    
+    // Only a reference to the user is needed for the foreign key, so issuing costs just the INSERT
+    @Override
+    public String issue(Long userId, String email) {
+        return create(userRepository.getReferenceById(userId), email, UUID.randomUUID().toString());
+    }
+    
+    // The family revocation must survive the InvalidTokenException thrown for a reused token
+    @Override
+    @Transactional(noRollbackFor = InvalidTokenException.class)
+    public String rotate(VerifiedToken refreshToken, User user) {
+        String familyId = refreshToken.getFamilyId();
+        if (refreshToken.getTokenId() == null || familyId == null) {
+            throw new InvalidTokenException("Invalid refresh token");
+        }
+        
+        int claimed = refreshTokenRepository.markUsed(hash(refreshToken.getTokenId()), familyId, LocalDateTime.now());
+        if (claimed == 0) {
+            int revoked = refreshTokenRepository.revokeFamily(familyId);
+            logger.warn("Refresh token reuse or revoked token for user {}; revoked {} tokens in its family",
+                user.getEmail(), revoked);
+            throw new InvalidTokenException("Invalid refresh token");
+        }
+        
+        return create(user, user.getEmail(), familyId);
+    }
+    
+    @Override
+    public void revokeAllForUser(Long userId) {
+        refreshTokenRepository.revokeAllByUserId(userId);
+    }
+    
+    // Used tokens are kept until expiry so a late replay is still recognised as reuse
+    @Scheduled(fixedDelayString = "${app.jwt.refresh-token.purge-interval:PT1H}")
+    public void purgeExpired() {
+        int deleted = refreshTokenRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            logger.info("Purged {} expired refresh tokens", deleted);
+        }
+    }
+    
+    private String create(User user, String email, String familyId) {
+        String tokenId = UUID.randomUUID().toString();
+        LocalDateTime expiresAt = LocalDateTime.now().plus(Duration.ofMillis(tokenProvider.getRefreshTokenExpirationInMs()));
+        
+        refreshTokenRepository.save(new RefreshToken(hash(tokenId), familyId, user, expiresAt));
+        return tokenProvider.generateRefreshToken(email, tokenId, familyId);
+    }
+    
+    private static String hash(String tokenId) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(tokenId.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
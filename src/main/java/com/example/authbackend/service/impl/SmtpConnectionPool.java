@@ -0,0 +1,223 @@
+package com.example.authbackend.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.AuthenticationFailedException;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailAuthenticationException;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps up to {@code max-connections} connected and authenticated SMTP transports and sends each
+ * message over one of them, instead of {@link JavaMailSender#send} opening a new TCP connection,
+ * STARTTLS handshake and AUTH per message.
+ *
+ * <p>Idle transports are reused most-recently-used first, so under light load the surplus ages out
+ * and is closed after {@code idle-timeout}. A transport is closed after any failed send since its
+ * state is then unknown, and after {@code max-messages-per-connection} because many servers limit
+ * messages per session.
+ */
+@Component
+public class SmtpConnectionPool {
+    
+    private static final Logger logger = LoggerFactory.getLogger(SmtpConnectionPool.class);
+    
+    private final JavaMailSender mailSender;
+    private final boolean enabled;
+    private final long idleTimeoutMillis;
+    private final int maxMessagesPerConnection;
+    private final Duration acquireTimeout;
+    
+    private final Semaphore permits;
+    private final BlockingDeque<PooledTransport> idle = new LinkedBlockingDeque<>();
+    private final Counter openedCounter;
+    
+    public SmtpConnectionPool(JavaMailSender mailSender,
+                              @Value("${app.email.smtp-pool.enabled:true}") boolean enabled,
+                              @Value("${app.email.smtp-pool.max-connections:4}") int maxConnections,
+                              @Value("${app.email.smtp-pool.idle-timeout:PT30S}") Duration idleTimeout,
+                              @Value("${app.email.smtp-pool.max-messages-per-connection:100}") int maxMessagesPerConnection,
+                              @Value("${app.email.smtp-pool.acquire-timeout:PT10S}") Duration acquireTimeout,
+                              ObjectProvider<MeterRegistry> meterRegistry) {
+        this.mailSender = mailSender;
+        // Pooling needs the session and credentials only JavaMailSenderImpl exposes
+        this.enabled = enabled && mailSender instanceof JavaMailSenderImpl;
+        this.idleTimeoutMillis = idleTimeout.toMillis();
+        this.maxMessagesPerConnection = Math.max(1, maxMessagesPerConnection);
+        this.acquireTimeout = acquireTimeout;
+        this.permits = new Semaphore(Math.max(1, maxConnections));
+        
+        MeterRegistry registry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+        Gauge.builder("smtp.pool.idle", idle, BlockingDeque::size)
+                .description("Connected SMTP transports waiting to be reused")
+                .register(registry);
+        this.openedCounter = Counter.builder("smtp.pool.opened")
+                .description("SMTP connections opened")
+                .register(registry);
+    }
+    
+    public MimeMessage createMimeMessage() {
+        return mailSender.createMimeMessage();
+    }
+    
+    public void send(MimeMessage message) throws MailException {
+        if (!enabled) {
+            mailSender.send(message);
+            return;
+        }
+        
+        acquirePermit();
+        PooledTransport pooled = null;
+        boolean reusable = false;
+        try {
+            pooled = borrow();
+            prepare(message);
+            pooled.transport.sendMessage(message, message.getAllRecipients());
+            pooled.messagesSent++;
+            reusable = pooled.messagesSent < maxMessagesPerConnection;
+        } catch (MessagingException ex) {
+            throw new MailSendException("Failed to send message", ex);
+        } finally {
+            if (pooled != null) {
+                if (reusable) {
+                    pooled.lastUsedMillis = System.currentTimeMillis();
+                    idle.offerFirst(pooled);
+                } else {
+                    close(pooled);
+                }
+            }
+            permits.release();
+        }
+    }
+    
+    public int getIdleCount() {
+        return idle.size();
+    }
+    
+    public long getOpenedCount() {
+        return (long) openedCounter.count();
+    }
+    
+    // Least recently used transports sit at the tail of the deque
+    @Scheduled(fixedDelayString = "${app.email.smtp-pool.eviction-interval:PT15S}")
+    public void evictIdle() {
+        long cutoff = System.currentTimeMillis() - idleTimeoutMillis;
+        Iterator<PooledTransport> iterator = idle.descendingIterator();
+        while (iterator.hasNext()) {
+            PooledTransport pooled = iterator.next();
+            if (pooled.lastUsedMillis < cutoff && idle.removeLastOccurrence(pooled)) {
+                close(pooled);
+            }
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        PooledTransport pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            close(pooled);
+        }
+    }
+    
+    private void acquirePermit() {
+        try {
+            if (!permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new MailSendException("No SMTP connection available within " + acquireTimeout);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MailSendException("Interrupted while waiting for an SMTP connection");
+        }
+    }
+    
+    private PooledTransport borrow() {
+        long cutoff = System.currentTimeMillis() - idleTimeoutMillis;
+        PooledTransport pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            // isConnected() costs a NOOP round trip but catches connections the server has dropped
+            if (pooled.lastUsedMillis >= cutoff && pooled.transport.isConnected()) {
+                return pooled;
+            }
+            close(pooled);
+        }
+        return connect();
+    }
+    
+    private PooledTransport connect() {
+        JavaMailSenderImpl sender = (JavaMailSenderImpl) mailSender;
+        // Same protocol and credential defaults as JavaMailSenderImpl
+        String protocol = sender.getProtocol();
+        if (protocol == null) {
+            protocol = sender.getSession().getProperty("mail.transport.protocol");
+        }
+        String username = sender.getUsername();
+        String password = sender.getPassword();
+        if ("".equals(username)) {
+            username = null;
+            password = "".equals(password) ? null : password;
+        }
+        try {
+            Transport transport = sender.getSession().getTransport(protocol != null ? protocol : JavaMailSenderImpl.DEFAULT_PROTOCOL);
+            transport.connect(sender.getHost(), sender.getPort(), username, password);
+            openedCounter.increment();
+            return new PooledTransport(transport);
+        } catch (AuthenticationFailedException ex) {
+            throw new MailAuthenticationException(ex);
+        } catch (MessagingException ex) {
+            throw new MailSendException("Could not connect to SMTP server " + sender.getHost(), ex);
+        }
+    }
+    
+    // What JavaMailSenderImpl does before handing a message to the transport
+    private static void prepare(MimeMessage message) throws MessagingException {
+        if (message.getSentDate() == null) {
+            message.setSentDate(new Date());
+        }
+        String messageId = message.getMessageID();
+        message.saveChanges();
+        if (messageId != null) {
+            message.setHeader("Message-ID", messageId);
+        }
+    }
+    
+    private static void close(PooledTransport pooled) {
+        try {
+            pooled.transport.close();
+        } catch (MessagingException ex) {
+            logger.debug("Error closing SMTP connection: {}", ex.getMessage());
+        }
+    }
+    
+    private static final class PooledTransport {
+        
+        private final Transport transport;
+        private int messagesSent;
+        private volatile long lastUsedMillis = System.currentTimeMillis();
+        
+        private PooledTransport(Transport transport) {
+            this.transport = transport;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.authbackend.service.impl;
+
+import com.example.authbackend.dto.request.UserExportFilter;
+import com.example.authbackend.dto.response.UserResponse;
+import com.example.authbackend.repository.UserExportRepository;
+import com.example.authbackend.service.UserExportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+public class UserExportServiceImpl implements UserExportService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(UserExportServiceImpl.class);
+    
+    private static final int BUFFER_SIZE = 64 * 1024;
+    
+    private static final String CSV_HEADER =
+            "id,first_name,last_name,email,email_verified,provider,image_url,created_at,roles";
+    
+    // OWASP CSV injection list: cells starting with these are treated as formulas by spreadsheets
+    private static final String FORMULA_PREFIXES = "=+-@\t\r";
+    
+    private final UserExportRepository exportRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectWriter jsonWriter;
+    
+    public UserExportServiceImpl(UserExportRepository exportRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 ObjectMapper objectMapper) {
+        this.exportRepository = exportRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.jsonWriter = objectMapper.writerFor(UserResponse.class);
+    }
+    
+    @Override
+    public long exportUsers(UserExportFilter filter, Format format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        if (format == Format.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+        
+        long rows;
+        try {
+            // The transaction keeps the cursor open; rows go out as they are read, never collected
+            rows = transactionTemplate.execute(status -> {
+                try (Stream<UserResponse> users = exportRepository.streamUsers(filter)) {
+                    long count = 0;
+                    for (Iterator<UserResponse> it = users.iterator(); it.hasNext(); count++) {
+                        if (format == Format.CSV) {
+                            writeCsv(writer, it.next());
+                        } else {
+                            writer.write(jsonWriter.writeValueAsString(it.next()));
+                            writer.write('\n');
+                        }
+                    }
+                    return count;
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+        writer.flush();
+        
+        logger.info("Exported {} users as {}", rows, format);
+        return rows;
+    }
+    
+    private static void writeCsv(Writer writer, UserResponse user) throws IOException {
+        writer.write(String.valueOf(user.getId()));
+        writer.write(',');
+        writeCsvField(writer, user.getFirstName());
+        writer.write(',');
+        writeCsvField(writer, user.getLastName());
+        writer.write(',');
+        writeCsvField(writer, user.getEmail());
+        writer.write(',');
+        writer.write(String.valueOf(user.getEmailVerified()));
+        writer.write(',');
+        writeCsvField(writer, user.getProvider());
+        writer.write(',');
+        writeCsvField(writer, user.getImageUrl());
+        writer.write(',');
+        writeCsvField(writer, user.getCreatedAt() != null ? user.getCreatedAt().toString() : null);
+        writer.write(',');
+        writeCsvField(writer, String.join(";", user.getRoles().stream().sorted().toList()));
+        writer.write('\n');
+    }
+    
+    // RFC 4180: quote fields containing a separator, quote or line break, doubling embedded quotes.
+    // Values a spreadsheet would evaluate as a formula get a leading apostrophe first.
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        if (FORMULA_PREFIXES.indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
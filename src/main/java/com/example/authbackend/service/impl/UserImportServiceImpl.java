@@ -0,0 +1,213 @@
+package com.example.authbackend.service.impl;
+
+import com.example.authbackend.dto.request.UserImportRow;
+import com.example.authbackend.dto.response.UserImportResponse;
+import com.example.authbackend.entity.RoleName;
+import com.example.authbackend.repository.UserImportRepository;
+import com.example.authbackend.repository.UserImportRepository.NewUser;
+import com.example.authbackend.security.RoleRegistry;
+import com.example.authbackend.service.UserImportService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+@Service
+public class UserImportServiceImpl implements UserImportService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(UserImportServiceImpl.class);
+    
+    // Formats PasswordEncoderCalibrator can verify; bare bcrypt hashes are matched as bcrypt
+    private static final Pattern SUPPORTED_HASH = Pattern.compile(
+            "\\{(bcrypt|argon2|pbkdf2|scrypt)}.+|\\$2[aby]?\\$\\d{2}\\$[./A-Za-z0-9]{53}");
+    
+    private final UserImportRepository importRepository;
+    private final RoleRegistry roleRegistry;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectReader rowReader;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+    
+    public UserImportServiceImpl(UserImportRepository importRepository,
+                                 RoleRegistry roleRegistry,
+                                 Validator validator,
+                                 PlatformTransactionManager transactionManager,
+                                 ObjectMapper objectMapper,
+                                 @Value("${app.users.import.chunk-size:1000}") int chunkSize,
+                                 @Value("${app.users.import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.importRepository = importRepository;
+        this.roleRegistry = roleRegistry;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.rowReader = objectMapper.readerFor(UserImportRow.class);
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+    
+    private record PendingRow(long row, UserImportRow user, List<Long> roleIds) {
+    }
+    
+    @Override
+    public UserImportResponse importUsers(InputStream in) throws IOException {
+        UserImportResponse result = new UserImportResponse(maxReportedErrors);
+        long startNanos = System.nanoTime();
+        
+        // Read lazily, so only one chunk of rows is ever held in memory
+        try (MappingIterator<UserImportRow> rows = rowReader.readValues(in)) {
+            List<PendingRow> chunk = new ArrayList<>(chunkSize);
+            long row = 0;
+            while (true) {
+                UserImportRow user;
+                try {
+                    if (!rows.hasNextValue()) {
+                        break;
+                    }
+                    user = rows.nextValue();
+                } catch (JsonProcessingException ex) {
+                    result.abort(row + 1, "Malformed input: " + ex.getOriginalMessage());
+                    break;
+                }
+                row++;
+                result.addReceived();
+                
+                String error = validate(user);
+                if (error != null) {
+                    result.addError(row, user.getEmail(), error);
+                    continue;
+                }
+                chunk.add(new PendingRow(row, user, roleIds(user)));
+                if (chunk.size() == chunkSize) {
+                    importChunk(chunk, result);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                importChunk(chunk, result);
+            }
+        }
+        
+        double seconds = Math.max(1e-9, (System.nanoTime() - startNanos) / 1e9);
+        logger.info("Imported {} of {} users in {}s ({} rows/s), {} failed", result.getImported(),
+                result.getReceived(), String.format("%.1f", seconds), Math.round(result.getImported() / seconds),
+                result.getFailed());
+        return result;
+    }
+    
+    private void importChunk(List<PendingRow> chunk, UserImportResponse result) {
+        // Rows of earlier chunks are committed by now, so this also catches duplicates across chunks
+        Set<String> taken = importRepository.findExistingEmails(
+                chunk.stream().map(pending -> pending.user().getEmail()).collect(Collectors.toSet()));
+        Set<String> seen = new HashSet<>();
+        List<PendingRow> accepted = new ArrayList<>(chunk.size());
+        for (PendingRow pending : chunk) {
+            String email = pending.user().getEmail();
+            if (taken.contains(email) || !seen.add(email)) {
+                result.addError(pending.row(), email, "Email address already in use");
+            } else {
+                accepted.add(pending);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+        
+        List<Long> ids = importRepository.allocateIds(accepted.size());
+        List<NewUser> users = new ArrayList<>(accepted.size());
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < accepted.size(); i++) {
+            users.add(toNewUser(ids.get(i), accepted.get(i), now));
+        }
+        
+        try {
+            transactionTemplate.executeWithoutResult(status -> importRepository.insertAll(users));
+            result.addImported(users.size());
+        } catch (DataIntegrityViolationException ex) {
+            // An email was registered since the check above; retry row by row to isolate it
+            logger.warn("Chunk of {} users rejected, retrying row by row: {}", users.size(), ex.getMessage());
+            for (int i = 0; i < users.size(); i++) {
+                NewUser user = users.get(i);
+                try {
+                    transactionTemplate.executeWithoutResult(status -> importRepository.insertAll(List.of(user)));
+                    result.addImported(1);
+                } catch (DataIntegrityViolationException rowEx) {
+                    result.addError(accepted.get(i).row(), user.email(), "Email address already in use");
+                }
+            }
+        }
+    }
+    
+    private String validate(UserImportRow user) {
+        Set<ConstraintViolation<UserImportRow>> violations = validator.validate(user);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        if (!SUPPORTED_HASH.matcher(user.getPasswordHash()).matches()) {
+            return "Unsupported password hash format";
+        }
+        if (user.getRoles() != null) {
+            for (String role : user.getRoles()) {
+                if (!roleRegistry.getRoleIds().containsKey(roleName(role))) {
+                    return "Unknown role: " + role;
+                }
+            }
+        }
+        return null;
+    }
+    
+    private List<Long> roleIds(UserImportRow user) {
+        Map<RoleName, Long> roleIds = roleRegistry.getRoleIds();
+        if (user.getRoles() == null || user.getRoles().isEmpty()) {
+            return List.of(roleIds.get(RoleName.USER));
+        }
+        return user.getRoles().stream().map(role -> roleIds.get(roleName(role))).distinct().toList();
+    }
+    
+    private static RoleName roleName(String role) {
+        if (role == null) {
+            return null;
+        }
+        try {
+            return RoleName.valueOf(role.trim().toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+    
+    private static NewUser toNewUser(long id, PendingRow pending, LocalDateTime now) {
+        UserImportRow user = pending.user();
+        return new NewUser(
+            id,
+            user.getFirstName(),
+            user.getLastName(),
+            user.getEmail(),
+            user.getPasswordHash(),
+            user.getEmailVerified() == null || user.getEmailVerified(),
+            user.getCreatedAt() != null ? user.getCreatedAt() : now,
+            pending.roleIds()
+        );
+    }
+}
@@ -1,20 +1,34 @@
 // UserServiceImpl.java
 package com.example.authbackend.service.impl;
 
+import com.example.authbackend.dto.response.CursorPageResponse;
 import com.example.authbackend.dto.response.UserResponse;
 import com.example.authbackend.entity.User;
+import com.example.authbackend.event.UserChangedEvent;
 import com.example.authbackend.exception.UserNotFoundException;
 import com.example.authbackend.repository.UserRepository;
+import com.example.authbackend.repository.projection.UserRoleName;
+import com.example.authbackend.repository.projection.UserSummary;
+import com.example.authbackend.service.RefreshTokenService;
 import com.example.authbackend.service.UserService;
+import com.example.authbackend.util.KeysetCursor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -30,29 +44,57 @@ public class UserServiceImpl implements UserService {
     @Autowired
     private PasswordEncoder passwordEncoder;
     
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+    
+    @Value("${app.users.page.max-size:100}")
+    private int maxPageSize;
+    
     @Override
     @Transactional(readOnly = true)
     public UserResponse getCurrentUser(String email) {
-        User user = userRepository.findByEmail(email)
+        UserSummary user = userRepository.findSummaryByEmail(email)
             .orElseThrow(() -> new UserNotFoundException("User not found with email: " + email));
         
-        return mapToUserResponse(user);
+        return toUserResponses(List.of(user)).get(0);
     }
     
     @Override
     @Transactional(readOnly = true)
     public UserResponse getUserById(Long id) {
-        User user = userRepository.findById(id)
+        UserSummary user = userRepository.findSummaryById(id)
             .orElseThrow(() -> new UserNotFoundException("User not found with id: " + id));
         
-        return mapToUserResponse(user);
+        return toUserResponses(List.of(user)).get(0);
     }
     
     @Override
     @Transactional(readOnly = true)
     public Page<UserResponse> getAllUsers(Pageable pageable) {
-        Page<User> users = userRepository.findAll(pageable);
-        return users.map(this::mapToUserResponse);
+        Page<UserSummary> users = userRepository.findAllSummaries(pageable);
+        return new PageImpl<>(toUserResponses(users.getContent()), users.getPageable(), users.getTotalElements());
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<UserResponse> getUsersPage(String cursor, int size, boolean includeTotal) {
+        int pageSize = Math.max(1, Math.min(size, maxPageSize));
+        long beforeId = cursor == null || cursor.isBlank() ? Long.MAX_VALUE : KeysetCursor.decode(cursor);
+        
+        // One extra row tells whether another page exists without counting the table
+        List<UserSummary> users = userRepository.findSummariesBefore(beforeId, Limit.of(pageSize + 1));
+        boolean hasNext = users.size() > pageSize;
+        if (hasNext) {
+            users = users.subList(0, pageSize);
+        }
+        
+        List<UserResponse> content = toUserResponses(users);
+        String nextCursor = hasNext ? KeysetCursor.encode(users.get(users.size() - 1).id()) : null;
+        Long total = includeTotal ? userRepository.count() : null;
+        return new CursorPageResponse<>(content, pageSize, nextCursor, total);
     }
     
     @Override
@@ -72,6 +114,7 @@ public class UserServiceImpl implements UserService {
         }
         
         User updatedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId(), user.getEmail()));
         logger.info("User {} updated successfully", user.getEmail());
         
         return mapToUserResponse(updatedUser);
@@ -83,6 +126,7 @@ public class UserServiceImpl implements UserService {
             .orElseThrow(() -> new UserNotFoundException("User not found with id: " + id));
         
         userRepository.delete(user);
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId(), user.getEmail()));
         logger.info("User {} deleted successfully", user.getEmail());
     }
     
@@ -96,14 +140,55 @@ public class UserServiceImpl implements UserService {
             return false;
         }
         
-        // Update password
+        // Update password and invalidate every token issued with the old one
         user.setPassword(passwordEncoder.encode(newPassword));
+        user.setTokenVersion(user.getTokenVersion() + 1);
         userRepository.save(user);
+        refreshTokenService.revokeAllForUser(user.getId());
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId(), user.getEmail()));
         
         logger.info("Password changed successfully for user {}", email);
         return true;
     }
     
+    @Override
+    public void revokeAllTokens(Long id) {
+        // One update; the filter rejects older tokens once the cached version is evicted after commit
+        if (userRepository.incrementTokenVersion(id) == 0) {
+            throw new UserNotFoundException("User not found with id: " + id);
+        }
+        refreshTokenService.revokeAllForUser(id);
+        eventPublisher.publishEvent(new UserChangedEvent(id, null));
+        
+        logger.info("Revoked all tokens for user {}", id);
+    }
+    
+    // Roles for all the given users in one IN query, so a page costs two statements whatever its size
+    private List<UserResponse> toUserResponses(List<UserSummary> users) {
+        if (users.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Set<String>> rolesByUser = new HashMap<>();
+        List<Long> ids = users.stream().map(UserSummary::id).toList();
+        for (UserRoleName userRole : userRepository.findRoleNamesByUserIdIn(ids)) {
+            rolesByUser.computeIfAbsent(userRole.userId(), id -> new HashSet<>()).add(userRole.role().name());
+        }
+        
+        return users.stream()
+            .map(user -> new UserResponse(
+                user.id(),
+                user.firstName(),
+                user.lastName(),
+                user.email(),
+                user.emailVerified(),
+                user.provider().name(),
+                user.imageUrl(),
+                user.createdAt(),
+                rolesByUser.getOrDefault(user.id(), Set.of())
+            ))
+            .toList();
+    }
+    
     private UserResponse mapToUserResponse(User user) {
         Set<String> roles = user.getRoles().stream()
             .map(role -> role.getName().name())
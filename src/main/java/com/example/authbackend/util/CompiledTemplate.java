@@ -0,0 +1,142 @@
+package com.example.authbackend.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * HTML template parsed once into literal segments and placeholder slots, so rendering is a
+ * sequence of appends. Placeholders are written {@code {{name}}} or {@code {{name:url}}}.
+ *
+ * <p>Every value is HTML-escaped, which is safe in element text and in quoted attributes.
+ * {@code url} placeholders additionally only accept http and https links.
+ */
+public final class CompiledTemplate {
+    
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{\\{(\\w+)(?::(\\w+))?}}");
+    
+    // Output builders above this size are not kept for reuse
+    private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+    
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(StringBuilder::new);
+    
+    public enum Type {
+        TEXT,
+        URL
+    }
+    
+    private final String[] literals;
+    private final int[] slots;
+    private final Type[] types;
+    private final int parameterCount;
+    
+    // Length of the last rendered output, used to presize the builder
+    private volatile int sizeHint;
+    
+    private CompiledTemplate(String[] literals, int[] slots, Type[] types, int parameterCount, int sizeHint) {
+        this.literals = literals;
+        this.slots = slots;
+        this.types = types;
+        this.parameterCount = parameterCount;
+        this.sizeHint = sizeHint;
+    }
+    
+    /**
+     * @param parameterNames placeholder names in the order {@link #render} takes their values
+     */
+    public static CompiledTemplate compile(String source, String... parameterNames) {
+        List<String> names = Arrays.asList(parameterNames);
+        List<String> literals = new ArrayList<>();
+        List<Integer> slots = new ArrayList<>();
+        List<Type> types = new ArrayList<>();
+        
+        Matcher matcher = PLACEHOLDER.matcher(source);
+        int position = 0;
+        int literalLength = 0;
+        while (matcher.find()) {
+            int slot = names.indexOf(matcher.group(1));
+            if (slot < 0) {
+                throw new IllegalArgumentException("Undeclared template placeholder: " + matcher.group(1));
+            }
+            String literal = source.substring(position, matcher.start());
+            literals.add(literal);
+            literalLength += literal.length();
+            slots.add(slot);
+            types.add(matcher.group(2) == null ? Type.TEXT : Type.valueOf(matcher.group(2).toUpperCase()));
+            position = matcher.end();
+        }
+        String tail = source.substring(position);
+        literals.add(tail);
+        literalLength += tail.length();
+        
+        return new CompiledTemplate(
+                literals.toArray(String[]::new),
+                slots.stream().mapToInt(Integer::intValue).toArray(),
+                types.toArray(Type[]::new),
+                parameterNames.length,
+                literalLength);
+    }
+    
+    public String render(String... values) {
+        if (values.length != parameterCount) {
+            throw new IllegalArgumentException("Expected " + parameterCount + " template values, got " + values.length);
+        }
+        
+        StringBuilder out = BUFFER.get();
+        out.setLength(0);
+        out.ensureCapacity(sizeHint);
+        
+        for (int i = 0; i < slots.length; i++) {
+            out.append(literals[i]);
+            String value = values[slots[i]];
+            if (types[i] == Type.URL) {
+                checkUrl(value);
+            }
+            appendEscaped(out, value);
+        }
+        out.append(literals[slots.length]);
+        
+        String result = out.toString();
+        sizeHint = result.length();
+        if (out.capacity() > MAX_RETAINED_CAPACITY) {
+            BUFFER.remove();
+        }
+        return result;
+    }
+    
+    public static String escapeHtml(String value) {
+        StringBuilder out = new StringBuilder(value.length() + 16);
+        appendEscaped(out, value);
+        return out.toString();
+    }
+    
+    private static void appendEscaped(StringBuilder out, String value) {
+        if (value == null) {
+            return;
+        }
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            String replacement = switch (value.charAt(i)) {
+                case '&' -> "&amp;";
+                case '<' -> "&lt;";
+                case '>' -> "&gt;";
+                case '"' -> "&quot;";
+                case '\'' -> "&#39;";
+                default -> null;
+            };
+            if (replacement != null) {
+                out.append(value, start, i).append(replacement);
+                start = i + 1;
+            }
+        }
+        out.append(value, start, value.length());
+    }
+    
+    private static void checkUrl(String value) {
+        if (value != null && !value.startsWith("https://") && !value.startsWith("http://")) {
+            throw new IllegalArgumentException("Only http and https links can be rendered");
+        }
+    }
+}
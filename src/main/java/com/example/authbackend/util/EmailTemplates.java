@@ -3,7 +3,19 @@ package com.example.authbackend.util;
 public class EmailTemplates {
     
     public static String getEmailVerificationTemplate(String firstName, String verificationUrl) {
-        return String.format("""
+        return EMAIL_VERIFICATION.render(firstName, verificationUrl);
+    }
+    
+    public static String getPasswordResetTemplate(String firstName, String resetUrl) {
+        return PASSWORD_RESET.render(firstName, resetUrl);
+    }
+    
+    public static String getWelcomeTemplate(String firstName) {
+        return WELCOME.render(firstName);
+    }
+    
+    // Sources are compiled once at class load; placeholder values are HTML-escaped when rendered
+    static final String EMAIL_VERIFICATION_SOURCE = """
             <!DOCTYPE html>
             <html>
             <head>
@@ -12,20 +24,20 @@ public class EmailTemplates {
                 <title>Email Verification</title>
             </head>
             <body style="font-family: Arial, sans-serif; line-height: 1.6; color: #333; max-width: 600px; margin: 0 auto; padding: 20px;">
-                <div style="background: linear-gradient(135deg, #667eea 0%%, #764ba2 100%%); padding: 30px; text-align: center; border-radius: 10px 10px 0 0;">
+                <div style="background: linear-gradient(135deg, #667eea 0%, #764ba2 100%); padding: 30px; text-align: center; border-radius: 10px 10px 0 0;">
                     <h1 style="color: white; margin: 0; font-size: 28px;">Email Verification</h1>
                 </div>
                 
                 <div style="background: #f9f9f9; padding: 30px; border-radius: 0 0 10px 10px; box-shadow: 0 5px 15px rgba(0,0,0,0.08);">
-                    <h2 style="color: #333; margin-top: 0;">Hello %s!</h2>
+                    <h2 style="color: #333; margin-top: 0;">Hello {{firstName}}!</h2>
                     
                     <p style="font-size: 16px; margin-bottom: 25px;">
                         Thank you for registering with our application. To complete your registration and activate your account, please verify your email address by clicking the button below.
                     </p>
                     
                     <div style="text-align: center; margin: 30px 0;">
-                        <a href="%s" 
-                           style="background: linear-gradient(135deg, #667eea 0%%, #764ba2 100%%); 
+                        <a href="{{verificationUrl:url}}" 
+                           style="background: linear-gradient(135deg, #667eea 0%, #764ba2 100%); 
                                   color: white; 
                                   padding: 15px 30px; 
                                   text-decoration: none; 
@@ -42,7 +54,7 @@ public class EmailTemplates {
                         If the button doesn't work, you can copy and paste this link into your browser:
                     </p>
                     <p style="font-size: 14px; color: #667eea; word-break: break-all;">
-                        %s
+                        {{verificationUrl:url}}
                     </p>
                     
                     <hr style="border: none; border-top: 1px solid #eee; margin: 25px 0;">
@@ -53,11 +65,12 @@ public class EmailTemplates {
                 </div>
             </body>
             </html>
-            """, firstName, verificationUrl, verificationUrl);
-    }
+            """;
     
-    public static String getPasswordResetTemplate(String firstName, String resetUrl) {
-        return String.format("""
+    private static final CompiledTemplate EMAIL_VERIFICATION = CompiledTemplate.compile(EMAIL_VERIFICATION_SOURCE,
+            "firstName", "verificationUrl");
+    
+    static final String PASSWORD_RESET_SOURCE = """
             <!DOCTYPE html>
             <html>
             <head>
@@ -66,20 +79,20 @@ public class EmailTemplates {
                 <title>Password Reset</title>
             </head>
             <body style="font-family: Arial, sans-serif; line-height: 1.6; color: #333; max-width: 600px; margin: 0 auto; padding: 20px;">
-                <div style="background: linear-gradient(135deg, #ff6b6b 0%%, #ee5a24 100%%); padding: 30px; text-align: center; border-radius: 10px 10px 0 0;">
+                <div style="background: linear-gradient(135deg, #ff6b6b 0%, #ee5a24 100%); padding: 30px; text-align: center; border-radius: 10px 10px 0 0;">
                     <h1 style="color: white; margin: 0; font-size: 28px;">Password Reset</h1>
                 </div>
                 
                 <div style="background: #f9f9f9; padding: 30px; border-radius: 0 0 10px 10px; box-shadow: 0 5px 15px rgba(0,0,0,0.08);">
-                    <h2 style="color: #333; margin-top: 0;">Hello %s!</h2>
+                    <h2 style="color: #333; margin-top: 0;">Hello {{firstName}}!</h2>
                     
                     <p style="font-size: 16px; margin-bottom: 25px;">
                         We received a request to reset your password. If you made this request, click the button below to reset your password.
                     </p>
                     
                     <div style="text-align: center; margin: 30px 0;">
-                        <a href="%s" 
-                           style="background: linear-gradient(135deg, #ff6b6b 0%%, #ee5a24 100%%); 
+                        <a href="{{resetUrl:url}}" 
+                           style="background: linear-gradient(135deg, #ff6b6b 0%, #ee5a24 100%); 
                                   color: white; 
                                   padding: 15px 30px; 
                                   text-decoration: none; 
@@ -96,7 +109,7 @@ public class EmailTemplates {
                         If the button doesn't work, you can copy and paste this link into your browser:
                     </p>
                     <p style="font-size: 14px; color: #ff6b6b; word-break: break-all;">
-                        %s
+                        {{resetUrl:url}}
                     </p>
                     
                     <hr style="border: none; border-top: 1px solid #eee; margin: 25px 0;">
@@ -107,11 +120,12 @@ public class EmailTemplates {
                 </div>
             </body>
             </html>
-            """, firstName, resetUrl, resetUrl);
-    }
+            """;
     
-    public static String getWelcomeTemplate(String firstName) {
-        return String.format("""
+    private static final CompiledTemplate PASSWORD_RESET = CompiledTemplate.compile(PASSWORD_RESET_SOURCE,
+            "firstName", "resetUrl");
+    
+    static final String WELCOME_SOURCE = """
             <!DOCTYPE html>
             <html>
             <head>
@@ -120,12 +134,12 @@ public class EmailTemplates {
                 <title>Welcome</title>
             </head>
             <body style="font-family: Arial, sans-serif; line-height: 1.6; color: #333; max-width: 600px; margin: 0 auto; padding: 20px;">
-                <div style="background: linear-gradient(135deg, #2ecc71 0%%, #27ae60 100%%); padding: 30px; text-align: center; border-radius: 10px 10px 0 0;">
+                <div style="background: linear-gradient(135deg, #2ecc71 0%, #27ae60 100%); padding: 30px; text-align: center; border-radius: 10px 10px 0 0;">
                     <h1 style="color: white; margin: 0; font-size: 28px;">Welcome!</h1>
                 </div>
                 
                 <div style="background: #f9f9f9; padding: 30px; border-radius: 0 0 10px 10px; box-shadow: 0 5px 15px rgba(0,0,0,0.08);">
-                    <h2 style="color: #333; margin-top: 0;">Welcome %s!</h2>
+                    <h2 style="color: #333; margin-top: 0;">Welcome {{firstName}}!</h2>
                     
                     <p style="font-size: 16px; margin-bottom: 25px;">
                         Your email has been successfully verified and your account is now active!
@@ -152,6 +166,7 @@ public class EmailTemplates {
                 </div>
             </body>
             </html>
-            """, firstName);
-    }
-}
\ No newline at end of file
+            """;
+    
+    private static final CompiledTemplate WELCOME = CompiledTemplate.compile(WELCOME_SOURCE, "firstName");
+}
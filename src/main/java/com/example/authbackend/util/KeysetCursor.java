@@ -0,0 +1,39 @@
+package com.example.authbackend.util;
+
+import com.example.authbackend.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque continuation token for keyset pagination. It wraps the last id returned so the next
+ * page starts with {@code WHERE id < :lastId} on the primary key instead of an OFFSET scan.
+ * The version prefix lets the encoding change without breaking cursors held by clients.
+ */
+public final class KeysetCursor {
+    
+    private static final String PREFIX = "v1:";
+    
+    private KeysetCursor() {
+    }
+    
+    public static String encode(long lastId) {
+        byte[] raw = (PREFIX + lastId).getBytes(StandardCharsets.US_ASCII);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+    
+    public static long decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            if (raw.startsWith(PREFIX)) {
+                long lastId = Long.parseLong(raw.substring(PREFIX.length()));
+                if (lastId > 0) {
+                    return lastId;
+                }
+            }
+        } catch (IllegalArgumentException ex) {
+            // Not Base64 or not a number; reported below
+        }
+        throw new InvalidCursorException("Invalid pagination cursor");
+    }
+}
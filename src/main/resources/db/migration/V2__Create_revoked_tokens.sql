@@ -0,0 +1,13 @@
+-- V2__Create_revoked_tokens.sql
+-- Denylist of revoked JWT ids (jti); rows are purged once the token would have expired anyway
+
+CREATE TABLE IF NOT EXISTS revoked_tokens (
+    jti VARCHAR(64) PRIMARY KEY,
+    expires_at TIMESTAMP NOT NULL,
+    revoked_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_revoked_tokens_expires_at ON revoked_tokens(expires_at);
+CREATE INDEX IF NOT EXISTS idx_revoked_tokens_revoked_at ON revoked_tokens(revoked_at);
+
+COMMENT ON TABLE revoked_tokens IS 'JWT ids revoked before their expiry, e.g. on logout';
@@ -0,0 +1,6 @@
+-- V4__Add_users_token_version.sql
+-- Bumping token_version invalidates every access token issued to the user before the bump
+
+ALTER TABLE users ADD COLUMN IF NOT EXISTS token_version INTEGER NOT NULL DEFAULT 0;
+
+COMMENT ON COLUMN users.token_version IS 'Embedded in access tokens as the ver claim; tokens with an older version are rejected';
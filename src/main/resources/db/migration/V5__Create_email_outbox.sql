@@ -0,0 +1,26 @@
+-- V5__Create_email_outbox.sql
+-- Outgoing mail written in the same transaction as the change that triggers it
+
+CREATE TABLE IF NOT EXISTS email_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    email_type VARCHAR(30) NOT NULL,
+    recipient VARCHAR(100) NOT NULL,
+    recipient_name VARCHAR(50),
+    token VARCHAR(255),  -- verification or reset token for the link; cleared once sent
+    user_id BIGINT,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL,
+    last_error VARCHAR(500),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    sent_at TIMESTAMP,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    CONSTRAINT chk_email_outbox_status CHECK (status IN ('PENDING', 'SENT', 'FAILED'))
+);
+
+-- The dispatcher only ever scans pending rows that are due
+CREATE INDEX IF NOT EXISTS idx_email_outbox_due ON email_outbox(next_attempt_at) WHERE status = 'PENDING';
+CREATE INDEX IF NOT EXISTS idx_email_outbox_created_at ON email_outbox(created_at);
+
+COMMENT ON TABLE email_outbox IS 'Transactional outbox for mail; delivered by EmailOutboxDispatcher';
+COMMENT ON COLUMN email_outbox.next_attempt_at IS 'Due time while pending; pushed forward by the lease while a node is sending';
@@ -0,0 +1,7 @@
+-- V6__Pool_users_id_sequence.sql
+-- User ids come from a pooled sequence: each nextval reserves the 50 ids up to the returned value,
+-- so Hibernate and the bulk importer can batch inserts instead of one round trip per row.
+-- Must match User.ID_ALLOCATION_SIZE; Hibernate refuses to start on a mismatch.
+-- Inserts that still rely on the column default (the reactive variant) simply skip the rest of a block.
+
+ALTER SEQUENCE users_id_seq INCREMENT BY 50;
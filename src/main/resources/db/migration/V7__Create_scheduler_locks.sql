@@ -0,0 +1,14 @@
+-- V7__Create_scheduler_locks.sql
+-- Leases for jobs that should run on one node at a time; a node dying mid-run loses the lock when it expires
+
+CREATE TABLE IF NOT EXISTS scheduler_locks (
+    name VARCHAR(64) PRIMARY KEY,
+    locked_by VARCHAR(255) NOT NULL,
+    locked_at TIMESTAMP NOT NULL,
+    locked_until TIMESTAMP NOT NULL
+);
+
+-- The purge job looks for old unverified accounts only
+CREATE INDEX IF NOT EXISTS idx_users_unverified_created_at ON users(created_at) WHERE email_verified = FALSE;
+
+COMMENT ON TABLE scheduler_locks IS 'Leader locks for scheduled jobs, taken by AccountPurgeJob through LeaderLock';
@@ -0,0 +1,62 @@
+package com.example.authbackend.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class DbPermitDataSourceTest {
+    
+    private DataSource target;
+    private DbPermitDataSource dataSource;
+    private MeterRegistry meterRegistry;
+    
+    @BeforeEach
+    void setUp() throws SQLException {
+        target = mock(DataSource.class);
+        when(target.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        dataSource = new DbPermitDataSource(target, 1, Duration.ofMillis(50));
+        meterRegistry = new SimpleMeterRegistry();
+        dataSource.bindTo(meterRegistry);
+    }
+    
+    @Test
+    void testSecondConnectionTimesOutWhilePermitIsHeld() throws SQLException {
+        Connection held = dataSource.getConnection();
+        
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        verify(target, times(1)).getConnection();
+        assertEquals(1.0, meterRegistry.get("db.permits.timeouts").functionCounter().count());
+        
+        held.close();
+        try (Connection next = dataSource.getConnection()) {
+            assertNotNull(next);
+        }
+    }
+    
+    @Test
+    void testClosingTwiceReleasesOnePermit() throws SQLException {
+        Connection connection = dataSource.getConnection();
+        connection.close();
+        connection.close();
+        
+        assertEquals(1, dataSource.getAvailablePermits());
+    }
+    
+    @Test
+    void testPermitReturnedWhenPoolFails() throws SQLException {
+        when(target.getConnection()).thenThrow(new SQLException("pool exhausted"));
+        
+        assertThrows(SQLException.class, dataSource::getConnection);
+        assertEquals(1, dataSource.getAvailablePermits());
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.authbackend.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExecutorConfigTest {
+    
+    private MeterRegistry meterRegistry;
+    private ThreadPoolTaskExecutor executor;
+    private final CountDownLatch release = new CountDownLatch(1);
+    
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+    
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+    
+    @Test
+    void testSaturatedExecutorRejectsAndCounts() throws Exception {
+        executor = create(ExecutorProperties.RejectionPolicy.ABORT);
+        CountDownLatch running = new CountDownLatch(1);
+        
+        // One task occupies the only thread, a second fills the queue
+        executor.submit(() -> {
+            running.countDown();
+            awaitQuietly(release);
+        });
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+        executor.submit(() -> { });
+        
+        assertThrows(TaskRejectedException.class, () -> executor.submit(() -> { }));
+        assertEquals(1.0, meterRegistry.get("executor.rejected").tag("name", "testExecutor").counter().count());
+    }
+    
+    @Test
+    void testCallerRunsPolicyRunsOnSubmittingThread() throws Exception {
+        executor = create(ExecutorProperties.RejectionPolicy.CALLER_RUNS);
+        CountDownLatch running = new CountDownLatch(1);
+        executor.submit(() -> {
+            running.countDown();
+            awaitQuietly(release);
+        });
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+        executor.submit(() -> { });
+        
+        Future<String> overflow = executor.submit(() -> Thread.currentThread().getName());
+        
+        assertEquals(Thread.currentThread().getName(), overflow.get(5, TimeUnit.SECONDS));
+        assertEquals(1.0, meterRegistry.get("executor.rejected").tag("name", "testExecutor").counter().count());
+    }
+    
+    @Test
+    void testTasksRunOnNamedThreads() throws Exception {
+        executor = create(ExecutorProperties.RejectionPolicy.ABORT);
+        
+        assertTrue(executor.submit(() -> Thread.currentThread().getName()).get(5, TimeUnit.SECONDS).startsWith("test-"));
+    }
+    
+    @Test
+    @EnabledForJreRange(max = JRE.JAVA_20)
+    void testVirtualThreadsRequireJava21() {
+        ExecutorProperties.Pool pool = new ExecutorProperties.Pool(1, 1, 0);
+        pool.setVirtualThreads(true);
+        
+        IllegalStateException ex = assertThrows(IllegalStateException.class,
+                () -> ExecutorConfig.createExecutor("testExecutor", "test-", pool, meterRegistry));
+        assertTrue(ex.getMessage().contains("Java 21"));
+    }
+    
+    private ThreadPoolTaskExecutor create(ExecutorProperties.RejectionPolicy policy) {
+        ExecutorProperties.Pool pool = new ExecutorProperties.Pool(1, 1, 1);
+        pool.setRejectionPolicy(policy);
+        AsyncTaskExecutor created = ExecutorConfig.createExecutor("testExecutor", "test-", pool, meterRegistry);
+        ThreadPoolTaskExecutor threadPool = (ThreadPoolTaskExecutor) created;
+        threadPool.initialize();
+        return threadPool;
+    }
+    
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -6,25 +6,41 @@ import com.example.authbackend.dto.request.RegisterRequest;
 import com.example.authbackend.dto.response.ApiResponse;
 import com.example.authbackend.dto.response.AuthResponse;
 import com.example.authbackend.dto.response.UserResponse;
+import com.example.authbackend.security.JwtAuthenticationFilter;
+import com.example.authbackend.security.LoginAttemptThrottle;
 import com.example.authbackend.service.AuthService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDateTime;
 import java.util.Set;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
-@WebMvcTest(AuthController.class)
+// The JWT filter needs the whole token stack; these tests exercise the controller and its advice only
+@WebMvcTest(controllers = AuthController.class,
+    excludeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = JwtAuthenticationFilter.class))
+@AutoConfigureMockMvc(addFilters = false)
+@Import(LoginAttemptThrottle.class)
+@TestPropertySource(properties = "app.security.login-throttle.max-failures-per-email=3")
 class AuthControllerTest {
     
     @Autowired
@@ -77,6 +93,29 @@ class AuthControllerTest {
                 .andExpect(jsonPath("$.user.email").value("john@example.com"));
     }
     
+    @Test
+    void testLoginIsThrottledAfterRepeatedFailures() throws Exception {
+        when(authService.login(any(LoginRequest.class))).thenThrow(new BadCredentialsException("Bad credentials"));
+        String body = objectMapper.writeValueAsString(new LoginRequest("throttled@example.com", "wrong"));
+        
+        // Failures are recorded by GlobalExceptionHandler from the request attributes AuthController sets
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(post("/auth/login")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(body))
+                    .andExpect(status().isUnauthorized());
+        }
+        
+        mockMvc.perform(post("/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER))
+                .andExpect(jsonPath("$.success").value(false));
+        
+        verify(authService, times(3)).login(any(LoginRequest.class));
+    }
+    
     @Test
     void testVerifyEmail() throws Exception {
         String token = "verification-token";
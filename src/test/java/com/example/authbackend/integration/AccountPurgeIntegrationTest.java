@@ -0,0 +1,201 @@
+package com.example.authbackend.integration;
+
+import com.example.authbackend.dto.request.LoginRequest;
+import com.example.authbackend.entity.AuthProvider;
+import com.example.authbackend.entity.EmailVerificationToken;
+import com.example.authbackend.entity.RefreshToken;
+import com.example.authbackend.entity.Role;
+import com.example.authbackend.entity.RoleName;
+import com.example.authbackend.entity.SchedulerLock;
+import com.example.authbackend.entity.User;
+import com.example.authbackend.repository.EmailOutboxRepository;
+import com.example.authbackend.repository.EmailVerificationTokenRepository;
+import com.example.authbackend.repository.RefreshTokenRepository;
+import com.example.authbackend.repository.RoleRepository;
+import com.example.authbackend.repository.SchedulerLockRepository;
+import com.example.authbackend.repository.UserRepository;
+import com.example.authbackend.service.AuthService;
+import com.example.authbackend.service.impl.AccountPurgeJob;
+import com.example.authbackend.service.impl.LeaderLock;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.DisabledException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(locations = "classpath:application-test.properties", properties = {
+    "app.maintenance.chunk-size=2",
+    "app.maintenance.chunk-pause=PT0S"
+})
+class AccountPurgeIntegrationTest {
+    
+    @Autowired
+    private AccountPurgeJob accountPurgeJob;
+    
+    @Autowired
+    private LeaderLock leaderLock;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private RoleRepository roleRepository;
+    
+    @Autowired
+    private EmailVerificationTokenRepository tokenRepository;
+    
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+    
+    @Autowired
+    private SchedulerLockRepository lockRepository;
+    
+    @Autowired
+    private EmailOutboxRepository outboxRepository;
+    
+    @Autowired
+    private AuthService authService;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    private Role userRole;
+    
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        userRole = roleRepository.findByName(RoleName.USER)
+            .orElseGet(() -> roleRepository.save(new Role(RoleName.USER)));
+    }
+    
+    @AfterEach
+    void tearDown() {
+        cleanUp();
+    }
+    
+    @Test
+    void testPurgesExpiredTokensAndStaleUnverifiedAccountsInChunks() {
+        // Recent sign-ups keep their accounts even once the verification link has expired
+        for (int i = 0; i < 5; i++) {
+            User user = saveUser("expired" + i + "@test.com", false, AuthProvider.LOCAL, 1);
+            saveToken(user, LocalDateTime.now().minusHours(1));
+        }
+        saveToken(saveUser("fresh@test.com", false, AuthProvider.LOCAL, 1), LocalDateTime.now().plusHours(1));
+        
+        for (int i = 0; i < 3; i++) {
+            User stale = saveUser("stale" + i + "@test.com", false, AuthProvider.LOCAL, 60);
+            saveToken(stale, LocalDateTime.now().minusDays(59));
+            refreshTokenRepository.save(new RefreshToken(UUID.randomUUID().toString(), UUID.randomUUID().toString(),
+                stale, LocalDateTime.now().plusDays(1)));
+        }
+        saveUser("verified@test.com", true, AuthProvider.LOCAL, 60);
+        saveUser("google@test.com", false, AuthProvider.GOOGLE, 60);
+        
+        AccountPurgeJob.PurgeResult result = accountPurgeJob.purge();
+        
+        assertTrue(result.ran());
+        assertEquals(8, result.verificationTokens());
+        assertEquals(3, result.unverifiedAccounts());
+        assertEquals(8, userRepository.count());
+        assertTrue(userRepository.findByEmail("stale0@test.com").isEmpty());
+        assertTrue(userRepository.findByEmail("verified@test.com").isPresent());
+        assertTrue(userRepository.findByEmail("google@test.com").isPresent());
+        assertEquals(1, tokenRepository.count());
+        assertEquals(0, refreshTokenRepository.count());
+        assertEquals(0, jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM user_roles WHERE user_id NOT IN (SELECT id FROM users)", Integer.class));
+        assertEquals(3.0, meterRegistry.get("maintenance.purge.rows").tag("table", "users").summary().totalAmount(),
+            0.0);
+    }
+    
+    @Test
+    void testOldAccountWithResentVerificationSurvives() {
+        // The original link was purged long ago; resending only writes a new token
+        saveUser("resent@test.com", false, AuthProvider.LOCAL, 60);
+        
+        authService.resendVerificationEmail("resent@test.com");
+        
+        AccountPurgeJob.PurgeResult result = accountPurgeJob.purge();
+        
+        assertTrue(result.ran());
+        assertEquals(0, result.unverifiedAccounts());
+        assertTrue(userRepository.findByEmail("resent@test.com").isPresent());
+        assertEquals(1, tokenRepository.count());
+    }
+    
+    @Test
+    void testPurgedAccountsCannotHaveBeenInUse() {
+        // The purge ignores login activity, so it must only ever see accounts that cannot sign in
+        saveUser("stale@test.com", false, AuthProvider.LOCAL, 60);
+        
+        assertThrows(DisabledException.class,
+            () -> authService.login(new LoginRequest("stale@test.com", "password123")));
+        assertEquals(1, accountPurgeJob.purge().unverifiedAccounts());
+    }
+    
+    @Test
+    void testSkipsWhileAnotherNodeHoldsTheLock() {
+        saveUser("stale@test.com", false, AuthProvider.LOCAL, 60);
+        lockRepository.save(new SchedulerLock(AccountPurgeJob.LOCK_NAME, "other-node",
+            LocalDateTime.now(), LocalDateTime.now().plusMinutes(10)));
+        
+        AccountPurgeJob.PurgeResult result = accountPurgeJob.purge();
+        
+        assertFalse(result.ran());
+        assertTrue(userRepository.findByEmail("stale@test.com").isPresent());
+    }
+    
+    @Test
+    void testExpiredLockIsTakenOverAndReleasedAfterTheRun() {
+        lockRepository.save(new SchedulerLock(AccountPurgeJob.LOCK_NAME, "dead-node",
+            LocalDateTime.now().minusMinutes(20), LocalDateTime.now().minusMinutes(10)));
+        
+        assertTrue(accountPurgeJob.purge().ran());
+        
+        SchedulerLock lock = lockRepository.findById(AccountPurgeJob.LOCK_NAME).orElseThrow();
+        assertEquals(leaderLock.getOwner(), lock.getLockedBy());
+        assertFalse(lock.getLockedUntil().isAfter(LocalDateTime.now()));
+        assertTrue(leaderLock.tryAcquire(AccountPurgeJob.LOCK_NAME, Duration.ofMinutes(1)));
+    }
+    
+    private User saveUser(String email, boolean verified, AuthProvider provider, int ageInDays) {
+        User user = new User("Purge", "Test", email, "hash");
+        user.setEmailVerified(verified);
+        user.setProvider(provider);
+        user.setRoles(Set.of(userRole));
+        User saved = userRepository.save(user);
+        Timestamp created = Timestamp.valueOf(LocalDateTime.now().minusDays(ageInDays));
+        jdbcTemplate.update("UPDATE users SET created_at = ?, updated_at = ? WHERE id = ?", created, created, saved.getId());
+        return saved;
+    }
+    
+    private void saveToken(User user, LocalDateTime expiryDate) {
+        tokenRepository.save(new EmailVerificationToken(UUID.randomUUID().toString(), user, expiryDate));
+    }
+    
+    private void cleanUp() {
+        refreshTokenRepository.deleteAll();
+        tokenRepository.deleteAll();
+        outboxRepository.deleteAll();
+        userRepository.deleteAll();
+        lockRepository.deleteAll();
+    }
+}
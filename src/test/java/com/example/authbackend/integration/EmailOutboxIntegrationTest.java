@@ -0,0 +1,131 @@
+package com.example.authbackend.integration;
+
+import com.example.authbackend.dto.request.RegisterRequest;
+import com.example.authbackend.entity.EmailOutboxMessage;
+import com.example.authbackend.entity.EmailOutboxStatus;
+import com.example.authbackend.entity.EmailType;
+import com.example.authbackend.exception.EmailAlreadyExistsException;
+import com.example.authbackend.repository.EmailOutboxRepository;
+import com.example.authbackend.repository.EmailVerificationTokenRepository;
+import com.example.authbackend.repository.UserRepository;
+import com.example.authbackend.service.AuthService;
+import com.example.authbackend.service.EmailService;
+import com.example.authbackend.service.impl.EmailOutboxDispatcher;
+import jakarta.mail.internet.AddressException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.mail.MailSendException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(locations = "classpath:application-test.properties")
+class EmailOutboxIntegrationTest {
+    
+    @Autowired
+    private AuthService authService;
+    
+    @SpyBean
+    private EmailService emailService;
+    
+    @Autowired
+    private EmailOutboxDispatcher dispatcher;
+    
+    @Autowired
+    private EmailOutboxRepository outboxRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private EmailVerificationTokenRepository tokenRepository;
+    
+    @AfterEach
+    void tearDown() {
+        outboxRepository.deleteAll();
+        userRepository.findByEmail("outbox@test.com").ifPresent(user -> {
+            tokenRepository.findByUser(user).ifPresent(tokenRepository::delete);
+            userRepository.delete(user);
+        });
+    }
+    
+    @Test
+    void testRegistrationQueuesVerificationAndDispatcherSendsIt() throws Exception {
+        doNothing().when(emailService).deliver(any());
+        
+        authService.register(new RegisterRequest("Outbox", "Test", "outbox@test.com", "password123"));
+        
+        List<EmailOutboxMessage> queued = outboxRepository.findAll();
+        assertEquals(1, queued.size());
+        assertEquals(EmailType.VERIFICATION, queued.get(0).getEmailType());
+        assertEquals(EmailOutboxStatus.PENDING, queued.get(0).getStatus());
+        verify(emailService, never()).deliver(any());
+        
+        assertEquals(1, dispatcher.dispatch());
+        
+        EmailOutboxMessage sent = outboxRepository.findById(queued.get(0).getId()).orElseThrow();
+        assertEquals(EmailOutboxStatus.SENT, sent.getStatus());
+        assertEquals(1, sent.getAttempts());
+        assertNull(sent.getToken());
+        assertEquals(0, dispatcher.dispatch());
+    }
+    
+    @Test
+    void testFailedRegistrationQueuesNothing() {
+        authService.register(new RegisterRequest("Outbox", "Test", "outbox@test.com", "password123"));
+        outboxRepository.deleteAll();
+        
+        assertThrows(EmailAlreadyExistsException.class, () ->
+                authService.register(new RegisterRequest("Outbox", "Again", "outbox@test.com", "password123")));
+        
+        assertEquals(0, outboxRepository.count());
+    }
+    
+    @Test
+    void testTransientFailureIsRetriedLater() throws Exception {
+        doThrow(new MailSendException("connection refused")).when(emailService).deliver(any());
+        Long id = queueWelcomeMail();
+        
+        dispatcher.dispatch();
+        
+        EmailOutboxMessage retried = outboxRepository.findById(id).orElseThrow();
+        assertEquals(EmailOutboxStatus.PENDING, retried.getStatus());
+        assertEquals(1, retried.getAttempts());
+        assertTrue(retried.getNextAttemptAt().isAfter(LocalDateTime.now()));
+        assertTrue(retried.getLastError().contains("connection refused"));
+        
+        // Not due yet
+        assertEquals(0, dispatcher.dispatch());
+    }
+    
+    @Test
+    void testPermanentFailureIsNotRetried() throws Exception {
+        doThrow(new AddressException("bad address")).when(emailService).deliver(any());
+        Long id = queueWelcomeMail();
+        
+        dispatcher.dispatch();
+        
+        assertEquals(EmailOutboxStatus.FAILED, outboxRepository.findById(id).orElseThrow().getStatus());
+    }
+    
+    private Long queueWelcomeMail() {
+        EmailOutboxMessage message = new EmailOutboxMessage();
+        message.setEmailType(EmailType.WELCOME);
+        message.setRecipient("welcome@test.com");
+        message.setRecipientName("Welcome");
+        message.setCreatedAt(LocalDateTime.now());
+        message.setNextAttemptAt(LocalDateTime.now());
+        return outboxRepository.save(message).getId();
+    }
+}
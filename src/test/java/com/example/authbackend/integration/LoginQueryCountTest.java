@@ -0,0 +1,101 @@
+package com.example.authbackend.integration;
+
+import com.example.authbackend.dto.request.LoginRequest;
+import com.example.authbackend.dto.response.AuthResponse;
+import com.example.authbackend.entity.AuthProvider;
+import com.example.authbackend.entity.Role;
+import com.example.authbackend.entity.RoleName;
+import com.example.authbackend.entity.User;
+import com.example.authbackend.repository.RefreshTokenRepository;
+import com.example.authbackend.repository.RoleRepository;
+import com.example.authbackend.repository.UserRepository;
+import com.example.authbackend.security.UserDetailsCache;
+import com.example.authbackend.service.AuthService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(locations = "classpath:application-test.properties")
+class LoginQueryCountTest {
+    
+    @Autowired
+    private AuthService authService;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private RoleRepository roleRepository;
+    
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+    
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    private Statistics statistics;
+    
+    @BeforeEach
+    void setUp() {
+        Role userRole = roleRepository.findByName(RoleName.USER)
+            .orElseGet(() -> roleRepository.save(new Role(RoleName.USER)));
+        
+        User user = new User("Query", "Count", "query-count@test.com", passwordEncoder.encode("password123"));
+        user.setEmailVerified(true);
+        user.setProvider(AuthProvider.LOCAL);
+        user.setRoles(Set.of(userRole));
+        userRepository.save(user);
+        
+        userDetailsCache.invalidateAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+    
+    @AfterEach
+    void tearDown() {
+        refreshTokenRepository.deleteAll();
+        userRepository.findByEmail("query-count@test.com").ifPresent(userRepository::delete);
+    }
+    
+    @Test
+    void testLoginLoadsUserOnceWithRoles() {
+        AuthResponse response = authService.login(new LoginRequest("query-count@test.com", "password123"));
+        
+        assertEquals("query-count@test.com", response.getUser().getEmail());
+        assertEquals(Set.of("USER"), response.getUser().getRoles());
+        assertEquals("Query", response.getUser().getFirstName());
+        // One SELECT for the user joined with roles, one INSERT for the refresh token
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+    
+    @Test
+    void testRepeatedLoginReadsCurrentUserFromDatabase() {
+        authService.login(new LoginRequest("query-count@test.com", "password123"));
+        statistics.clear();
+        
+        authService.login(new LoginRequest("query-count@test.com", "password123"));
+        
+        // The user cache is never trusted for the password hash: SELECT plus refresh token INSERT
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.authbackend.integration;
+
+import com.example.authbackend.dto.request.UserExportFilter;
+import com.example.authbackend.entity.AuthProvider;
+import com.example.authbackend.entity.Role;
+import com.example.authbackend.entity.RoleName;
+import com.example.authbackend.entity.User;
+import com.example.authbackend.repository.RoleRepository;
+import com.example.authbackend.repository.UserRepository;
+import com.example.authbackend.service.UserExportService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(locations = "classpath:application-test.properties", properties = "app.users.export.fetch-size=2")
+class UserExportIntegrationTest {
+    
+    private static final UserExportFilter ALL = new UserExportFilter(null, null, null, null);
+    
+    @Autowired
+    private UserExportService userExportService;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private RoleRepository roleRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        Role userRole = roleRepository.findByName(RoleName.USER)
+            .orElseGet(() -> roleRepository.save(new Role(RoleName.USER)));
+        Role adminRole = roleRepository.findByName(RoleName.ADMIN)
+            .orElseGet(() -> roleRepository.save(new Role(RoleName.ADMIN)));
+        
+        saveUser("Ada", "Lovelace", "ada@test.com", AuthProvider.LOCAL, true, Set.of(userRole, adminRole), 2020);
+        saveUser("Grace", "Hopper, Jr", "grace@test.com", AuthProvider.GOOGLE, true, Set.of(userRole), 2022);
+        saveUser("Alan \"AT\"", "Turing", "alan@test.com", AuthProvider.LOCAL, false, Set.of(userRole), 2024);
+        saveUser("No", "Roles", "noroles@test.com", AuthProvider.LOCAL, true, Set.of(), 2024);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+    
+    @Test
+    void testNdjsonExportsOneObjectPerLineInIdOrder() throws IOException {
+        List<String> lines = export(ALL, UserExportService.Format.NDJSON);
+        
+        assertEquals(4, lines.size());
+        JsonNode ada = objectMapper.readTree(lines.get(0));
+        assertEquals("ada@test.com", ada.get("email").asText());
+        assertEquals("LOCAL", ada.get("provider").asText());
+        assertEquals(2, ada.get("roles").size());
+        assertEquals(0, objectMapper.readTree(lines.get(3)).get("roles").size());
+        for (int i = 1; i < lines.size(); i++) {
+            assertTrue(objectMapper.readTree(lines.get(i - 1)).get("id").asLong()
+                < objectMapper.readTree(lines.get(i)).get("id").asLong());
+        }
+    }
+    
+    @Test
+    void testCsvQuotesSpecialCharacters() throws IOException {
+        List<String> lines = export(ALL, UserExportService.Format.CSV);
+        
+        assertEquals(5, lines.size());
+        assertEquals("id,first_name,last_name,email,email_verified,provider,image_url,created_at,roles", lines.get(0));
+        assertTrue(lines.get(1).endsWith(",ADMIN;USER"));
+        assertTrue(lines.get(2).contains(",Grace,\"Hopper, Jr\",grace@test.com,true,GOOGLE,,"));
+        assertTrue(lines.get(3).contains(",\"Alan \"\"AT\"\"\",Turing,alan@test.com,false,LOCAL,,"));
+    }
+    
+    @Test
+    void testCsvNeutralisesFormulaValues() throws IOException {
+        saveUser("=HYPERLINK(\"http://evil\")", "+1", "formula@test.com", AuthProvider.LOCAL, false, Set.of(), 2025);
+        saveUser("@SUM(A1)", "-2", "formula2@test.com", AuthProvider.LOCAL, false, Set.of(), 2025);
+        
+        List<String> lines = export(ALL, UserExportService.Format.CSV);
+        
+        assertTrue(lines.get(5).contains(",\"'=HYPERLINK(\"\"http://evil\"\")\",'+1,formula@test.com,"));
+        assertTrue(lines.get(6).contains(",'@SUM(A1),'-2,formula2@test.com,"));
+    }
+    
+    @Test
+    void testFiltersByProviderVerificationAndCreatedRange() throws IOException {
+        assertEquals(1, export(new UserExportFilter(AuthProvider.GOOGLE, null, null, null),
+            UserExportService.Format.NDJSON).size());
+        assertEquals(1, export(new UserExportFilter(null, false, null, null),
+            UserExportService.Format.NDJSON).size());
+        
+        List<String> range = export(new UserExportFilter(AuthProvider.LOCAL, true,
+            LocalDateTime.of(2021, 1, 1, 0, 0), LocalDateTime.of(2025, 1, 1, 0, 0)), UserExportService.Format.NDJSON);
+        assertEquals(1, range.size());
+        assertEquals("noroles@test.com", objectMapper.readTree(range.get(0)).get("email").asText());
+    }
+    
+    private List<String> export(UserExportFilter filter, UserExportService.Format format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long rows = userExportService.exportUsers(filter, format, out);
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(format == UserExportService.Format.CSV ? rows + 1 : rows, lines.size());
+        return lines;
+    }
+    
+    private void saveUser(String firstName, String lastName, String email, AuthProvider provider, boolean verified,
+                          Set<Role> roles, int createdYear) {
+        User user = new User(firstName, lastName, email, "hash");
+        user.setProvider(provider);
+        user.setEmailVerified(verified);
+        user.setRoles(roles);
+        User saved = userRepository.save(user);
+        // created_at is set on insert, so backdate it directly
+        jdbcTemplate.update("UPDATE users SET created_at = ? WHERE id = ?",
+            Timestamp.valueOf(LocalDateTime.of(createdYear, 6, 1, 12, 0)), saved.getId());
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.authbackend.integration;
+
+import com.example.authbackend.dto.request.LoginRequest;
+import com.example.authbackend.dto.response.AuthResponse;
+import com.example.authbackend.dto.response.UserImportResponse;
+import com.example.authbackend.entity.AuthProvider;
+import com.example.authbackend.entity.User;
+import com.example.authbackend.repository.RefreshTokenRepository;
+import com.example.authbackend.repository.UserRepository;
+import com.example.authbackend.security.RoleRegistry;
+import com.example.authbackend.service.AuthService;
+import com.example.authbackend.service.UserImportService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(locations = "classpath:application-test.properties", properties = "app.users.import.chunk-size=3")
+class UserImportIntegrationTest {
+    
+    private static final String HASH = new BCryptPasswordEncoder(4).encode("password123");
+    
+    @Autowired
+    private UserImportService userImportService;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+    
+    @Autowired
+    private RoleRegistry roleRegistry;
+    
+    @Autowired
+    private AuthService authService;
+    
+    @BeforeEach
+    void setUp() {
+        refreshTokenRepository.deleteAll();
+        userRepository.deleteAll();
+        roleRegistry.refresh();
+    }
+    
+    @AfterEach
+    void tearDown() {
+        refreshTokenRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+    
+    @Test
+    void testImportsValidRowsAcrossChunksAndReportsTheRest() throws IOException {
+        User existing = new User("Existing", "User", "existing@test.com", HASH);
+        existing.setProvider(AuthProvider.LOCAL);
+        userRepository.save(existing);
+        
+        UserImportResponse result = importNdjson(
+            row("one@test.com", HASH, null),
+            row("two@test.com", "{bcrypt}" + HASH, "[\"USER\",\"ADMIN\"]"),
+            row("not-an-email", HASH, null),
+            row("three@test.com", "plaintext", null),
+            row("four@test.com", HASH, "[\"ROOT\"]"),
+            row("existing@test.com", HASH, null),
+            row("one@test.com", HASH, null),
+            row("five@test.com", HASH, null));
+        
+        assertTrue(result.isCompleted());
+        assertEquals(8, result.getReceived());
+        assertEquals(3, result.getImported());
+        assertEquals(5, result.getFailed());
+        assertEquals(List.of(3L, 4L, 5L, 6L, 7L), result.getErrors().stream().map(UserImportResponse.RowError::getRow).toList());
+        assertEquals("Unsupported password hash format", result.getErrors().get(1).getMessage());
+        assertEquals("Unknown role: ROOT", result.getErrors().get(2).getMessage());
+        assertEquals("Email address already in use", result.getErrors().get(4).getMessage());
+        
+        User admin = userRepository.findByEmailWithRoles("two@test.com").orElseThrow();
+        assertEquals(2, admin.getRoles().size());
+        assertEquals(AuthProvider.LOCAL, admin.getProvider());
+        assertEquals(4, userRepository.count());
+    }
+    
+    @Test
+    void testImportedHashesSignIn() throws IOException {
+        importNdjson(row("login@test.com", HASH, null));
+        
+        AuthResponse response = authService.login(new LoginRequest("login@test.com", "password123"));
+        
+        assertEquals(Set.of("USER"), response.getUser().getRoles());
+    }
+    
+    @Test
+    void testAcceptsJsonArrayAndSharesTheIdSequenceWithHibernate() throws IOException {
+        String array = "[" + row("a@test.com", HASH, null) + "," + row("b@test.com", HASH, null) + "]";
+        UserImportResponse result = userImportService.importUsers(
+            new ByteArrayInputStream(array.getBytes(StandardCharsets.UTF_8)));
+        assertEquals(2, result.getImported());
+        
+        User later = new User("Later", "User", "later@test.com", HASH);
+        later.setProvider(AuthProvider.LOCAL);
+        userRepository.save(later);
+        
+        assertEquals(3, userRepository.count());
+        assertEquals(3, userRepository.findAll().stream().map(User::getId).distinct().count());
+    }
+    
+    @Test
+    void testMalformedInputStopsAfterImportingEarlierRows() throws IOException {
+        UserImportResponse result = importNdjson(row("first@test.com", HASH, null), "{\"email\": ");
+        
+        assertFalse(result.isCompleted());
+        assertEquals(1, result.getImported());
+        assertEquals(2, result.getErrors().get(0).getRow());
+        assertTrue(userRepository.findByEmail("first@test.com").isPresent());
+    }
+    
+    private UserImportResponse importNdjson(String... lines) throws IOException {
+        byte[] body = String.join("\n", lines).getBytes(StandardCharsets.UTF_8);
+        return userImportService.importUsers(new ByteArrayInputStream(body));
+    }
+    
+    private static String row(String email, String hash, String roles) {
+        return "{\"firstName\":\"Imported\",\"lastName\":\"User\",\"email\":\"" + email + "\",\"passwordHash\":\""
+            + hash + "\"" + (roles != null ? ",\"roles\":" + roles : "") + "}";
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.authbackend.integration;
+
+import com.example.authbackend.dto.response.UserResponse;
+import com.example.authbackend.entity.AuthProvider;
+import com.example.authbackend.entity.Role;
+import com.example.authbackend.entity.RoleName;
+import com.example.authbackend.entity.User;
+import com.example.authbackend.repository.RoleRepository;
+import com.example.authbackend.repository.UserRepository;
+import com.example.authbackend.service.UserService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(locations = "classpath:application-test.properties")
+class UserListingQueryCountTest {
+    
+    private static final int USER_COUNT = 15;
+    
+    @Autowired
+    private UserService userService;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private RoleRepository roleRepository;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    private Statistics statistics;
+    
+    private Long adminId;
+    
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        Role userRole = roleRepository.findByName(RoleName.USER)
+            .orElseGet(() -> roleRepository.save(new Role(RoleName.USER)));
+        Role adminRole = roleRepository.findByName(RoleName.ADMIN)
+            .orElseGet(() -> roleRepository.save(new Role(RoleName.ADMIN)));
+        
+        for (int i = 0; i < USER_COUNT; i++) {
+            User user = new User("Listed" + i, "User", "listed" + i + "@test.com", "hash");
+            user.setEmailVerified(true);
+            user.setProvider(AuthProvider.LOCAL);
+            user.setRoles(i == 0 ? Set.of(userRole, adminRole) : Set.of(userRole));
+            User saved = userRepository.save(user);
+            if (i == 0) {
+                adminId = saved.getId();
+            }
+        }
+        
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+    
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+    
+    @Test
+    void testPageOfUsersTakesTwoStatements() {
+        Page<UserResponse> page = userService.getAllUsers(PageRequest.of(0, 50));
+        
+        assertEquals(USER_COUNT, page.getContent().size());
+        assertEquals(USER_COUNT, page.getTotalElements());
+        page.getContent().forEach(user -> assertTrue(user.getRoles().contains("USER")));
+        // Summaries, then every role of the page in one IN query; the count is skipped for a short first page
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+    
+    @Test
+    void testFullPageAddsOnlyTheCount() {
+        Page<UserResponse> page = userService.getAllUsers(PageRequest.of(0, 10));
+        
+        assertEquals(10, page.getContent().size());
+        assertEquals(USER_COUNT, page.getTotalElements());
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+    
+    @Test
+    void testLookupByIdReturnsAllRoles() {
+        UserResponse user = userService.getUserById(adminId);
+        
+        assertEquals(Set.of("USER", "ADMIN"), user.getRoles());
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.authbackend.integration;
+
+import com.example.authbackend.dto.response.CursorPageResponse;
+import com.example.authbackend.dto.response.UserResponse;
+import com.example.authbackend.entity.AuthProvider;
+import com.example.authbackend.entity.Role;
+import com.example.authbackend.entity.RoleName;
+import com.example.authbackend.entity.User;
+import com.example.authbackend.exception.InvalidCursorException;
+import com.example.authbackend.repository.RoleRepository;
+import com.example.authbackend.repository.UserRepository;
+import com.example.authbackend.service.UserService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(locations = "classpath:application-test.properties", properties = "app.users.page.max-size=5")
+class UserScrollIntegrationTest {
+    
+    private static final int USER_COUNT = 12;
+    
+    @Autowired
+    private UserService userService;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private RoleRepository roleRepository;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    private Statistics statistics;
+    
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        Role userRole = roleRepository.findByName(RoleName.USER)
+            .orElseGet(() -> roleRepository.save(new Role(RoleName.USER)));
+        
+        for (int i = 0; i < USER_COUNT; i++) {
+            User user = new User("Scroll" + i, "User", "scroll" + i + "@test.com", "hash");
+            user.setEmailVerified(true);
+            user.setProvider(AuthProvider.LOCAL);
+            user.setRoles(Set.of(userRole));
+            userRepository.save(user);
+        }
+        
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+    
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+    
+    @Test
+    void testScrollVisitsEveryUserOnceInDescendingIdOrder() {
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPageResponse<UserResponse> page = userService.getUsersPage(cursor, 5, false);
+            page.getContent().forEach(user -> {
+                assertEquals(Set.of("USER"), user.getRoles());
+                seen.add(user.getId());
+            });
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+        
+        assertEquals(3, pages);
+        assertEquals(USER_COUNT, seen.size());
+        assertEquals(USER_COUNT, Set.copyOf(seen).size());
+        for (int i = 1; i < seen.size(); i++) {
+            assertTrue(seen.get(i - 1) > seen.get(i));
+        }
+    }
+    
+    @Test
+    void testPageRunsTwoQueriesAndNoCount() {
+        CursorPageResponse<UserResponse> page = userService.getUsersPage(null, 5, false);
+        
+        assertEquals(5, page.getContent().size());
+        assertTrue(page.isHasNext());
+        assertNull(page.getTotalElements());
+        // Keyset id query, then users joined with roles for those ids
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+    
+    @Test
+    void testTotalOnlyWhenRequested() {
+        CursorPageResponse<UserResponse> page = userService.getUsersPage(null, 5, true);
+        
+        assertEquals(USER_COUNT, page.getTotalElements());
+        assertEquals(3, statistics.getPrepareStatementCount());
+    }
+    
+    @Test
+    void testPageSizeIsClampedToMaximum() {
+        CursorPageResponse<UserResponse> page = userService.getUsersPage(null, 1000, false);
+        
+        assertEquals(5, page.getSize());
+        assertEquals(5, page.getContent().size());
+    }
+    
+    @Test
+    void testLastPageHasNoCursor() {
+        CursorPageResponse<UserResponse> first = userService.getUsersPage(null, 5, false);
+        CursorPageResponse<UserResponse> second = userService.getUsersPage(first.getNextCursor(), 5, false);
+        CursorPageResponse<UserResponse> last = userService.getUsersPage(second.getNextCursor(), 5, false);
+        
+        assertEquals(2, last.getContent().size());
+        assertFalse(last.isHasNext());
+        assertNull(last.getNextCursor());
+    }
+    
+    @Test
+    void testTamperedCursorIsRejected() {
+        assertThrows(InvalidCursorException.class, () -> userService.getUsersPage("not-a-cursor", 5, false));
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.authbackend.integration;
+
+import com.example.authbackend.AuthBackendApplication;
+import com.example.authbackend.entity.AuthProvider;
+import com.example.authbackend.entity.Role;
+import com.example.authbackend.entity.RoleName;
+import com.example.authbackend.entity.User;
+import com.example.authbackend.repository.RoleRepository;
+import com.example.authbackend.repository.UserRepository;
+import com.example.authbackend.security.JwtTokenProvider;
+import com.example.authbackend.security.UserPrincipal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop load against {@code GET /users/me}: starts the application on a random port with the
+ * test profile (H2), mints a token for one user and keeps {@code concurrency} clients sending
+ * requests back to back. Run once per mode and compare requests/s and latency percentiles.
+ *
+ * <p>Run with {@code mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test
+ * "-Dexec.args=-cp %classpath com.example.authbackend.integration.UsersMeThroughputBenchmark platform 1000 20"}.
+ * The {@code virtual} mode needs a Java 21 runtime and a build with {@code -Pjdk21}.
+ */
+public class UsersMeThroughputBenchmark {
+    
+    private static final Logger logger = LoggerFactory.getLogger(UsersMeThroughputBenchmark.class);
+    
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+    
+    public static void main(String[] args) throws Exception {
+        String mode = args.length > 0 ? args[0] : "platform";
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        Duration duration = Duration.ofSeconds(args.length > 2 ? Long.parseLong(args[2]) : 20);
+        // System properties, so they win over the test profile's DEBUG logging and SQL output.
+        // Devtools would otherwise restart the application in a new class loader and drop the arguments.
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        System.setProperty("logging.level.root", "WARN");
+        System.setProperty("logging.level.com.example.authbackend", "WARN");
+        System.setProperty("logging.level." + UsersMeThroughputBenchmark.class.getName(), "INFO");
+        System.setProperty("logging.level.org.springframework.security", "WARN");
+        System.setProperty("spring.jpa.show-sql", "false");
+        System.setProperty("spring.jpa.properties.hibernate.generate_statistics", "false");
+        
+        try (ConfigurableApplicationContext context = start("virtual".equals(mode))) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            String token = createUserToken(context);
+            URI uri = URI.create("http://localhost:" + port + "/api/v1/users/me");
+            
+            run(uri, token, concurrency, WARMUP);
+            Result result = run(uri, token, concurrency, duration);
+            logger.info(String.format("mode=%s java=%s concurrency=%d duration=%ds requests=%d errors=%d "
+                            + "throughput=%.0f req/s p50=%.1f ms p99=%.1f ms",
+                    mode, Runtime.version().feature(), concurrency, duration.toSeconds(), result.requests, result.errors,
+                    result.requests / (double) duration.toSeconds(), result.percentileMillis(0.50), result.percentileMillis(0.99)));
+        }
+    }
+    
+    private static ConfigurableApplicationContext start(boolean virtualThreads) {
+        List<String> profiles = new ArrayList<>(List.of("test"));
+        if (virtualThreads) {
+            profiles.add("virtual-threads");
+        }
+        return new SpringApplicationBuilder(AuthBackendApplication.class)
+                .profiles(profiles.toArray(String[]::new))
+                .properties("server.port=0")
+                .run();
+    }
+    
+    private static String createUserToken(ConfigurableApplicationContext context) {
+        RoleRepository roleRepository = context.getBean(RoleRepository.class);
+        Role userRole = roleRepository.findByName(RoleName.USER)
+                .orElseGet(() -> roleRepository.save(new Role(RoleName.USER)));
+        
+        User user = new User("Load", "Test", "load-test@test.com", "not-used");
+        user.setEmailVerified(true);
+        user.setProvider(AuthProvider.LOCAL);
+        user.setRoles(Set.of(userRole));
+        user = context.getBean(UserRepository.class).save(user);
+        return context.getBean(JwtTokenProvider.class).generateToken(UserPrincipal.create(user));
+    }
+    
+    private static Result run(URI uri, String token, int concurrency, Duration duration) throws Exception {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+        
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        CountDownLatch start = new CountDownLatch(1);
+        LongAdder errors = new LongAdder();
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<long[]>> futures = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            futures.add(clients.submit(() -> {
+                start.await();
+                long[] latencies = new long[1024];
+                int count = 0;
+                while (System.nanoTime() < deadline) {
+                    long begin = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() != 200) {
+                            errors.increment();
+                            continue;
+                        }
+                    } catch (Exception ex) {
+                        errors.increment();
+                        continue;
+                    }
+                    if (count == latencies.length) {
+                        latencies = Arrays.copyOf(latencies, count * 2);
+                    }
+                    latencies[count++] = System.nanoTime() - begin;
+                }
+                return Arrays.copyOf(latencies, count);
+            }));
+        }
+        start.countDown();
+        
+        List<long[]> perClient = new ArrayList<>(concurrency);
+        for (Future<long[]> future : futures) {
+            perClient.add(future.get());
+        }
+        clients.shutdown();
+        return new Result(perClient.stream().flatMapToLong(Arrays::stream).sorted().toArray(), errors.sum());
+    }
+    
+    private static final class Result {
+        
+        private final long[] sortedLatencies;
+        private final long requests;
+        private final long errors;
+        
+        private Result(long[] sortedLatencies, long errors) {
+            this.sortedLatencies = sortedLatencies;
+            this.requests = sortedLatencies.length;
+            this.errors = errors;
+        }
+        
+        private double percentileMillis(double percentile) {
+            if (sortedLatencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.min(sortedLatencies.length - 1, Math.ceil(percentile * sortedLatencies.length) - 1);
+            return sortedLatencies[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.authbackend.reactive.security;
+
+import com.example.authbackend.entity.RoleName;
+import com.example.authbackend.reactive.repository.ReactiveUserRepository;
+import com.example.authbackend.reactive.repository.UserRow;
+import com.example.authbackend.security.UserPrincipal;
+import com.example.authbackend.security.VerifiedToken;
+import com.example.authbackend.security.VerifiedTokenCache;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationWebFilterTest {
+    
+    @Mock
+    private VerifiedTokenCache verifiedTokenCache;
+    
+    @Mock
+    private ReactiveTokenRevocationStore tokenRevocationStore;
+    
+    @Mock
+    private ReactiveTokenVersionCache tokenVersionCache;
+    
+    @Mock
+    private ReactiveUserRepository userRepository;
+    
+    private final AtomicReference<Authentication> seen = new AtomicReference<>();
+    
+    // Records the authentication the rest of the chain sees
+    private final WebFilterChain chain = exchange -> ReactiveSecurityContextHolder.getContext()
+            .map(SecurityContext::getAuthentication)
+            .doOnNext(seen::set)
+            .then();
+    
+    @Test
+    void testStatelessTokenAuthenticatesWithoutDatabase() {
+        VerifiedToken token = token();
+        when(verifiedTokenCache.verify("good")).thenReturn(Optional.of(token));
+        when(tokenVersionCache.isCurrent(token)).thenReturn(Mono.just(true));
+        
+        StepVerifier.create(filter(true).filter(exchange("good"), chain)).verifyComplete();
+        
+        UserPrincipal principal = (UserPrincipal) seen.get().getPrincipal();
+        assertEquals(7L, principal.getId());
+        assertEquals("user@test.com", principal.getUsername());
+        assertTrue(seen.get().getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_USER")));
+        verifyNoInteractions(userRepository);
+    }
+    
+    @Test
+    void testStatefulModeLoadsUserFromRepository() {
+        VerifiedToken token = token();
+        when(verifiedTokenCache.verify("good")).thenReturn(Optional.of(token));
+        when(tokenVersionCache.isCurrent(token)).thenReturn(Mono.just(true));
+        when(userRepository.findByEmail("user@test.com")).thenReturn(Mono.just(new UserRow(7L, "Test", "User",
+                "user@test.com", "hash", true, "LOCAL", null, LocalDateTime.now(), 0, Set.of(RoleName.ADMIN))));
+        
+        StepVerifier.create(filter(false).filter(exchange("good"), chain)).verifyComplete();
+        
+        assertTrue(seen.get().getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN")));
+    }
+    
+    @Test
+    void testRevokedTokenLeavesRequestUnauthenticated() {
+        VerifiedToken token = token();
+        when(verifiedTokenCache.verify("revoked")).thenReturn(Optional.of(token));
+        when(tokenRevocationStore.isRevoked("jti-1")).thenReturn(true);
+        
+        StepVerifier.create(filter(true).filter(exchange("revoked"), chain)).verifyComplete();
+        
+        assertNull(seen.get());
+        verifyNoInteractions(tokenVersionCache);
+    }
+    
+    @Test
+    void testStaleTokenVersionLeavesRequestUnauthenticated() {
+        VerifiedToken token = token();
+        when(verifiedTokenCache.verify("stale")).thenReturn(Optional.of(token));
+        when(tokenVersionCache.isCurrent(token)).thenReturn(Mono.just(false));
+        
+        StepVerifier.create(filter(true).filter(exchange("stale"), chain)).verifyComplete();
+        
+        assertNull(seen.get());
+    }
+    
+    @Test
+    void testLookupFailureStillContinuesChain() {
+        VerifiedToken token = token();
+        when(verifiedTokenCache.verify("good")).thenReturn(Optional.of(token));
+        when(tokenVersionCache.isCurrent(token)).thenReturn(Mono.error(new IllegalStateException("database down")));
+        
+        StepVerifier.create(filter(true).filter(exchange("good"), chain)).verifyComplete();
+        
+        assertNull(seen.get());
+    }
+    
+    @Test
+    void testMissingHeaderSkipsVerification() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/users/me"));
+        
+        StepVerifier.create(filter(true).filter(exchange, chain)).verifyComplete();
+        
+        assertNull(seen.get());
+        verify(verifiedTokenCache, never()).verify(anyString());
+    }
+    
+    private JwtAuthenticationWebFilter filter(boolean stateless) {
+        return new JwtAuthenticationWebFilter(verifiedTokenCache, tokenRevocationStore, tokenVersionCache,
+                userRepository, stateless);
+    }
+    
+    private static MockServerWebExchange exchange(String token) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/users/me")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
+    }
+    
+    private static VerifiedToken token() {
+        long now = System.currentTimeMillis();
+        return new VerifiedToken("user@test.com", "jti-1", null, "access", new Date(now + 60_000), new Date(now),
+                7L, List.of("USER"), true, 0);
+    }
+}
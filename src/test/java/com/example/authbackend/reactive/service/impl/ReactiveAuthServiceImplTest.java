@@ -0,0 +1,205 @@
+package com.example.authbackend.reactive.service.impl;
+
+import com.example.authbackend.dto.request.LoginRequest;
+import com.example.authbackend.dto.request.RegisterRequest;
+import com.example.authbackend.entity.EmailType;
+import com.example.authbackend.entity.RoleName;
+import com.example.authbackend.exception.EmailAlreadyExistsException;
+import com.example.authbackend.exception.InvalidTokenException;
+import com.example.authbackend.reactive.repository.ReactiveEmailOutboxRepository;
+import com.example.authbackend.reactive.repository.ReactiveUserRepository;
+import com.example.authbackend.reactive.repository.ReactiveVerificationTokenRepository;
+import com.example.authbackend.reactive.repository.UserRow;
+import com.example.authbackend.reactive.security.ReactivePasswordHasher;
+import com.example.authbackend.reactive.service.ReactiveRefreshTokenService;
+import com.example.authbackend.security.JwtTokenProvider;
+import com.example.authbackend.security.UserPrincipal;
+import com.example.authbackend.security.VerifiedToken;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.DisabledException;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveAuthServiceImplTest {
+    
+    @Mock
+    private ReactiveUserRepository userRepository;
+    
+    @Mock
+    private ReactiveVerificationTokenRepository tokenRepository;
+    
+    @Mock
+    private ReactiveEmailOutboxRepository outboxRepository;
+    
+    @Mock
+    private ReactivePasswordHasher passwordHasher;
+    
+    @Mock
+    private JwtTokenProvider tokenProvider;
+    
+    @Mock
+    private ReactiveRefreshTokenService refreshTokenService;
+    
+    @Mock
+    private TransactionalOperator transactionalOperator;
+    
+    @InjectMocks
+    private ReactiveAuthServiceImpl authService;
+    
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+    
+    @Test
+    void testLoginIssuesTokensForValidCredentials() {
+        UserRow user = user(true);
+        when(userRepository.findByEmail("user@test.com")).thenReturn(Mono.just(user));
+        when(passwordHasher.matches("secret", "hash")).thenReturn(Mono.just(true));
+        when(refreshTokenService.issue(1L, "user@test.com")).thenReturn(Mono.just("refresh"));
+        when(tokenProvider.generateToken(any(UserPrincipal.class))).thenReturn("access");
+        
+        StepVerifier.create(authService.login(login("secret")))
+                .assertNext(response -> {
+                    assertEquals("access", response.getAccessToken());
+                    assertEquals("refresh", response.getRefreshToken());
+                    assertEquals(Set.of("USER"), response.getUser().getRoles());
+                })
+                .verifyComplete();
+    }
+    
+    @Test
+    void testLoginWithUnknownEmailStillHashesOnce() {
+        when(userRepository.findByEmail("user@test.com")).thenReturn(Mono.empty());
+        when(passwordHasher.matches("secret", null)).thenReturn(Mono.just(false));
+        
+        StepVerifier.create(authService.login(login("secret")))
+                .expectError(BadCredentialsException.class)
+                .verify();
+        
+        verify(passwordHasher, times(1)).matches(any(), any());
+        verifyNoInteractions(refreshTokenService);
+    }
+    
+    @Test
+    void testLoginWithWrongPasswordFails() {
+        when(userRepository.findByEmail("user@test.com")).thenReturn(Mono.just(user(true)));
+        when(passwordHasher.matches("wrong", "hash")).thenReturn(Mono.just(false));
+        
+        StepVerifier.create(authService.login(login("wrong")))
+                .expectError(BadCredentialsException.class)
+                .verify();
+        
+        verify(passwordHasher, times(1)).matches(any(), any());
+    }
+    
+    @Test
+    void testLoginRejectsUnverifiedUser() {
+        when(userRepository.findByEmail("user@test.com")).thenReturn(Mono.just(user(false)));
+        when(passwordHasher.matches("secret", "hash")).thenReturn(Mono.just(true));
+        
+        StepVerifier.create(authService.login(login("secret")))
+                .expectError(DisabledException.class)
+                .verify();
+    }
+    
+    @Test
+    void testRegisterWritesUserRoleTokenAndOutboxRow() {
+        when(passwordHasher.encode("secret")).thenReturn(Mono.just("hash"));
+        when(userRepository.insertLocalUser("Test", "User", "user@test.com", "hash")).thenReturn(Mono.just(5L));
+        when(userRepository.addRole(5L, RoleName.USER)).thenReturn(Mono.just(1L));
+        when(tokenRepository.insert(anyString(), eq(5L), any(LocalDateTime.class))).thenReturn(Mono.just(1L));
+        when(outboxRepository.enqueue(eq(EmailType.VERIFICATION), any(UserRow.class), anyString())).thenReturn(Mono.just(1L));
+        
+        StepVerifier.create(authService.register(register()))
+                .assertNext(response -> assertTrue(response.getSuccess()))
+                .verifyComplete();
+        
+        verify(transactionalOperator).transactional(any(Mono.class));
+        verify(outboxRepository).enqueue(eq(EmailType.VERIFICATION), argThat(row -> row.id() == 5L), anyString());
+    }
+    
+    @Test
+    void testRegisterMapsDuplicateEmail() {
+        when(passwordHasher.encode("secret")).thenReturn(Mono.just("hash"));
+        when(userRepository.insertLocalUser(any(), any(), any(), any()))
+                .thenReturn(Mono.error(new DuplicateKeyException("users_email_key")));
+        
+        StepVerifier.create(authService.register(register()))
+                .expectError(EmailAlreadyExistsException.class)
+                .verify();
+        
+        verifyNoInteractions(outboxRepository);
+    }
+    
+    @Test
+    void testReusedRefreshTokenIsRejected() {
+        long now = System.currentTimeMillis();
+        VerifiedToken refreshToken = new VerifiedToken("user@test.com", "jti", "family", VerifiedToken.TYPE_REFRESH,
+                new Date(now + 60_000), new Date(now), null, null, null, 0);
+        UserRow user = user(true);
+        when(tokenProvider.verifyToken("refresh")).thenReturn(Optional.of(refreshToken));
+        when(userRepository.findByEmail("user@test.com")).thenReturn(Mono.just(user));
+        when(refreshTokenService.rotate(refreshToken, user)).thenReturn(Mono.empty());
+        
+        StepVerifier.create(authService.refreshToken("refresh"))
+                .expectError(InvalidTokenException.class)
+                .verify();
+        
+        verify(tokenProvider, never()).generateToken(any(UserPrincipal.class));
+    }
+    
+    @Test
+    void testRefreshRejectsUnverifiedUser() {
+        long now = System.currentTimeMillis();
+        VerifiedToken refreshToken = new VerifiedToken("user@test.com", "jti", "family", VerifiedToken.TYPE_REFRESH,
+                new Date(now + 60_000), new Date(now), null, null, null, 0);
+        when(tokenProvider.verifyToken("refresh")).thenReturn(Optional.of(refreshToken));
+        when(userRepository.findByEmail("user@test.com")).thenReturn(Mono.just(user(false)));
+        
+        StepVerifier.create(authService.refreshToken("refresh"))
+                .expectError(DisabledException.class)
+                .verify();
+        
+        verifyNoInteractions(refreshTokenService);
+    }
+    
+    private static UserRow user(boolean verified) {
+        return new UserRow(1L, "Test", "User", "user@test.com", "hash", verified, "LOCAL", null,
+                LocalDateTime.now(), 0, Set.of(RoleName.USER));
+    }
+    
+    private static LoginRequest login(String password) {
+        LoginRequest request = new LoginRequest();
+        request.setEmail("user@test.com");
+        request.setPassword(password);
+        return request;
+    }
+    
+    private static RegisterRequest register() {
+        RegisterRequest request = new RegisterRequest();
+        request.setFirstName("Test");
+        request.setLastName("User");
+        request.setEmail("user@test.com");
+        request.setPassword("secret");
+        return request;
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.authbackend.security;
+
+import com.example.authbackend.entity.AuthProvider;
+import com.example.authbackend.entity.Role;
+import com.example.authbackend.entity.RoleName;
+import com.example.authbackend.entity.User;
+import com.example.authbackend.event.UserChangedEvent;
+import com.example.authbackend.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.security.authentication.DisabledException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CustomUserDetailsServiceTest {
+    
+    @Mock
+    private UserRepository userRepository;
+    
+    private CustomUserDetailsService userDetailsService;
+    private UserDetailsCache userDetailsCache;
+    private User testUser;
+    
+    @BeforeEach
+    void setUp() {
+        userDetailsCache = new UserDetailsCache(true, Duration.ofMinutes(5), 100,
+                new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class));
+        userDetailsService = new CustomUserDetailsService();
+        ReflectionTestUtils.setField(userDetailsService, "userRepository", userRepository);
+        ReflectionTestUtils.setField(userDetailsService, "userDetailsCache", userDetailsCache);
+        
+        testUser = new User("John", "Doe", "john@example.com", "encoded-password");
+        testUser.setId(1L);
+        testUser.setEmailVerified(true);
+        testUser.setProvider(AuthProvider.LOCAL);
+        testUser.setRoles(Set.of(new Role(RoleName.USER)));
+    }
+    
+    @Test
+    void testLoadCachedUserByUsernameIsCachedAsDetachedSnapshot() {
+        when(userRepository.findByEmailWithRoles("john@example.com")).thenReturn(Optional.of(testUser));
+        
+        UserDetails first = userDetailsService.loadCachedUserByUsername("john@example.com");
+        UserDetails second = userDetailsService.loadCachedUserByUsername("john@example.com");
+        UserDetails byId = userDetailsService.loadUserById(1L);
+        
+        assertInstanceOf(UserPrincipal.class, first);
+        assertSame(first, second);
+        assertSame(first, byId);
+        assertTrue(first.isEnabled());
+        assertEquals("encoded-password", first.getPassword());
+        verify(userRepository, times(1)).findByEmailWithRoles("john@example.com");
+        verifyNoMoreInteractions(userRepository);
+    }
+    
+    @Test
+    void testLoadUserByUsernameAlwaysReadsTheDatabase() {
+        when(userRepository.findByEmailWithRoles("john@example.com")).thenReturn(Optional.of(testUser));
+        userDetailsService.loadCachedUserByUsername("john@example.com");
+        
+        testUser.setPassword("changed-on-another-node");
+        
+        assertEquals("changed-on-another-node", userDetailsService.loadUserByUsername("john@example.com").getPassword());
+        verify(userRepository, times(2)).findByEmailWithRoles("john@example.com");
+    }
+    
+    @Test
+    void testUnverifiedUserIsRejectedAtLogin() {
+        testUser.setEmailVerified(false);
+        when(userRepository.findByEmailWithRoles("john@example.com")).thenReturn(Optional.of(testUser));
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider(userDetailsService);
+        
+        assertFalse(userDetailsService.loadUserByUsername("john@example.com").isEnabled());
+        assertThrows(DisabledException.class, () -> provider.authenticate(
+                new UsernamePasswordAuthenticationToken("john@example.com", "password")));
+    }
+    
+    @Test
+    void testUserChangedEventEvictsEntry() {
+        when(userRepository.findByEmailWithRoles("john@example.com")).thenReturn(Optional.of(testUser));
+        userDetailsService.loadCachedUserByUsername("john@example.com");
+        
+        testUser.setPassword("changed-password");
+        userDetailsCache.onUserChanged(new UserChangedEvent(1L, "john@example.com"));
+        
+        assertEquals("changed-password", userDetailsService.loadCachedUserByUsername("john@example.com").getPassword());
+        verify(userRepository, times(2)).findByEmailWithRoles("john@example.com");
+    }
+    
+    @Test
+    void testUpdatePasswordStoresNewHashAndEvictsCache() {
+        when(userRepository.findByEmailWithRoles("john@example.com")).thenReturn(Optional.of(testUser));
+        UserDetails loaded = userDetailsService.loadCachedUserByUsername("john@example.com");
+        
+        UserDetails updated = userDetailsService.updatePassword(loaded, "{bcrypt}new-hash");
+        
+        assertEquals("{bcrypt}new-hash", updated.getPassword());
+        assertEquals(loaded.getAuthorities(), updated.getAuthorities());
+        verify(userRepository).updatePassword("john@example.com", "{bcrypt}new-hash");
+        
+        userDetailsService.loadCachedUserByUsername("john@example.com");
+        verify(userRepository, times(2)).findByEmailWithRoles("john@example.com");
+    }
+    
+    @Test
+    void testUnknownUserIsNotCached() {
+        when(userRepository.findByEmailWithRoles("nobody@example.com")).thenReturn(Optional.empty());
+        
+        assertThrows(UsernameNotFoundException.class, () -> userDetailsService.loadCachedUserByUsername("nobody@example.com"));
+        assertThrows(UsernameNotFoundException.class, () -> userDetailsService.loadCachedUserByUsername("nobody@example.com"));
+        
+        verify(userRepository, times(2)).findByEmailWithRoles("nobody@example.com");
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.authbackend.security;
+
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtKeyRingTest {
+    
+    private final SecretKey hmacKey = Keys.hmacShaKeyFor(
+            "mySecretKeyThatIsAtLeast256BitsLongForHS256Algorithm".getBytes(StandardCharsets.UTF_8));
+    
+    private MutableClock clock;
+    
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+    }
+    
+    @Test
+    void testHs256HasNoKeyIdAndNoJwks() {
+        JwtKeyRing keyRing = new JwtKeyRing(new JwtSigningProperties(), hmacKey, Duration.ofDays(7), clock);
+        
+        assertFalse(keyRing.isAsymmetric());
+        assertNull(keyRing.getActiveKeyId());
+        assertSame(hmacKey, keyRing.resolveVerificationKey(null));
+        assertEquals(List.of(), keyRing.getJwks().get("keys"));
+    }
+    
+    @Test
+    void testEs256TokenCarriesKidAndVerifies() {
+        JwtTokenProvider provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "jwtSecret", "mySecretKeyThatIsAtLeast256BitsLongForHS256Algorithm");
+        ReflectionTestUtils.setField(provider, "jwtExpirationInMs", 86400000);
+        ReflectionTestUtils.setField(provider, "refreshTokenExpirationInMs", 604800000);
+        ReflectionTestUtils.setField(provider, "signingProperties", es256(Duration.ZERO));
+        provider.init();
+        
+        String token = provider.generateTokenFromUsername("test@example.com");
+        String header = new String(Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.'))), StandardCharsets.UTF_8);
+        
+        assertTrue(header.contains("\"alg\":\"ES256\""));
+        assertTrue(header.contains("\"kid\":\"" + provider.getKeyRing().getActiveKeyId() + "\""));
+        assertEquals("test@example.com", provider.verifyToken(token).orElseThrow().getSubject());
+    }
+    
+    @Test
+    void testJwksPublishesEcPublicKey() {
+        JwtKeyRing keyRing = new JwtKeyRing(es256(Duration.ZERO), hmacKey, Duration.ofDays(7), clock);
+        
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> keys = (List<Map<String, Object>>) keyRing.getJwks().get("keys");
+        
+        assertEquals(1, keys.size());
+        Map<String, Object> jwk = keys.get(0);
+        assertEquals(keyRing.getActiveKeyId(), jwk.get("kid"));
+        assertEquals("EC", jwk.get("kty"));
+        assertEquals("P-256", jwk.get("crv"));
+        assertEquals(32, Base64.getUrlDecoder().decode((String) jwk.get("x")).length);
+        assertEquals(32, Base64.getUrlDecoder().decode((String) jwk.get("y")).length);
+        assertFalse(jwk.containsKey("d"));
+    }
+    
+    @Test
+    void testRotationKeepsOldKeyUntilRetentionPasses() {
+        JwtKeyRing keyRing = new JwtKeyRing(es256(Duration.ofHours(1)), hmacKey, Duration.ofDays(1), clock);
+        String firstKid = keyRing.getActiveKeyId();
+        
+        // The successor is published ahead of activation
+        assertEquals(2, ((List<?>) keyRing.getJwks().get("keys")).size());
+        
+        clock.advance(Duration.ofHours(1));
+        keyRing.rotate();
+        String secondKid = keyRing.getActiveKeyId();
+        
+        assertNotEquals(firstKid, secondKid);
+        assertNotNull(keyRing.resolveVerificationKey(firstKid));
+        
+        clock.advance(Duration.ofDays(1).plusMinutes(1));
+        keyRing.rotate();
+        
+        assertThrows(SignatureException.class, () -> keyRing.resolveVerificationKey(firstKid));
+    }
+    
+    @Test
+    void testUnknownOrMissingKidIsRejected() {
+        JwtKeyRing keyRing = new JwtKeyRing(es256(Duration.ZERO), hmacKey, Duration.ofDays(7), clock);
+        
+        assertThrows(SignatureException.class, () -> keyRing.resolveVerificationKey("unknown"));
+        assertThrows(SignatureException.class, () -> keyRing.resolveVerificationKey(null));
+    }
+    
+    private static JwtSigningProperties es256(Duration rotationInterval) {
+        JwtSigningProperties properties = new JwtSigningProperties();
+        properties.setAlgorithm("ES256");
+        properties.setRotationInterval(rotationInterval);
+        return properties;
+    }
+    
+    private static final class MutableClock extends Clock {
+        
+        private Instant now;
+        
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+        
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+        
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+        
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+        
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
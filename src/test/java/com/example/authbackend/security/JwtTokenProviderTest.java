@@ -3,8 +3,14 @@ package com.example.authbackend.security;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class JwtTokenProviderTest {
@@ -17,6 +23,7 @@ class JwtTokenProviderTest {
         ReflectionTestUtils.setField(jwtTokenProvider, "jwtSecret", "mySecretKeyThatIsAtLeast256BitsLongForHS256Algorithm");
         ReflectionTestUtils.setField(jwtTokenProvider, "jwtExpirationInMs", 86400000);
         ReflectionTestUtils.setField(jwtTokenProvider, "refreshTokenExpirationInMs", 604800000);
+        jwtTokenProvider.init();
     }
     
     @Test
@@ -61,4 +68,68 @@ class JwtTokenProviderTest {
         assertNotNull(refreshToken);
         assertTrue(jwtTokenProvider.isRefreshToken(refreshToken));
     }
+    
+    @Test
+    void testVerifyTokenReturnsClaims() {
+        String username = "test@example.com";
+        String token = jwtTokenProvider.generateTokenFromUsername(username);
+        
+        VerifiedToken verified = jwtTokenProvider.verifyToken(token).orElseThrow();
+        
+        assertEquals(username, verified.getSubject());
+        assertFalse(verified.isRefreshToken());
+        assertTrue(verified.getExpiresAtMillis() > verified.getIssuedAtMillis());
+    }
+    
+    @Test
+    void testVerifyRefreshToken() {
+        String refreshToken = jwtTokenProvider.generateRefreshToken("test@example.com");
+        
+        VerifiedToken verified = jwtTokenProvider.verifyToken(refreshToken).orElseThrow();
+        
+        assertTrue(verified.isRefreshToken());
+    }
+    
+    @Test
+    void testVerifyTokenWithWrongSignature() {
+        JwtTokenProvider otherProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(otherProvider, "jwtSecret", "anotherSecretKeyThatIsAtLeast256BitsLongForHS256Algorithm");
+        ReflectionTestUtils.setField(otherProvider, "jwtExpirationInMs", 86400000);
+        ReflectionTestUtils.setField(otherProvider, "refreshTokenExpirationInMs", 604800000);
+        otherProvider.init();
+        
+        String forged = otherProvider.generateTokenFromUsername("test@example.com");
+        
+        assertTrue(jwtTokenProvider.verifyToken(forged).isEmpty());
+        assertFalse(jwtTokenProvider.validateToken(forged));
+    }
+    
+    @Test
+    void testGenerateTokenEmbedsPrincipalClaims() {
+        UserPrincipal principal = new UserPrincipal(42L, "test@example.com", "hash",
+                List.of(new SimpleGrantedAuthority("ROLE_USER"), new SimpleGrantedAuthority("ROLE_ADMIN")), false);
+        String token = jwtTokenProvider.generateToken(principal);
+        
+        VerifiedToken verified = jwtTokenProvider.verifyToken(token).orElseThrow();
+        
+        assertTrue(verified.hasPrincipalClaims());
+        assertEquals(42L, verified.getUserId());
+        assertEquals(Boolean.FALSE, verified.getEnabled());
+        
+        UserPrincipal rebuilt = UserPrincipal.fromToken(verified);
+        assertEquals(42L, rebuilt.getId());
+        assertEquals("test@example.com", rebuilt.getUsername());
+        assertFalse(rebuilt.isEnabled());
+        assertNull(rebuilt.getPassword());
+        assertEquals(Set.of("ROLE_USER", "ROLE_ADMIN"), rebuilt.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toSet()));
+    }
+    
+    @Test
+    void testUsernameOnlyTokenHasNoPrincipalClaims() {
+        String token = jwtTokenProvider.generateTokenFromUsername("test@example.com");
+        
+        assertFalse(jwtTokenProvider.verifyToken(token).orElseThrow().hasPrincipalClaims());
+    }
 }
\ No newline at end of file
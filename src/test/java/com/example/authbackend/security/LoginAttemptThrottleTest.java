@@ -0,0 +1,105 @@
+package com.example.authbackend.security;
+
+import com.example.authbackend.exception.TooManyLoginAttemptsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginAttemptThrottleTest {
+    
+    private static final Duration WINDOW = Duration.ofMinutes(15);
+    
+    private final AtomicLong now = new AtomicLong(WINDOW.toMillis() * 100);
+    private LoginAttemptThrottle throttle;
+    
+    @BeforeEach
+    void setUp() {
+        Clock clock = new Clock() {
+            @Override
+            public ZoneOffset getZone() {
+                return ZoneOffset.UTC;
+            }
+            
+            @Override
+            public Clock withZone(ZoneId zone) {
+                return this;
+            }
+            
+            @Override
+            public Instant instant() {
+                return Instant.ofEpochMilli(now.get());
+            }
+        };
+        throttle = new LoginAttemptThrottle(true, WINDOW, 3, 10, 1000, new SimpleMeterRegistry(), clock);
+    }
+    
+    @Test
+    void testEmailIsBlockedAfterLimit() {
+        for (int i = 0; i < 3; i++) {
+            throttle.checkAllowed("John@Example.com", "10.0.0." + i);
+            throttle.recordFailure("John@Example.com", "10.0.0." + i);
+        }
+        
+        TooManyLoginAttemptsException ex = assertThrows(TooManyLoginAttemptsException.class,
+                () -> throttle.checkAllowed("john@example.com", "10.0.0.99"));
+        assertTrue(ex.getRetryAfterSeconds() > 0);
+        assertTrue(ex.getRetryAfterSeconds() <= 2 * WINDOW.toSeconds());
+        
+        // Other accounts from the same addresses are unaffected
+        assertDoesNotThrow(() -> throttle.checkAllowed("jane@example.com", "10.0.0.1"));
+    }
+    
+    @Test
+    void testIpIsBlockedAcrossEmails() {
+        for (int i = 0; i < 10; i++) {
+            throttle.recordFailure("user" + i + "@example.com", "10.0.0.1");
+        }
+        
+        assertThrows(TooManyLoginAttemptsException.class,
+                () -> throttle.checkAllowed("new@example.com", "10.0.0.1"));
+        assertDoesNotThrow(() -> throttle.checkAllowed("new@example.com", "10.0.0.2"));
+    }
+    
+    @Test
+    void testFailuresAgeOutOfSlidingWindow() {
+        for (int i = 0; i < 3; i++) {
+            throttle.recordFailure("john@example.com", null);
+        }
+        assertThrows(TooManyLoginAttemptsException.class, () -> throttle.checkAllowed("john@example.com", null));
+        
+        // Halfway into the next window the old failures only count half
+        now.addAndGet(WINDOW.toMillis() + WINDOW.toMillis() / 2);
+        assertDoesNotThrow(() -> throttle.checkAllowed("john@example.com", null));
+    }
+    
+    @Test
+    void testRetryAfterPointsToWhenAttemptsResume() {
+        for (int i = 0; i < 3; i++) {
+            throttle.recordFailure("john@example.com", null);
+        }
+        TooManyLoginAttemptsException ex = assertThrows(TooManyLoginAttemptsException.class,
+                () -> throttle.checkAllowed("john@example.com", null));
+        
+        now.addAndGet(ex.getRetryAfterSeconds() * 1000);
+        assertDoesNotThrow(() -> throttle.checkAllowed("john@example.com", null));
+    }
+    
+    @Test
+    void testSuccessClearsEmailCounter() {
+        for (int i = 0; i < 3; i++) {
+            throttle.recordFailure("john@example.com", "10.0.0.1");
+        }
+        throttle.recordSuccess("john@example.com");
+        
+        assertDoesNotThrow(() -> throttle.checkAllowed("john@example.com", "10.0.0.1"));
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.authbackend.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordEncoderCalibratorTest {
+    
+    @Test
+    void testCalibratedBcryptCostStaysWithinBounds() {
+        PasswordEncodingProperties properties = properties("bcrypt");
+        properties.setBcryptMinCost(4);
+        properties.setBcryptMaxCost(6);
+        properties.setTargetHashTime(Duration.ofSeconds(10));
+        
+        String hash = PasswordEncoderCalibrator.create(properties).encode("password123");
+        
+        assertTrue(hash.startsWith("{bcrypt}$2a$06$"), hash);
+    }
+    
+    @Test
+    void testLegacyUnprefixedHashMatchesAndIsUpgraded() {
+        PasswordEncodingProperties properties = properties("bcrypt");
+        properties.setBcryptMinCost(5);
+        properties.setCalibrate(false);
+        PasswordEncoder encoder = PasswordEncoderCalibrator.create(properties);
+        
+        String legacyHash = new BCryptPasswordEncoder(4).encode("password123");
+        
+        assertTrue(encoder.matches("password123", legacyHash));
+        assertFalse(encoder.matches("wrong", legacyHash));
+        assertTrue(encoder.upgradeEncoding(legacyHash));
+        assertFalse(encoder.upgradeEncoding(encoder.encode("password123")));
+    }
+    
+    @Test
+    void testArgon2EncodesAndOldBcryptHashesStillMatch() {
+        PasswordEncodingProperties bcryptProperties = properties("bcrypt");
+        bcryptProperties.setBcryptMinCost(4);
+        bcryptProperties.setCalibrate(false);
+        String bcryptHash = PasswordEncoderCalibrator.create(bcryptProperties).encode("password123");
+        
+        PasswordEncodingProperties argon2Properties = properties("argon2");
+        argon2Properties.setTargetHashTime(Duration.ofMillis(1));
+        PasswordEncoder encoder = PasswordEncoderCalibrator.create(argon2Properties);
+        String argon2Hash = encoder.encode("password123");
+        
+        assertTrue(argon2Hash.startsWith("{argon2}"));
+        assertTrue(encoder.matches("password123", argon2Hash));
+        assertTrue(encoder.matches("password123", bcryptHash));
+        assertTrue(encoder.upgradeEncoding(bcryptHash));
+    }
+    
+    @Test
+    void testPbkdf2HashesRecordIterationsAndOlderOnesAreUpgraded() {
+        PasswordEncodingProperties properties = properties("pbkdf2");
+        properties.setCalibrate(false);
+        PasswordEncoder encoder = PasswordEncoderCalibrator.create(properties);
+        
+        String hash = encoder.encode("password123");
+        String fewerIterations = "{pbkdf2}1000$" + new Pbkdf2PasswordEncoder("", 16, 1000,
+                Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256).encode("password123");
+        String untagged = "{pbkdf2}" + Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8().encode("password123");
+        
+        assertTrue(hash.startsWith("{pbkdf2}310000$"), hash);
+        assertTrue(encoder.matches("password123", hash));
+        assertFalse(encoder.upgradeEncoding(hash));
+        assertTrue(encoder.matches("password123", fewerIterations));
+        assertFalse(encoder.matches("wrong", fewerIterations));
+        assertTrue(encoder.upgradeEncoding(fewerIterations));
+        assertTrue(encoder.matches("password123", untagged));
+        assertFalse(encoder.upgradeEncoding(untagged));
+    }
+    
+    private static PasswordEncodingProperties properties(String algorithm) {
+        PasswordEncodingProperties properties = new PasswordEncodingProperties();
+        properties.setAlgorithm(algorithm);
+        return properties;
+    }
+}
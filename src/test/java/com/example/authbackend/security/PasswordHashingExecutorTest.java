@@ -0,0 +1,79 @@
+package com.example.authbackend.security;
+
+import com.example.authbackend.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHashingExecutorTest {
+    
+    private MeterRegistry meterRegistry;
+    private PasswordHashingExecutor executor;
+    
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("meterRegistry", meterRegistry);
+        executor = new PasswordHashingExecutor(1, 1, Duration.ofSeconds(5), Duration.ofSeconds(3),
+                beanFactory.getBeanProvider(MeterRegistry.class));
+    }
+    
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+    
+    @Test
+    void testHashRunsOnPoolThread() {
+        String threadName = executor.encode(() -> Thread.currentThread().getName());
+        
+        assertTrue(threadName.startsWith("password-hash-"));
+        assertEquals(1, meterRegistry.get("password.hashing.duration").tag("operation", "encode").timer().count());
+    }
+    
+    @Test
+    void testFullQueueFailsFast() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch running = new CountDownLatch(1);
+        
+        // One hash occupies the only thread, a second fills the queue
+        CompletableFuture<Boolean> busy = CompletableFuture.supplyAsync(() -> executor.matches(() -> {
+            running.countDown();
+            awaitQuietly(release);
+            return true;
+        }));
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> executor.matches(() -> true));
+        while (meterRegistry.get("password.hashing.queue.depth").gauge().value() < 1) {
+            Thread.sleep(10);
+        }
+        
+        ServiceOverloadedException ex = assertThrows(ServiceOverloadedException.class,
+                () -> executor.matches(() -> true));
+        assertEquals(3, ex.getRetryAfterSeconds());
+        assertEquals(1.0, meterRegistry.get("password.hashing.rejected").counter().count());
+        
+        release.countDown();
+        assertTrue(busy.get(5, TimeUnit.SECONDS));
+        assertTrue(queued.get(5, TimeUnit.SECONDS));
+    }
+    
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.authbackend.security;
+
+import com.example.authbackend.entity.Role;
+import com.example.authbackend.entity.RoleName;
+import com.example.authbackend.repository.RoleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RoleRegistryTest {
+    
+    @Mock
+    private RoleRepository roleRepository;
+    
+    private RoleRegistry roleRegistry;
+    
+    @BeforeEach
+    void setUp() {
+        roleRegistry = new RoleRegistry(roleRepository);
+    }
+    
+    @Test
+    void testReferencesComeFromLoadedIds() {
+        when(roleRepository.findAll()).thenReturn(List.of(role(1L, RoleName.USER), role(2L, RoleName.ADMIN)));
+        Role reference = new Role(RoleName.USER);
+        when(roleRepository.getReferenceById(1L)).thenReturn(reference);
+        
+        roleRegistry.refresh();
+        
+        assertSame(reference, roleRegistry.getReference(RoleName.USER));
+        assertSame(reference, roleRegistry.getReference(RoleName.USER));
+        verify(roleRepository, times(1)).findAll();
+        verify(roleRepository, never()).findByName(any());
+    }
+    
+    @Test
+    void testLoadsOnFirstUseWhenNotRefreshed() {
+        when(roleRepository.findAll()).thenReturn(List.of(role(1L, RoleName.USER)));
+        
+        assertEquals(1L, roleRegistry.getRoleIds().get(RoleName.USER));
+        roleRegistry.getRoleIds();
+        
+        verify(roleRepository, times(1)).findAll();
+    }
+    
+    @Test
+    void testMissingRoleFails() {
+        when(roleRepository.findAll()).thenReturn(List.of(role(1L, RoleName.USER)));
+        roleRegistry.refresh();
+        
+        assertThrows(IllegalStateException.class, () -> roleRegistry.getReference(RoleName.MODERATOR));
+        
+        // Roles added later are picked up by an explicit refresh
+        when(roleRepository.findAll()).thenReturn(List.of(role(1L, RoleName.USER), role(3L, RoleName.MODERATOR)));
+        roleRegistry.refresh();
+        assertEquals(3L, roleRegistry.getRoleIds().get(RoleName.MODERATOR));
+    }
+    
+    private static Role role(Long id, RoleName name) {
+        Role role = new Role(name);
+        role.setId(id);
+        return role;
+    }
+}
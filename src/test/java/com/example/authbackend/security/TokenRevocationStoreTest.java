@@ -0,0 +1,64 @@
+package com.example.authbackend.security;
+
+import com.example.authbackend.entity.RevokedToken;
+import com.example.authbackend.repository.RevokedTokenRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class TokenRevocationStoreTest {
+    
+    private RevokedTokenRepository revokedTokenRepository;
+    private TokenRevocationStore tokenRevocationStore;
+    
+    @BeforeEach
+    void setUp() {
+        revokedTokenRepository = mock(RevokedTokenRepository.class);
+        tokenRevocationStore = new TokenRevocationStore(revokedTokenRepository, 1000, 0.01, Duration.ofSeconds(5),
+                new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class));
+    }
+    
+    @Test
+    void testRevokedTokenIsRejectedAndPersisted() {
+        tokenRevocationStore.revoke("revoked-id", System.currentTimeMillis() + 60000);
+        
+        assertTrue(tokenRevocationStore.isRevoked("revoked-id"));
+        assertFalse(tokenRevocationStore.isRevoked("other-id"));
+        assertFalse(tokenRevocationStore.isRevoked(null));
+        verify(revokedTokenRepository).insertIfAbsent(eq("revoked-id"), any(LocalDateTime.class), any(LocalDateTime.class));
+    }
+    
+    @Test
+    void testExpiredEntriesAreDroppedOnSync() throws InterruptedException {
+        when(revokedTokenRepository.findByExpiresAtAfter(any())).thenReturn(List.of());
+        tokenRevocationStore.load();
+        tokenRevocationStore.revoke("short-lived", System.currentTimeMillis() + 200);
+        assertTrue(tokenRevocationStore.isRevoked("short-lived"));
+        
+        Thread.sleep(300);
+        tokenRevocationStore.sync();
+        
+        assertFalse(tokenRevocationStore.isRevoked("short-lived"));
+        assertEquals(0, tokenRevocationStore.getSize());
+    }
+    
+    @Test
+    void testLoadsRevocationsFromDatabase() {
+        RevokedToken stored = new RevokedToken("stored-id", LocalDateTime.now().plusHours(1), LocalDateTime.now());
+        when(revokedTokenRepository.findByExpiresAtAfter(any())).thenReturn(List.of(stored));
+        
+        tokenRevocationStore.load();
+        
+        assertTrue(tokenRevocationStore.isRevoked("stored-id"));
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.authbackend.security;
+
+import com.example.authbackend.event.UserChangedEvent;
+import com.example.authbackend.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TokenVersionCacheTest {
+    
+    private UserRepository userRepository;
+    private TokenVersionCache tokenVersionCache;
+    
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        tokenVersionCache = new TokenVersionCache(userRepository, Duration.ofMinutes(1), 100,
+                new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class));
+    }
+    
+    @Test
+    void testVersionIsLoadedOnceAndCached() {
+        when(userRepository.findTokenVersionById(1L)).thenReturn(Optional.of(0));
+        
+        assertTrue(tokenVersionCache.isCurrent(token(1L, 0)));
+        assertTrue(tokenVersionCache.isCurrent(token(1L, 0)));
+        
+        verify(userRepository, times(1)).findTokenVersionById(1L);
+    }
+    
+    @Test
+    void testOlderTokensAreRejectedAfterEviction() {
+        when(userRepository.findTokenVersionById(1L)).thenReturn(Optional.of(0), Optional.of(1));
+        assertTrue(tokenVersionCache.isCurrent(token(1L, 0)));
+        
+        tokenVersionCache.onUserChanged(new UserChangedEvent(1L, null));
+        
+        assertFalse(tokenVersionCache.isCurrent(token(1L, 0)));
+        assertTrue(tokenVersionCache.isCurrent(token(1L, 1)));
+    }
+    
+    @Test
+    void testDeletedUserIsRejected() {
+        when(userRepository.findTokenVersionById(2L)).thenReturn(Optional.empty());
+        
+        assertFalse(tokenVersionCache.isCurrent(token(2L, 0)));
+    }
+    
+    private static VerifiedToken token(Long userId, int tokenVersion) {
+        return new VerifiedToken("john@example.com", "id", null, null, new Date(System.currentTimeMillis() + 60000),
+                new Date(), userId, null, true, tokenVersion);
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.authbackend.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class VerifiedTokenCacheTest {
+    
+    private JwtTokenProvider jwtTokenProvider;
+    private VerifiedTokenCache verifiedTokenCache;
+    
+    @BeforeEach
+    void setUp() {
+        JwtTokenProvider provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "jwtSecret", "mySecretKeyThatIsAtLeast256BitsLongForHS256Algorithm");
+        ReflectionTestUtils.setField(provider, "jwtExpirationInMs", 86400000);
+        ReflectionTestUtils.setField(provider, "refreshTokenExpirationInMs", 604800000);
+        provider.init();
+        jwtTokenProvider = spy(provider);
+        
+        verifiedTokenCache = new VerifiedTokenCache(jwtTokenProvider, true, 100,
+                new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class));
+    }
+    
+    @Test
+    void testHitSkipsSignatureVerification() {
+        String token = jwtTokenProvider.generateTokenFromUsername("test@example.com");
+        
+        VerifiedToken first = verifiedTokenCache.verify(token).orElseThrow();
+        VerifiedToken second = verifiedTokenCache.verify(token).orElseThrow();
+        
+        assertSame(first, second);
+        verify(jwtTokenProvider, times(1)).verifyToken(anyString());
+        assertEquals(1, verifiedTokenCache.getHitCount());
+        assertEquals(1, verifiedTokenCache.getMissCount());
+    }
+    
+    @Test
+    void testInvalidTokenIsNotCached() {
+        assertTrue(verifiedTokenCache.verify("invalid.token.here").isEmpty());
+        assertTrue(verifiedTokenCache.verify("invalid.token.here").isEmpty());
+        
+        verify(jwtTokenProvider, times(2)).verifyToken(anyString());
+        assertEquals(0, verifiedTokenCache.getSize());
+    }
+    
+    @Test
+    void testEntryDoesNotOutliveToken() throws InterruptedException {
+        ReflectionTestUtils.setField(jwtTokenProvider, "jwtExpirationInMs", 1500);
+        String token = jwtTokenProvider.generateTokenFromUsername("test@example.com");
+        
+        assertTrue(verifiedTokenCache.verify(token).isPresent());
+        Thread.sleep(1600);
+        
+        assertTrue(verifiedTokenCache.verify(token).isEmpty());
+    }
+}
@@ -3,27 +3,42 @@ package com.example.authbackend.service.impl;
 
 import com.example.authbackend.dto.request.RegisterRequest;
 import com.example.authbackend.dto.response.ApiResponse;
+import com.example.authbackend.dto.response.AuthResponse;
+import com.example.authbackend.entity.AuthProvider;
 import com.example.authbackend.entity.Role;
 import com.example.authbackend.entity.RoleName;
 import com.example.authbackend.entity.User;
 import com.example.authbackend.exception.EmailAlreadyExistsException;
 import com.example.authbackend.repository.EmailVerificationTokenRepository;
-import com.example.authbackend.repository.RoleRepository;
 import com.example.authbackend.repository.UserRepository;
+import com.example.authbackend.security.JwtTokenProvider;
+import com.example.authbackend.security.RoleRegistry;
+import com.example.authbackend.security.TokenRevocationStore;
+import com.example.authbackend.security.UserPrincipal;
+import com.example.authbackend.security.VerifiedToken;
 import com.example.authbackend.service.EmailService;
+import com.example.authbackend.service.RefreshTokenService;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.authentication.DisabledException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.sql.SQLException;
+import java.util.Date;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,7 +48,7 @@ class AuthServiceImplTest {
     private UserRepository userRepository;
     
     @Mock
-    private RoleRepository roleRepository;
+    private RoleRegistry roleRegistry;
     
     @Mock
     private EmailVerificationTokenRepository tokenRepository;
@@ -44,6 +59,18 @@ class AuthServiceImplTest {
     @Mock
     private EmailService emailService;
     
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Mock
+    private JwtTokenProvider tokenProvider;
+    
+    @Mock
+    private TokenRevocationStore tokenRevocationStore;
+    
+    @Mock
+    private RefreshTokenService refreshTokenService;
+    
     @InjectMocks
     private AuthServiceImpl authService;
     
@@ -61,10 +88,9 @@ class AuthServiceImplTest {
     
     @Test
     void testRegisterSuccess() {
-        when(userRepository.existsByEmail(anyString())).thenReturn(false);
-        when(roleRepository.findByName(RoleName.USER)).thenReturn(Optional.of(userRole));
+        when(roleRegistry.getReference(RoleName.USER)).thenReturn(userRole);
         when(passwordEncoder.encode(anyString())).thenReturn("encoded-password");
-        when(userRepository.save(any(User.class))).thenAnswer(invocation -> {
+        when(userRepository.saveAndFlush(any(User.class))).thenAnswer(invocation -> {
             User user = invocation.getArgument(0);
             user.setId(1L);
             return user;
@@ -75,20 +101,88 @@ class AuthServiceImplTest {
         assertTrue(response.getSuccess());
         assertEquals("User registered successfully. Please check your email for verification.", response.getMessage());
         
-        verify(userRepository).save(any(User.class));
+        verify(userRepository).saveAndFlush(any(User.class));
+        verify(userRepository, never()).existsByEmail(anyString());
         verify(tokenRepository).save(any());
         verify(emailService).sendEmailVerification(any(User.class), anyString());
     }
     
     @Test
     void testRegisterEmailAlreadyExists() {
-        when(userRepository.existsByEmail(anyString())).thenReturn(true);
+        when(roleRegistry.getReference(RoleName.USER)).thenReturn(userRole);
+        when(passwordEncoder.encode(anyString())).thenReturn("encoded-password");
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(new DataIntegrityViolationException("duplicate key",
+            new ConstraintViolationException("duplicate key", new SQLException("duplicate key", "23505"),
+                ConstraintViolationException.ConstraintKind.UNIQUE, "users_email_key")));
         
         assertThrows(EmailAlreadyExistsException.class, () -> {
             authService.register(registerRequest);
         });
         
-        verify(userRepository, never()).save(any(User.class));
+        verify(tokenRepository, never()).save(any());
         verify(emailService, never()).sendEmailVerification(any(User.class), anyString());
     }
+    
+    @Test
+    void testRefreshBuildsAccessTokenFromSamePrincipalAsLogin() {
+        VerifiedToken refreshToken = refreshToken();
+        User user = user(true);
+        when(tokenProvider.verifyToken("refresh-token")).thenReturn(Optional.of(refreshToken));
+        when(userRepository.findByEmailWithRoles("john@example.com")).thenReturn(Optional.of(user));
+        when(refreshTokenService.rotate(refreshToken, user)).thenReturn("new-refresh-token");
+        when(tokenProvider.generateToken(any(UserPrincipal.class))).thenReturn("new-access-token");
+        
+        AuthResponse response = authService.refreshToken("refresh-token");
+        
+        assertEquals("new-access-token", response.getAccessToken());
+        assertEquals(Set.of("USER"), response.getUser().getRoles());
+        verify(tokenProvider).generateToken(argThat((UserPrincipal principal) -> principal.isEnabled()));
+    }
+    
+    @Test
+    void testRefreshRejectsUnverifiedUser() {
+        VerifiedToken refreshToken = refreshToken();
+        when(tokenProvider.verifyToken("refresh-token")).thenReturn(Optional.of(refreshToken));
+        when(userRepository.findByEmailWithRoles("john@example.com")).thenReturn(Optional.of(user(false)));
+        
+        assertThrows(DisabledException.class, () -> authService.refreshToken("refresh-token"));
+        
+        verify(refreshTokenService, never()).rotate(any(), any());
+    }
+    
+    @Test
+    void testLogoutRevokesToken() {
+        Date expiration = new Date(System.currentTimeMillis() + 60000);
+        VerifiedToken verifiedToken = new VerifiedToken("john@example.com", "token-id", null, null, expiration, new Date(),
+            1L, null, true, 0);
+        when(tokenProvider.verifyToken("access-token")).thenReturn(Optional.of(verifiedToken));
+        
+        ApiResponse response = authService.logout("access-token");
+        
+        assertTrue(response.getSuccess());
+        verify(tokenRevocationStore).revoke("token-id", expiration.getTime());
+    }
+    
+    @Test
+    void testLogoutIgnoresInvalidToken() {
+        when(tokenProvider.verifyToken("invalid")).thenReturn(Optional.empty());
+        
+        authService.logout("invalid");
+        
+        verify(tokenRevocationStore, never()).revoke(anyString(), anyLong());
+    }
+    
+    private static VerifiedToken refreshToken() {
+        return new VerifiedToken("john@example.com", VerifiedToken.TYPE_REFRESH,
+            new Date(System.currentTimeMillis() + 60000), new Date());
+    }
+    
+    private User user(boolean emailVerified) {
+        User user = new User("John", "Doe", "john@example.com", "encoded-password");
+        user.setId(1L);
+        user.setEmailVerified(emailVerified);
+        user.setProvider(AuthProvider.LOCAL);
+        user.setRoles(Set.of(userRole));
+        return user;
+    }
 }
@@ -0,0 +1,141 @@
+package com.example.authbackend.service.impl;
+
+import com.example.authbackend.config.EmailOutboxProperties;
+import com.example.authbackend.entity.EmailOutboxMessage;
+import com.example.authbackend.repository.EmailOutboxRepository;
+import com.example.authbackend.service.EmailService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.internet.InternetAddress;
+import org.eclipse.angus.mail.smtp.SMTPAddressFailedException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.mail.MailSendException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmailOutboxDispatcherTest {
+    
+    @Mock
+    private EmailOutboxRepository outboxRepository;
+    
+    @Mock
+    private EmailService emailService;
+    
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    
+    @Mock
+    private AsyncTaskExecutor mailExecutor;
+    
+    private MeterRegistry meterRegistry;
+    private EmailOutboxDispatcher dispatcher;
+    
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("meterRegistry", meterRegistry);
+        dispatcher = new EmailOutboxDispatcher(outboxRepository, emailService, new EmailOutboxProperties(),
+                transactionManager, mailExecutor, beanFactory.getBeanProvider(MeterRegistry.class));
+    }
+    
+    @Test
+    void testRejectedSendIsReleasedBackToOutbox() throws Exception {
+        EmailOutboxMessage accepted = message(1L);
+        EmailOutboxMessage rejected = message(2L);
+        when(outboxRepository.findDueForUpdate(any(LocalDateTime.class), anyInt())).thenReturn(List.of(accepted, rejected));
+        when(mailExecutor.submit(any(Runnable.class)))
+                .thenAnswer(invocation -> {
+                    ((Runnable) invocation.getArgument(0)).run();
+                    return CompletableFuture.completedFuture(null);
+                })
+                .thenThrow(new TaskRejectedException("saturated"));
+        
+        int attempted = dispatcher.dispatch();
+        
+        assertEquals(1, attempted);
+        verify(emailService).deliver(accepted);
+        verify(emailService, never()).deliver(rejected);
+        verify(outboxRepository).markSent(eq(1L), any(LocalDateTime.class));
+        verify(outboxRepository).releaseClaim(eq(2L), any(LocalDateTime.class));
+        assertEquals(1.0, meterRegistry.get("email.outbox.released").counter().count());
+    }
+    
+    @Test
+    void testSaturationStopsDrainingUntilNextPoll() {
+        EmailOutboxProperties properties = new EmailOutboxProperties();
+        properties.setBatchSize(1);
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("meterRegistry", meterRegistry);
+        dispatcher = new EmailOutboxDispatcher(outboxRepository, emailService, properties,
+                transactionManager, mailExecutor, beanFactory.getBeanProvider(MeterRegistry.class));
+        when(outboxRepository.findDueForUpdate(any(LocalDateTime.class), anyInt())).thenReturn(List.of(message(1L)));
+        when(mailExecutor.submit(any(Runnable.class))).thenThrow(new TaskRejectedException("saturated"));
+        
+        assertEquals(0, dispatcher.dispatch());
+        verify(outboxRepository, times(1)).findDueForUpdate(any(LocalDateTime.class), anyInt());
+    }
+    
+    @Test
+    void testPermanentSmtpRejectionIsNotRetried() throws Exception {
+        EmailOutboxMessage message = message(1L);
+        when(outboxRepository.findDueForUpdate(any(LocalDateTime.class), anyInt())).thenReturn(List.of(message));
+        when(mailExecutor.submit(any(Runnable.class))).thenAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return CompletableFuture.completedFuture(null);
+        });
+        // Same shape as SmtpConnectionPool.send: the transport exception wrapped in a MailSendException
+        doThrow(new MailSendException("Failed to send message", new SendFailedException("Invalid Addresses",
+                new SMTPAddressFailedException(new InternetAddress("nobody@test.com"), "RCPT TO", 550, "No such user"))))
+                .when(emailService).deliver(message);
+        
+        dispatcher.dispatch();
+        
+        verify(outboxRepository).markFailed(eq(1L), anyString());
+        verify(outboxRepository, never()).scheduleRetry(anyLong(), any(LocalDateTime.class), anyString());
+    }
+    
+    @Test
+    void testTransientSmtpRejectionIsRetried() throws Exception {
+        EmailOutboxMessage message = message(1L);
+        when(outboxRepository.findDueForUpdate(any(LocalDateTime.class), anyInt())).thenReturn(List.of(message));
+        when(mailExecutor.submit(any(Runnable.class))).thenAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return CompletableFuture.completedFuture(null);
+        });
+        doThrow(new MailSendException("Failed to send message", new SendFailedException("Invalid Addresses",
+                new SMTPAddressFailedException(new InternetAddress("busy@test.com"), "RCPT TO", 451, "Try again later"))))
+                .when(emailService).deliver(message);
+        
+        dispatcher.dispatch();
+        
+        verify(outboxRepository).scheduleRetry(eq(1L), any(LocalDateTime.class), anyString());
+        verify(outboxRepository, never()).markFailed(anyLong(), anyString());
+    }
+    
+    private static EmailOutboxMessage message(Long id) {
+        EmailOutboxMessage message = new EmailOutboxMessage();
+        message.setId(id);
+        return message;
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.authbackend.service.impl;
+
+import com.example.authbackend.entity.RefreshToken;
+import com.example.authbackend.entity.User;
+import com.example.authbackend.exception.InvalidTokenException;
+import com.example.authbackend.repository.RefreshTokenRepository;
+import com.example.authbackend.security.JwtTokenProvider;
+import com.example.authbackend.security.VerifiedToken;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceImplTest {
+    
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+    
+    @Mock
+    private JwtTokenProvider tokenProvider;
+    
+    @InjectMocks
+    private RefreshTokenServiceImpl refreshTokenService;
+    
+    private User user;
+    private VerifiedToken presented;
+    
+    @BeforeEach
+    void setUp() {
+        user = new User("John", "Doe", "john@example.com", "password");
+        user.setId(1L);
+        presented = new VerifiedToken("john@example.com", "old-id", "family-1", VerifiedToken.TYPE_REFRESH,
+            new Date(System.currentTimeMillis() + 60000), new Date(), null, null, null, 0);
+    }
+    
+    @Test
+    void testRotateIssuesSuccessorInSameFamily() {
+        when(refreshTokenRepository.markUsed(anyString(), eq("family-1"), any(LocalDateTime.class))).thenReturn(1);
+        when(tokenProvider.getRefreshTokenExpirationInMs()).thenReturn(604800000L);
+        when(tokenProvider.generateRefreshToken(eq("john@example.com"), anyString(), eq("family-1")))
+            .thenReturn("new-refresh-token");
+        
+        String rotated = refreshTokenService.rotate(presented, user);
+        
+        assertEquals("new-refresh-token", rotated);
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(saved.capture());
+        assertEquals("family-1", saved.getValue().getFamilyId());
+        assertEquals(64, saved.getValue().getTokenHash().length());
+        verify(refreshTokenRepository, never()).revokeFamily(anyString());
+    }
+    
+    @Test
+    void testReusedTokenRevokesFamily() {
+        when(refreshTokenRepository.markUsed(anyString(), eq("family-1"), any(LocalDateTime.class))).thenReturn(0);
+        
+        assertThrows(InvalidTokenException.class, () -> refreshTokenService.rotate(presented, user));
+        
+        verify(refreshTokenRepository).revokeFamily("family-1");
+        verify(refreshTokenRepository, never()).save(any());
+    }
+    
+    @Test
+    void testTokenWithoutFamilyIsRejected() {
+        VerifiedToken legacy = new VerifiedToken("john@example.com", VerifiedToken.TYPE_REFRESH,
+            new Date(System.currentTimeMillis() + 60000), new Date());
+        
+        assertThrows(InvalidTokenException.class, () -> refreshTokenService.rotate(legacy, user));
+        
+        verifyNoInteractions(refreshTokenRepository);
+    }
+}
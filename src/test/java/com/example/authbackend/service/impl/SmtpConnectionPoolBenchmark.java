@@ -0,0 +1,101 @@
+package com.example.authbackend.service.impl;
+
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Sends the same messages through {@link SmtpConnectionPool} and through
+ * {@link JavaMailSenderImpl#send}, which connects once per message, against a local GreenMail server.
+ *
+ * <p>Run with {@code mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test
+ * "-Dexec.args=-cp %classpath com.example.authbackend.service.impl.SmtpConnectionPoolBenchmark 2000 4"}.
+ */
+public class SmtpConnectionPoolBenchmark {
+    
+    private static final Logger logger = LoggerFactory.getLogger(SmtpConnectionPoolBenchmark.class);
+    
+    public static void main(String[] args) throws Exception {
+        int messages = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        
+        GreenMail greenMail = new GreenMail(ServerSetupTest.SMTP.dynamicPort());
+        greenMail.start();
+        try {
+            JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+            mailSender.setHost("localhost");
+            mailSender.setPort(greenMail.getSmtp().getPort());
+            SmtpConnectionPool pool = new SmtpConnectionPool(mailSender, true, threads, Duration.ofMinutes(1), 1000,
+                    Duration.ofSeconds(10), new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class));
+            
+            // Warm up both paths before measuring
+            sendConcurrently(pool, pool::send, messages / 10, threads);
+            sendConcurrently(pool, mailSender::send, messages / 10, threads);
+            
+            long pooledNanos = sendConcurrently(pool, pool::send, messages, threads);
+            long unpooledNanos = sendConcurrently(pool, mailSender::send, messages, threads);
+            logger.info("SMTP throughput against GreenMail, {} messages on {} threads: pooled {} msg/s, "
+                            + "connection per message {} msg/s, {} pooled connections opened",
+                    messages, threads, Math.round(messages / (pooledNanos / 1e9)),
+                    Math.round(messages / (unpooledNanos / 1e9)), pool.getOpenedCount());
+            pool.shutdown();
+        } finally {
+            greenMail.stop();
+        }
+    }
+    
+    private static long sendConcurrently(SmtpConnectionPool pool, Sender sender, int count, int threads)
+            throws Exception {
+        List<MimeMessage> messages = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            messages.add(message(pool, i));
+        }
+        
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            long start = System.nanoTime();
+            List<Future<?>> futures = new ArrayList<>();
+            for (MimeMessage message : messages) {
+                futures.add(executor.submit(() -> {
+                    sender.send(message);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            return System.nanoTime() - start;
+        } finally {
+            executor.shutdown();
+        }
+    }
+    
+    private static MimeMessage message(SmtpConnectionPool pool, int i) throws MessagingException {
+        MimeMessage message = pool.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true);
+        helper.setFrom("noreply@test.com");
+        helper.setTo("user" + i + "@test.com");
+        helper.setSubject("Message " + i);
+        helper.setText("<p>Hello " + i + "</p>", true);
+        return message;
+    }
+    
+    @FunctionalInterface
+    private interface Sender {
+        void send(MimeMessage message) throws Exception;
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.authbackend.service.impl;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SmtpConnectionPoolTest {
+    
+    private static final int MESSAGES = 200;
+    private static final int THREADS = 4;
+    
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP.dynamicPort());
+    
+    private JavaMailSenderImpl mailSender;
+    
+    @BeforeEach
+    void setUp() {
+        mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(greenMail.getSmtp().getPort());
+    }
+    
+    @Test
+    void testMessagesShareConnections() throws Exception {
+        SmtpConnectionPool pool = pool(THREADS, Duration.ofMinutes(1), 1000);
+        
+        sendConcurrently(pool);
+        
+        assertEquals(MESSAGES, greenMail.getReceivedMessages().length);
+        assertTrue(pool.getOpenedCount() <= THREADS, "opened " + pool.getOpenedCount() + " connections");
+        pool.shutdown();
+    }
+    
+    @Test
+    void testConnectionIsReplacedAfterMessageLimit() throws Exception {
+        SmtpConnectionPool pool = pool(1, Duration.ofMinutes(1), 10);
+        
+        for (int i = 0; i < 25; i++) {
+            pool.send(message(pool, i));
+        }
+        
+        assertEquals(25, greenMail.getReceivedMessages().length);
+        assertEquals(3, pool.getOpenedCount());
+        pool.shutdown();
+    }
+    
+    @Test
+    void testIdleConnectionsAreClosed() throws Exception {
+        SmtpConnectionPool pool = pool(2, Duration.ofMillis(50), 1000);
+        pool.send(message(pool, 0));
+        assertEquals(1, pool.getIdleCount());
+        
+        Thread.sleep(100);
+        pool.evictIdle();
+        
+        assertEquals(0, pool.getIdleCount());
+        pool.send(message(pool, 1));
+        assertEquals(2, pool.getOpenedCount());
+        pool.shutdown();
+    }
+    
+    private SmtpConnectionPool pool(int maxConnections, Duration idleTimeout, int maxMessagesPerConnection) {
+        return new SmtpConnectionPool(mailSender, true, maxConnections, idleTimeout, maxMessagesPerConnection,
+                Duration.ofSeconds(10), new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class));
+    }
+    
+    private void sendConcurrently(SmtpConnectionPool pool) throws Exception {
+        List<MimeMessage> messages = new ArrayList<>();
+        for (int i = 0; i < MESSAGES; i++) {
+            messages.add(message(pool, i));
+        }
+        
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (MimeMessage message : messages) {
+                futures.add(executor.submit(() -> {
+                    pool.send(message);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+    
+    private static MimeMessage message(SmtpConnectionPool pool, int i) throws MessagingException {
+        MimeMessage message = pool.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true);
+        helper.setFrom("noreply@test.com");
+        helper.setTo("user" + i + "@test.com");
+        helper.setSubject("Message " + i);
+        helper.setText("<p>Hello " + i + "</p>", true);
+        return message;
+    }
+}
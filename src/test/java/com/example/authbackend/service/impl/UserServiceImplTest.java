@@ -8,21 +8,27 @@ import com.example.authbackend.entity.RoleName;
 import com.example.authbackend.entity.User;
 import com.example.authbackend.exception.UserNotFoundException;
 import com.example.authbackend.repository.UserRepository;
+import com.example.authbackend.repository.projection.UserRoleName;
+import com.example.authbackend.repository.projection.UserSummary;
+import com.example.authbackend.service.RefreshTokenService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,6 +40,12 @@ class UserServiceImplTest {
     @Mock
     private PasswordEncoder passwordEncoder;
     
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Mock
+    private RefreshTokenService refreshTokenService;
+    
     @InjectMocks
     private UserServiceImpl userService;
     
@@ -56,7 +68,10 @@ class UserServiceImplTest {
     
     @Test
     void testGetUserById() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(testUser));
+        UserSummary summary = new UserSummary(1L, "John", "Doe", "john@example.com", true, AuthProvider.LOCAL,
+            null, testUser.getCreatedAt());
+        when(userRepository.findSummaryById(1L)).thenReturn(Optional.of(summary));
+        when(userRepository.findRoleNamesByUserIdIn(List.of(1L))).thenReturn(List.of(new UserRoleName(1L, RoleName.USER)));
         
         UserResponse userResponse = userService.getUserById(1L);
         
@@ -68,7 +83,7 @@ class UserServiceImplTest {
     
     @Test
     void testGetUserByIdNotFound() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(userRepository.findSummaryById(anyLong())).thenReturn(Optional.empty());
         
         assertThrows(UserNotFoundException.class, () -> {
             userService.getUserById(1L);
@@ -96,4 +111,20 @@ class UserServiceImplTest {
         
         assertFalse(result);
     }
+    
+    @Test
+    void testRevokeAllTokensBumpsVersion() {
+        when(userRepository.incrementTokenVersion(1L)).thenReturn(1);
+        
+        userService.revokeAllTokens(1L);
+        
+        verify(refreshTokenService).revokeAllForUser(1L);
+    }
+    
+    @Test
+    void testRevokeAllTokensUserNotFound() {
+        when(userRepository.incrementTokenVersion(anyLong())).thenReturn(0);
+        
+        assertThrows(UserNotFoundException.class, () -> userService.revokeAllTokens(99L));
+    }
 }
\ No newline at end of file
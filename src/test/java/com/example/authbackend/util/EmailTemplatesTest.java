@@ -0,0 +1,54 @@
+package com.example.authbackend.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmailTemplatesTest {
+    
+    private static final String URL = "http://localhost:8080/api/v1/auth/verify-email?token=abc-123";
+    
+    @Test
+    void testOutputMatchesFormatImplementation() {
+        assertEquals(String.format(toLegacyFormat(EmailTemplates.EMAIL_VERIFICATION_SOURCE), "John", URL, URL),
+                EmailTemplates.getEmailVerificationTemplate("John", URL));
+        assertEquals(String.format(toLegacyFormat(EmailTemplates.PASSWORD_RESET_SOURCE), "John", URL, URL),
+                EmailTemplates.getPasswordResetTemplate("John", URL));
+        assertEquals(String.format(toLegacyFormat(EmailTemplates.WELCOME_SOURCE), "John"),
+                EmailTemplates.getWelcomeTemplate("John"));
+    }
+    
+    @Test
+    void testValuesAreHtmlEscaped() {
+        String html = EmailTemplates.getWelcomeTemplate("<script>alert('x')</script> & \"Co\"");
+        
+        assertFalse(html.contains("<script>"));
+        assertTrue(html.contains("&lt;script&gt;alert(&#39;x&#39;)&lt;/script&gt; &amp; &quot;Co&quot;"));
+    }
+    
+    @Test
+    void testUrlPlaceholdersRejectOtherSchemes() {
+        assertThrows(IllegalArgumentException.class,
+                () -> EmailTemplates.getPasswordResetTemplate("John", "javascript:alert(1)"));
+        
+        String html = EmailTemplates.getPasswordResetTemplate("John", "https://example.com/reset?a=1&b=2");
+        assertTrue(html.contains("href=\"https://example.com/reset?a=1&amp;b=2\""));
+    }
+    
+    @Test
+    void testUndeclaredPlaceholderIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> CompiledTemplate.compile("Hi {{name}}", "firstName"));
+    }
+    
+    @Test
+    void testNullRendersEmpty() {
+        CompiledTemplate template = CompiledTemplate.compile("<b>{{a}}</b>{{a}}", "a");
+        assertEquals("<b></b>", template.render((String) null));
+        assertEquals("<b>x</b>x", template.render("x"));
+    }
+    
+    // Turns a template source back into the String.format pattern it was written as
+    static String toLegacyFormat(String source) {
+        return source.replace("%", "%%").replaceAll("\\{\\{\\w+(:\\w+)?}}", "%s");
+    }
+}